@@ -0,0 +1,26 @@
+package com.arka.arkavalenzuela.benchmark;
+
+import com.arka.arkavalenzuela.ArkajvalenzuelaApplication;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application without a web server on the "benchmark" profile (embedded H2)
+ * The benchmark jar keeps only one AutoConfiguration.imports of the many on the classpath,
+ * so the actuator auto-configuration is missing; a simple meter registry stands in for it.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {}
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(ArkajvalenzuelaApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("benchmark")
+                .initializers(context -> context.getBeanFactory()
+                        .registerSingleton("meterRegistry", new SimpleMeterRegistry()))
+                .run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.arka.arkavalenzuela.benchmark;
+
+import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.model.Customer;
+import com.arka.arkavalenzuela.domain.model.Order;
+import com.arka.arkavalenzuela.domain.model.OrderLine;
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CategoryEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CustomerEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.OrderEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.OrderLineEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.ProductEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic fixtures shared by the benchmarks, so runs of different releases compare the same data
+ */
+final class BenchmarkData {
+
+    private static final String[] NOMBRES = {"Teclado", "Monitor", "Ratón", "Portátil", "Auriculares",
+            "Impresora", "Cámara", "Altavoz", "Tableta", "Router"};
+    private static final String[] MARCAS = {"Arka", "Logi", "Zentro", "Kobo", "Nimbus"};
+
+    private BenchmarkData() {}
+
+    static List<Product> products(int size) {
+        Random random = new Random(42);
+        Category categoria = new Category(1L, "Periféricos");
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String nombre = NOMBRES[random.nextInt(NOMBRES.length)] + " " + random.nextInt(100_000);
+            products.add(new Product((long) i + 1, nombre, "Descripción de " + nombre, categoria,
+                    MARCAS[random.nextInt(MARCAS.length)], price(random), random.nextInt(500)));
+        }
+        return products;
+    }
+
+    static List<ProductEntity> productEntities(int size) {
+        CategoryEntity categoria = new CategoryEntity();
+        categoria.setCategoriaId(1L);
+        categoria.setNombre("Periféricos");
+        List<ProductEntity> entities = new ArrayList<>(size);
+        for (Product product : products(size)) {
+            entities.add(productEntity(product, categoria));
+        }
+        return entities;
+    }
+
+    static ProductEntity productEntity(Product product, CategoryEntity categoria) {
+        ProductEntity entity = new ProductEntity();
+        entity.setProductoId(product.getId());
+        entity.setNombre(product.getNombre());
+        entity.setDescripcion(product.getDescripcion());
+        entity.setCategoria(categoria);
+        entity.setMarca(product.getMarca());
+        entity.setPrecioUnitario(product.getPrecioUnitario());
+        entity.setStock(product.getStock());
+        return entity;
+    }
+
+    static Order order(int lines) {
+        Customer cliente = new Customer(1L, "Cliente", "cliente@arka.com", "3001234567", "Colombia", "Bogotá");
+        List<OrderLine> lineas = new ArrayList<>(lines);
+        for (Product product : products(lines)) {
+            lineas.add(new OrderLine(product.getId(), 1 + (int) (product.getId() % 3), product.getPrecioUnitario()));
+        }
+        Order order = new Order(1L, cliente, LocalDateTime.of(2024, 1, 15, 10, 0), null, lineas);
+        order.setTotal(order.calculateTotal());
+        return order;
+    }
+
+    static OrderEntity orderEntity(int lines) {
+        CustomerEntity cliente = new CustomerEntity();
+        cliente.setClienteId(1L);
+        cliente.setNombre("Cliente");
+        cliente.setEmail("cliente@arka.com");
+        OrderEntity entity = new OrderEntity();
+        entity.setPedidoId(1L);
+        entity.setCliente(cliente);
+        entity.setFecha(LocalDateTime.of(2024, 1, 15, 10, 0));
+        entity.setTotal(BigDecimal.TEN);
+        for (ProductEntity product : productEntities(lines)) {
+            entity.getLineas().add(new OrderLineEntity(product.getProductoId(), 1, product.getPrecioUnitario()));
+        }
+        return entity;
+    }
+
+    private static BigDecimal price(Random random) {
+        return BigDecimal.valueOf(100 + random.nextInt(1_000_000), 2);
+    }
+}
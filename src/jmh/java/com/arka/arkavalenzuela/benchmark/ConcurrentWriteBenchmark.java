@@ -0,0 +1,159 @@
+package com.arka.arkavalenzuela.benchmark;
+
+import com.arka.arkavalenzuela.application.usecase.RetryPolicy;
+import com.arka.arkavalenzuela.domain.exception.VersionConflictException;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CategoryEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.CategoryJpaRepository;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.ProductJpaRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stock and price changes from 8 threads over a few hot rows (profile "benchmark", embedded H2)
+ * The application itself writes them as single UPDATEs computed in SQL (atomicUpdate), like
+ * ProductPersistenceAdapter does for stock. The other two run them as a read-modify-write:
+ * optimistic versioned UPDATEs retried under the production retry policy, as order updates
+ * do, against SELECT ... FOR UPDATE row locks held until commit. The auxiliary counters show
+ * how many conflicts the optimistic side retried or gave up on.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+public class ConcurrentWriteBenchmark {
+
+    private static final String SELECT_SQL =
+            "SELECT stock, precio_unitario, version FROM productos WHERE producto_id = ?";
+    private static final String SELECT_FOR_UPDATE_SQL =
+            "SELECT stock, precio_unitario FROM productos WHERE producto_id = ? FOR UPDATE";
+    private static final String UPDATE_SQL = "UPDATE productos SET stock = ?, precio_unitario = ?, "
+            + "version = version + 1 WHERE producto_id = ?";
+    private static final String UPDATE_VERSIONED_SQL = UPDATE_SQL + " AND version = ?";
+    private static final String ADJUST_STOCK_SQL =
+            "UPDATE productos SET stock = stock + ?, version = version + 1 WHERE producto_id = ?";
+    private static final String ADJUST_PRICE_SQL =
+            "UPDATE productos SET precio_unitario = precio_unitario + ?, version = version + 1 WHERE producto_id = ?";
+    private static final BigDecimal CENT = new BigDecimal("0.01");
+
+    /** Rows the threads write to: 1 is a single hot product, 64 barely collides */
+    @Param({"1", "8", "64"})
+    private int hotProducts;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transaction;
+    private RetryPolicy retryPolicy;
+    private List<Long> productIds;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Conflicts {
+        public long retried;
+        public long exhausted;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        // Same bounds as the defaults of arka.retry.*
+        retryPolicy = new RetryPolicy(5, Duration.ofMillis(5), Duration.ofMillis(200));
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean atomicUpdate() {
+        Long id = pickProduct();
+        if (ThreadLocalRandom.current().nextBoolean()) {
+            int delta = ThreadLocalRandom.current().nextBoolean() ? 1 : -1;
+            return jdbcTemplate.update(ADJUST_STOCK_SQL, delta, id) == 1;
+        }
+        return jdbcTemplate.update(ADJUST_PRICE_SQL, CENT, id) == 1;
+    }
+
+    @Benchmark
+    public boolean optimisticWithRetry(Conflicts conflicts) {
+        Long id = pickProduct();
+        boolean stock = ThreadLocalRandom.current().nextBoolean();
+        int[] attempts = new int[1];
+        try {
+            return retryPolicy.execute(() -> {
+                attempts[0]++;
+                Row row = jdbcTemplate.queryForObject(SELECT_SQL, (rs, n) -> new Row(rs.getInt(1),
+                        rs.getBigDecimal(2), rs.getLong(3)), id);
+                Row changed = row.change(stock);
+                int updated = jdbcTemplate.update(UPDATE_VERSIONED_SQL, changed.stock(), changed.precio(), id,
+                        row.version());
+                if (updated == 0) {
+                    throw new VersionConflictException("Product", id);
+                }
+                return true;
+            });
+        } catch (VersionConflictException e) {
+            conflicts.exhausted++;
+            return false;
+        } finally {
+            conflicts.retried += attempts[0] - 1;
+        }
+    }
+
+    @Benchmark
+    public boolean pessimisticRowLock() {
+        Long id = pickProduct();
+        boolean stock = ThreadLocalRandom.current().nextBoolean();
+        return transaction.execute(status -> {
+            Row row = jdbcTemplate.queryForObject(SELECT_FOR_UPDATE_SQL, (rs, n) -> new Row(rs.getInt(1),
+                    rs.getBigDecimal(2), 0), id);
+            Row changed = row.change(stock);
+            return jdbcTemplate.update(UPDATE_SQL, changed.stock(), changed.precio(), id) == 1;
+        });
+    }
+
+    private Long pickProduct() {
+        return productIds.get(ThreadLocalRandom.current().nextInt(hotProducts));
+    }
+
+    private void seed() {
+        CategoryEntity categoria = new CategoryEntity();
+        categoria.setNombre("Periféricos");
+        categoria = context.getBean(CategoryJpaRepository.class).save(categoria);
+
+        List<ProductEntity> entities = BenchmarkData.productEntities(hotProducts);
+        for (ProductEntity entity : entities) {
+            entity.setProductoId(null);
+            entity.setCategoria(categoria);
+            entity.setStock(1_000_000);
+        }
+        productIds = context.getBean(ProductJpaRepository.class).saveAll(entities).stream()
+                .map(ProductEntity::getProductoId)
+                .toList();
+    }
+
+    /**
+     * Stock moves by one unit either way so it never runs out; the price by one cent
+     */
+    private record Row(int stock, BigDecimal precio, long version) {
+        Row change(boolean stockChange) {
+            if (stockChange) {
+                return new Row(ThreadLocalRandom.current().nextBoolean() ? stock + 1 : stock - 1, precio, version);
+            }
+            return new Row(stock, precio.add(CENT), version);
+        }
+    }
+}
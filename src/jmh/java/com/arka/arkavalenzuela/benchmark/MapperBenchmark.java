@@ -0,0 +1,97 @@
+package com.arka.arkavalenzuela.benchmark;
+
+import com.arka.arkavalenzuela.domain.model.Order;
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.ProductDto;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.mapper.ProductWebMapper;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.OrderEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.CategoryMapper;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.CustomerMapper;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.OrderMapper;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to domain to DTO mapping, per collection size
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private ProductMapper productMapper;
+    private OrderMapper orderMapper;
+    private ProductWebMapper productWebMapper;
+
+    private List<ProductEntity> productEntities;
+    private List<Product> products;
+    private List<ProductDto> productDtos;
+    private OrderEntity orderEntity;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        productMapper = new ProductMapper(new CategoryMapper());
+        orderMapper = new OrderMapper(new CustomerMapper());
+        productWebMapper = new ProductWebMapper();
+
+        productEntities = BenchmarkData.productEntities(size);
+        products = BenchmarkData.products(size);
+        productDtos = products.stream().map(productWebMapper::toDto).toList();
+        orderEntity = BenchmarkData.orderEntity(size);
+        order = orderMapper.toDomain(orderEntity);
+    }
+
+    @Benchmark
+    public void productEntityToDomain(Blackhole blackhole) {
+        for (ProductEntity entity : productEntities) {
+            blackhole.consume(productMapper.toDomain(entity));
+        }
+    }
+
+    @Benchmark
+    public void productDomainToEntity(Blackhole blackhole) {
+        for (Product product : products) {
+            blackhole.consume(productMapper.toEntity(product));
+        }
+    }
+
+    @Benchmark
+    public void productDomainToDto(Blackhole blackhole) {
+        for (Product product : products) {
+            blackhole.consume(productWebMapper.toDto(product));
+        }
+    }
+
+    @Benchmark
+    public void productDtoToDomain(Blackhole blackhole) {
+        for (ProductDto dto : productDtos) {
+            blackhole.consume(productWebMapper.toDomain(dto));
+        }
+    }
+
+    @Benchmark
+    public void productEntityToDto(Blackhole blackhole) {
+        for (ProductEntity entity : productEntities) {
+            blackhole.consume(productWebMapper.toDto(productMapper.toDomain(entity)));
+        }
+    }
+
+    @Benchmark
+    public Order orderEntityToDomain() {
+        return orderMapper.toDomain(orderEntity);
+    }
+
+    @Benchmark
+    public OrderEntity orderDomainToEntity() {
+        return orderMapper.toEntity(order);
+    }
+}
@@ -0,0 +1,42 @@
+package com.arka.arkavalenzuela.benchmark;
+
+import com.arka.arkavalenzuela.domain.model.Order;
+import com.arka.arkavalenzuela.domain.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recomputing Order.calculateTotal against the incremental total kept by
+ * addProduct/removeProduct, over orders of growing size
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class OrderTotalBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private Order order;
+    private Product extra;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkData.order(size);
+        extra = new Product((long) size + 1, "Cable", "Cable USB-C", null, "Arka", new BigDecimal("9.99"), 10);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotal() {
+        return order.calculateTotal();
+    }
+
+    @Benchmark
+    public BigDecimal addAndRemoveProduct() {
+        order.addProduct(extra, 2);
+        order.removeProduct(extra);
+        return order.getTotal();
+    }
+}
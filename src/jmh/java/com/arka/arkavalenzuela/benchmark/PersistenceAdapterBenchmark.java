@@ -0,0 +1,132 @@
+package com.arka.arkavalenzuela.benchmark;
+
+import com.arka.arkavalenzuela.domain.model.Order;
+import com.arka.arkavalenzuela.domain.model.PageQuery;
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.model.SlicePage;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.OrderPersistenceAdapter;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.ProductPersistenceAdapter;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CategoryEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CustomerEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.OrderEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.OrderLineEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.CategoryJpaRepository;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.CustomerJpaRepository;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.OrderJpaRepository;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.ProductJpaRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-trips through the JPA adapters against an embedded H2 (profile "benchmark"),
+ * with the catalog cache out of the way.
+ * Each call runs in its own transaction, standing in for the open-in-view session
+ * that lazy associations rely on during a web request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PersistenceAdapterBenchmark {
+
+    private static final int ORDERS = 200;
+    private static final int PRODUCTS_PER_ORDER = 5;
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private ProductPersistenceAdapter productAdapter;
+    private OrderPersistenceAdapter orderAdapter;
+    private TransactionTemplate transaction;
+    private List<Product> products;
+    private Long firstProductId;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        productAdapter = context.getBean(ProductPersistenceAdapter.class);
+        orderAdapter = context.getBean(OrderPersistenceAdapter.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Product> productFindById() {
+        cursor = (cursor + 1) % size;
+        return transaction.execute(status -> productAdapter.findById(firstProductId + cursor));
+    }
+
+    @Benchmark
+    public List<Product> productFindPage() {
+        return transaction.execute(status -> productAdapter.findPageAfter(0L, Math.min(size, 1000)));
+    }
+
+    @Benchmark
+    public SlicePage<Product> productFindSortedByNombre() {
+        PageQuery query = new PageQuery(0, Math.min(size, 100), "nombre", true);
+        return transaction.execute(status -> productAdapter.findSorted(query));
+    }
+
+    @Benchmark
+    public List<Product> productFindAll() {
+        return transaction.execute(status -> productAdapter.findAll());
+    }
+
+    @Benchmark
+    public Product productSave() {
+        cursor = (cursor + 1) % size;
+        return transaction.execute(status -> productAdapter.save(products.get(cursor)));
+    }
+
+    @Benchmark
+    public List<Order> orderFindAll() {
+        return transaction.execute(status -> orderAdapter.findAll());
+    }
+
+    private void seed() {
+        CategoryEntity categoria = new CategoryEntity();
+        categoria.setNombre("Periféricos");
+        categoria = context.getBean(CategoryJpaRepository.class).save(categoria);
+
+        List<ProductEntity> entities = BenchmarkData.productEntities(size);
+        for (ProductEntity entity : entities) {
+            entity.setProductoId(null);
+            entity.setCategoria(categoria);
+        }
+        entities = context.getBean(ProductJpaRepository.class).saveAll(entities);
+        firstProductId = entities.get(0).getProductoId();
+        products = productAdapter.findPageAfter(0L, size);
+
+        CustomerEntity cliente = new CustomerEntity();
+        cliente.setNombre("Cliente");
+        cliente.setEmail("cliente@arka.com");
+        cliente = context.getBean(CustomerJpaRepository.class).save(cliente);
+
+        OrderJpaRepository orderRepository = context.getBean(OrderJpaRepository.class);
+        for (int i = 0; i < ORDERS; i++) {
+            OrderEntity pedido = new OrderEntity();
+            pedido.setCliente(cliente);
+            pedido.setFecha(LocalDateTime.of(2024, 1, 1, 0, 0).plusHours(i));
+            pedido.setTotal(BigDecimal.TEN);
+            for (ProductEntity product : entities.subList(0, Math.min(PRODUCTS_PER_ORDER, size))) {
+                pedido.getLineas().add(new OrderLineEntity(product.getProductoId(), 1, product.getPrecioUnitario()));
+            }
+            orderRepository.save(pedido);
+        }
+    }
+}
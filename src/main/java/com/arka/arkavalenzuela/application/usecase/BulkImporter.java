@@ -0,0 +1,52 @@
+package com.arka.arkavalenzuela.application.usecase;
+
+import com.arka.arkavalenzuela.domain.model.BulkImportResult;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Shared chunking for the bulk imports of the application services
+ * Records are validated one by one and stored chunkSize at a time, each chunk in its own
+ * transaction, so a large import neither holds everything in memory nor in one transaction.
+ * An IllegalArgumentException, whether raised while reading a record or validating it,
+ * rejects that record only.
+ */
+final class BulkImporter {
+
+    private BulkImporter() {}
+
+    static <T> BulkImportResult importInChunks(Stream<T> records, int chunkSize,
+                                               Consumer<T> validator, ToIntFunction<List<T>> saver) {
+        BulkImportResult result = new BulkImportResult();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        long position = 0;
+        Iterator<T> iterator = records.iterator();
+        while (true) {
+            position++;
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                T record = iterator.next();
+                validator.accept(record);
+                chunk.add(record);
+            } catch (IllegalArgumentException e) {
+                result.addRejected(position, e.getMessage());
+                continue;
+            }
+            if (chunk.size() == chunkSize) {
+                result.addImported(saver.applyAsInt(chunk));
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            result.addImported(saver.applyAsInt(chunk));
+        }
+        return result;
+    }
+}
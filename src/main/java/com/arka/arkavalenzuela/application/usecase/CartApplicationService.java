@@ -15,9 +15,11 @@ import java.util.List;
 public class CartApplicationService implements CartUseCase {
     
     private final CartRepositoryPort cartRepository;
+    private final int sweepBatchSize;
 
-    public CartApplicationService(CartRepositoryPort cartRepository) {
+    public CartApplicationService(CartRepositoryPort cartRepository, int sweepBatchSize) {
         this.cartRepository = cartRepository;
+        this.sweepBatchSize = sweepBatchSize;
     }
 
     @Override
@@ -41,22 +43,24 @@ public class CartApplicationService implements CartUseCase {
         return cartRepository.save(cart);
     }
 
+    /**
+     * A single conditional UPDATE: no rows changed means there is no such cart
+     */
     @Override
     public Cart updateCart(Long id, Cart cart) {
-        if (!cartRepository.existsById(id)) {
-            throw new RuntimeException("Cart not found with id: " + id);
-        }
         validateCart(cart);
         cart.setId(id);
-        return cartRepository.save(cart);
+        if (cartRepository.updateIfExists(cart) == 0) {
+            throw new RuntimeException("Cart not found with id: " + id);
+        }
+        return cart;
     }
 
     @Override
     public void deleteCart(Long id) {
-        if (!cartRepository.existsById(id)) {
+        if (cartRepository.deleteIfExists(id) == 0) {
             throw new RuntimeException("Cart not found with id: " + id);
         }
-        cartRepository.deleteById(id);
     }
 
     @Override
@@ -64,6 +68,21 @@ public class CartApplicationService implements CartUseCase {
         return cartRepository.findByEstado("ABANDONED");
     }
 
+    /**
+     * Marks as abandoned every active cart created before the given time, in batches of
+     * sweepBatchSize carts with one transaction each
+     */
+    @Override
+    public int abandonCartsCreatedBefore(LocalDateTime before) {
+        int abandoned = 0;
+        int updated;
+        do {
+            updated = cartRepository.updateEstadoCreatedBefore("ACTIVE", "ABANDONED", before, sweepBatchSize);
+            abandoned += updated;
+        } while (updated == sweepBatchSize);
+        return abandoned;
+    }
+
     /**
      * Domain validation logic for Cart
      */
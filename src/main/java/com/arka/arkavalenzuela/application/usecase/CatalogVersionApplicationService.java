@@ -0,0 +1,24 @@
+package com.arka.arkavalenzuela.application.usecase;
+
+import com.arka.arkavalenzuela.domain.model.CatalogVersion;
+import com.arka.arkavalenzuela.domain.port.in.CatalogVersionUseCase;
+import com.arka.arkavalenzuela.domain.port.out.CatalogVersionPort;
+
+/**
+ * Application Service for the Catalog Version Use Case
+ * Tells readers whether the catalog changed since they last fetched it
+ * Following Hexagonal Architecture - Application Layer
+ */
+public class CatalogVersionApplicationService implements CatalogVersionUseCase {
+
+    private final CatalogVersionPort catalogVersion;
+
+    public CatalogVersionApplicationService(CatalogVersionPort catalogVersion) {
+        this.catalogVersion = catalogVersion;
+    }
+
+    @Override
+    public CatalogVersion getCatalogVersion() {
+        return catalogVersion.current();
+    }
+}
@@ -1,10 +1,12 @@
 package com.arka.arkavalenzuela.application.usecase;
 
 import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.model.CursorPage;
 import com.arka.arkavalenzuela.domain.port.in.CategoryUseCase;
 import com.arka.arkavalenzuela.domain.port.out.CategoryRepositoryPort;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Application Service for Category Use Cases
@@ -13,6 +15,7 @@ import java.util.List;
  */
 public class CategoryApplicationService implements CategoryUseCase {
     
+
     private final CategoryRepositoryPort categoryRepository;
 
     public CategoryApplicationService(CategoryRepositoryPort categoryRepository) {
@@ -36,22 +39,34 @@ public class CategoryApplicationService implements CategoryUseCase {
         return categoryRepository.save(category);
     }
 
+    /**
+     * A single conditional UPDATE: no rows changed means there is no such category
+     */
     @Override
     public Category updateCategory(Long id, Category category) {
-        if (!categoryRepository.existsById(id)) {
-            throw new RuntimeException("Category not found with id: " + id);
-        }
         validateCategory(category);
         category.setId(id);
-        return categoryRepository.save(category);
+        if (categoryRepository.updateIfExists(category) == 0) {
+            throw new RuntimeException("Category not found with id: " + id);
+        }
+        return category;
     }
 
     @Override
     public void deleteCategory(Long id) {
-        if (!categoryRepository.existsById(id)) {
+        if (categoryRepository.deleteIfExists(id) == 0) {
             throw new RuntimeException("Category not found with id: " + id);
         }
-        categoryRepository.deleteById(id);
+    }
+
+    @Override
+    public CursorPage<Category> getCategoriesPage(Long cursor, int limit) {
+        return CursorPage.read(cursor, limit, categoryRepository::findPageAfter, Category::getId);
+    }
+
+    @Override
+    public void streamAllCategories(Consumer<Category> consumer) {
+        categoryRepository.streamAll(consumer);
     }
 
     /**
@@ -0,0 +1,81 @@
+package com.arka.arkavalenzuela.application.usecase;
+
+import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.model.CursorPage;
+import com.arka.arkavalenzuela.domain.port.in.CategoryUseCase;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Category use cases with concurrent identical lookups served by a single call
+ * Callers of a coalesced read share the returned objects, so they must not modify them.
+ * Writes made through this use case stop new callers joining reads already running.
+ */
+public class CoalescingCategoryUseCase implements CategoryUseCase {
+
+    private final CategoryUseCase delegate;
+    private final SingleFlight<String, List<Category>> allCategories = new SingleFlight<>();
+    private final SingleFlight<Long, Category> categoriesById = new SingleFlight<>();
+
+    public CoalescingCategoryUseCase(CategoryUseCase delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<Category> getAllCategories() {
+        return allCategories.execute("", delegate::getAllCategories);
+    }
+
+    @Override
+    public Category getCategoryById(Long id) {
+        return categoriesById.execute(id, () -> delegate.getCategoryById(id));
+    }
+
+    @Override
+    public Category createCategory(Category category) {
+        Category created = delegate.createCategory(category);
+        forget();
+        return created;
+    }
+
+    @Override
+    public Category updateCategory(Long id, Category category) {
+        Category updated = delegate.updateCategory(id, category);
+        forget();
+        return updated;
+    }
+
+    @Override
+    public void deleteCategory(Long id) {
+        delegate.deleteCategory(id);
+        forget();
+    }
+
+    @Override
+    public CursorPage<Category> getCategoriesPage(Long cursor, int limit) {
+        return delegate.getCategoriesPage(cursor, limit);
+    }
+
+    @Override
+    public void streamAllCategories(Consumer<Category> consumer) {
+        delegate.streamAllCategories(consumer);
+    }
+
+    /**
+     * Coalesced reads by method name, for monitoring
+     */
+    public Map<String, SingleFlight<?, ?>> flights() {
+        Map<String, SingleFlight<?, ?>> flights = new LinkedHashMap<>();
+        flights.put("getAllCategories", allCategories);
+        flights.put("getCategoryById", categoriesById);
+        return flights;
+    }
+
+    private void forget() {
+        allCategories.forget();
+        categoriesById.forget();
+    }
+}
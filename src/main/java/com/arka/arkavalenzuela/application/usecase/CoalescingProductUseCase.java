@@ -0,0 +1,156 @@
+package com.arka.arkavalenzuela.application.usecase;
+
+import com.arka.arkavalenzuela.domain.model.BulkImportResult;
+import com.arka.arkavalenzuela.domain.model.CursorPage;
+import com.arka.arkavalenzuela.domain.model.FieldMask;
+import com.arka.arkavalenzuela.domain.model.PageQuery;
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.model.SlicePage;
+import com.arka.arkavalenzuela.domain.port.in.ProductUseCase;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Product use cases with concurrent identical catalog lookups served by a single call
+ * When a cached entry expires under load, the callers asking for it wait on one query
+ * instead of each sending their own. Callers of a coalesced read share the returned
+ * objects, so they must not modify them. Writes made through this use case stop new
+ * callers joining reads already running.
+ */
+public class CoalescingProductUseCase implements ProductUseCase {
+
+    private final ProductUseCase delegate;
+    private final SingleFlight<String, List<Product>> allProducts = new SingleFlight<>();
+    private final SingleFlight<Long, Product> productsById = new SingleFlight<>();
+    private final SingleFlight<String, List<Product>> productsByCategory = new SingleFlight<>();
+    private final SingleFlight<List<BigDecimal>, List<Product>> productsByPriceRange = new SingleFlight<>();
+
+    public CoalescingProductUseCase(ProductUseCase delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        return allProducts.execute("", delegate::getAllProducts);
+    }
+
+    @Override
+    public Product getProductById(Long id) {
+        return productsById.execute(id, () -> delegate.getProductById(id));
+    }
+
+    @Override
+    public Product createProduct(Product product) {
+        Product created = delegate.createProduct(product);
+        forget();
+        return created;
+    }
+
+    @Override
+    public Product updateProduct(Long id, Product product) {
+        Product updated = delegate.updateProduct(id, product);
+        forget();
+        return updated;
+    }
+
+    @Override
+    public Product patchProduct(Long id, Product changes, FieldMask mask) {
+        Product patched = delegate.patchProduct(id, changes, mask);
+        forget();
+        return patched;
+    }
+
+    @Override
+    public int repriceProducts(Map<Long, BigDecimal> prices) {
+        int repriced = delegate.repriceProducts(prices);
+        forget();
+        return repriced;
+    }
+
+    @Override
+    public void deleteProduct(Long id) {
+        delegate.deleteProduct(id);
+        forget();
+    }
+
+    @Override
+    public List<Product> getProductsByCategory(String categoryName) {
+        return productsByCategory.execute(categoryName, () -> delegate.getProductsByCategory(categoryName));
+    }
+
+    @Override
+    public List<Product> searchProductsByName(String name) {
+        return delegate.searchProductsByName(name);
+    }
+
+    @Override
+    public List<Product> getProductsByPriceRange(BigDecimal min, BigDecimal max) {
+        if (min == null || max == null) {
+            return delegate.getProductsByPriceRange(min, max);
+        }
+        return productsByPriceRange.execute(List.of(min, max), () -> delegate.getProductsByPriceRange(min, max));
+    }
+
+    @Override
+    public SlicePage<Product> getProductsSorted(PageQuery query) {
+        return delegate.getProductsSorted(query);
+    }
+
+    @Override
+    public CursorPage<Product> getProductsPage(Long cursor, int limit) {
+        return delegate.getProductsPage(cursor, limit);
+    }
+
+    @Override
+    public void streamAllProducts(Consumer<Product> consumer) {
+        delegate.streamAllProducts(consumer);
+    }
+
+    @Override
+    public void rebuildSearchIndex() {
+        delegate.rebuildSearchIndex();
+    }
+
+    @Override
+    public void reserveStock(Long id, Integer quantity) {
+        delegate.reserveStock(id, quantity);
+        forget();
+    }
+
+    @Override
+    public void releaseStock(Long id, Integer quantity) {
+        delegate.releaseStock(id, quantity);
+        forget();
+    }
+
+    @Override
+    public BulkImportResult importProducts(Stream<Product> products) {
+        BulkImportResult result = delegate.importProducts(products);
+        forget();
+        return result;
+    }
+
+    /**
+     * Coalesced reads by method name, for monitoring
+     */
+    public Map<String, SingleFlight<?, ?>> flights() {
+        Map<String, SingleFlight<?, ?>> flights = new LinkedHashMap<>();
+        flights.put("getAllProducts", allProducts);
+        flights.put("getProductById", productsById);
+        flights.put("getProductsByCategory", productsByCategory);
+        flights.put("getProductsByPriceRange", productsByPriceRange);
+        return flights;
+    }
+
+    private void forget() {
+        allProducts.forget();
+        productsById.forget();
+        productsByCategory.forget();
+        productsByPriceRange.forget();
+    }
+}
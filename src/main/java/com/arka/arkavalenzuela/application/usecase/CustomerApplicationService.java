@@ -1,12 +1,18 @@
 package com.arka.arkavalenzuela.application.usecase;
 
+import com.arka.arkavalenzuela.domain.model.BulkImportResult;
+import com.arka.arkavalenzuela.domain.model.CursorPage;
+import com.arka.arkavalenzuela.domain.model.FieldMask;
+import com.arka.arkavalenzuela.domain.model.PageQuery;
+import com.arka.arkavalenzuela.domain.model.SlicePage;
 import com.arka.arkavalenzuela.domain.model.Customer;
 import com.arka.arkavalenzuela.domain.port.in.CustomerUseCase;
 import com.arka.arkavalenzuela.domain.port.out.CustomerRepositoryPort;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Application Service for Customer Use Cases
@@ -15,10 +21,15 @@ import java.util.stream.Collectors;
  */
 public class CustomerApplicationService implements CustomerUseCase {
     
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "nombre", "email", "pais", "ciudad");
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("nombre", "email", "telefono", "pais", "ciudad");
+
     private final CustomerRepositoryPort customerRepository;
+    private final int bulkChunkSize;
 
-    public CustomerApplicationService(CustomerRepositoryPort customerRepository) {
+    public CustomerApplicationService(CustomerRepositoryPort customerRepository, int bulkChunkSize) {
         this.customerRepository = customerRepository;
+        this.bulkChunkSize = bulkChunkSize;
     }
 
     @Override
@@ -38,22 +49,37 @@ public class CustomerApplicationService implements CustomerUseCase {
         return customerRepository.save(customer);
     }
 
+    /**
+     * A single conditional UPDATE: no rows changed means there is no such customer
+     */
     @Override
     public Customer updateCustomer(Long id, Customer customer) {
-        if (!customerRepository.existsById(id)) {
-            throw new RuntimeException("Customer not found with id: " + id);
-        }
         validateCustomer(customer);
         customer.setId(id);
-        return customerRepository.save(customer);
+        if (customerRepository.updateIfExists(customer) == 0) {
+            throw new RuntimeException("Customer not found with id: " + id);
+        }
+        return customer;
+    }
+
+    /**
+     * Writes only the masked columns, then reads the customer back so the
+     * caller sees every field and not just the ones sent
+     */
+    @Override
+    public Customer patchCustomer(Long id, Customer changes, FieldMask mask) {
+        validatePatch(changes, mask);
+        if (customerRepository.updateFields(id, changes, mask) == 0) {
+            throw new RuntimeException("Customer not found with id: " + id);
+        }
+        return getCustomerById(id);
     }
 
     @Override
     public void deleteCustomer(Long id) {
-        if (!customerRepository.existsById(id)) {
+        if (customerRepository.deleteIfExists(id) == 0) {
             throw new RuntimeException("Customer not found with id: " + id);
         }
-        customerRepository.deleteById(id);
     }
 
     @Override
@@ -61,12 +87,52 @@ public class CustomerApplicationService implements CustomerUseCase {
         return customerRepository.findByNombreStartingWith(name);
     }
 
+    /**
+     * Sorting and paging run in the database; text fields compare with the
+     * column collation (case-insensitive on MySQL)
+     */
+    @Override
+    public SlicePage<Customer> getCustomersSorted(PageQuery query) {
+        validatePageQuery(query);
+        return customerRepository.findSorted(query);
+    }
+
     @Override
-    public List<Customer> getAllCustomersSorted() {
-        return customerRepository.findAll()
-                .stream()
-                .sorted(Comparator.comparing(Customer::getNombre, String.CASE_INSENSITIVE_ORDER))
-                .collect(Collectors.toList());
+    public CursorPage<Customer> getCustomersPage(Long cursor, int limit) {
+        return CursorPage.read(cursor, limit, customerRepository::findPageAfter, Customer::getId);
+    }
+
+    @Override
+    public void streamAllCustomers(Consumer<Customer> consumer) {
+        customerRepository.streamAll(consumer);
+    }
+
+    @Override
+    public BulkImportResult importCustomers(Stream<Customer> customers) {
+        return BulkImporter.importInChunks(customers, bulkChunkSize, customer -> {
+            validateCustomer(customer);
+            customer.setId(null);
+        }, chunk -> customerRepository.saveAll(chunk).size());
+    }
+
+    /**
+     * Only the masked fields are checked, with the same rules as a full update
+     */
+    private void validatePatch(Customer changes, FieldMask mask) {
+        if (mask.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        for (String campo : mask.getCampos()) {
+            if (!PATCHABLE_FIELDS.contains(campo)) {
+                throw new IllegalArgumentException("Cannot update field: " + campo);
+            }
+        }
+        if (mask.contains("nombre") && (changes.getNombre() == null || changes.getNombre().trim().isEmpty())) {
+            throw new IllegalArgumentException("Customer name cannot be empty");
+        }
+        if (mask.contains("email") && !changes.isValidEmail()) {
+            throw new IllegalArgumentException("Customer must have a valid email");
+        }
     }
 
     /**
@@ -80,4 +146,14 @@ public class CustomerApplicationService implements CustomerUseCase {
             throw new IllegalArgumentException("Customer must have a valid email");
         }
     }
+
+    private void validatePageQuery(PageQuery query) {
+        CursorPage.validateLimit(query.getTamano());
+        if (query.getPagina() < 0) {
+            throw new IllegalArgumentException("Page number cannot be negative");
+        }
+        if (!SORTABLE_FIELDS.contains(query.getCampo())) {
+            throw new IllegalArgumentException("Cannot sort by field: " + query.getCampo());
+        }
+    }
 }
@@ -1,25 +1,59 @@
 package com.arka.arkavalenzuela.application.usecase;
 
+import com.arka.arkavalenzuela.domain.exception.VersionConflictException;
 import com.arka.arkavalenzuela.domain.model.Order;
+import com.arka.arkavalenzuela.domain.model.OrderLine;
+import com.arka.arkavalenzuela.domain.model.SalesBucket;
 import com.arka.arkavalenzuela.domain.model.Product;
 import com.arka.arkavalenzuela.domain.model.Customer;
 import com.arka.arkavalenzuela.domain.port.in.OrderUseCase;
+import com.arka.arkavalenzuela.domain.port.out.CustomerRepositoryPort;
 import com.arka.arkavalenzuela.domain.port.out.OrderRepositoryPort;
+import com.arka.arkavalenzuela.domain.port.out.ProductRepositoryPort;
+import com.arka.arkavalenzuela.domain.port.out.SalesAnalyticsPort;
+import com.arka.arkavalenzuela.domain.port.out.TransactionPort;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Application Service for Order Use Cases
  * This class orchestrates the business logic for Order operations
  * Following Hexagonal Architecture - Application Layer
+ * Every write stores the order and its sales buckets in one transaction, so the sales
+ * analytics never miss or double count an order.
  */
 public class OrderApplicationService implements OrderUseCase {
     
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final OrderRepositoryPort orderRepository;
+    private final ProductRepositoryPort productRepository;
+    private final CustomerRepositoryPort customerRepository;
+    private final SalesAnalyticsPort salesAnalytics;
+    private final TransactionPort transactions;
+    private final RetryPolicy retryPolicy;
 
-    public OrderApplicationService(OrderRepositoryPort orderRepository) {
+    public OrderApplicationService(OrderRepositoryPort orderRepository,
+                                   ProductRepositoryPort productRepository,
+                                   CustomerRepositoryPort customerRepository,
+                                   SalesAnalyticsPort salesAnalytics,
+                                   TransactionPort transactions,
+                                   RetryPolicy retryPolicy) {
         this.orderRepository = orderRepository;
+        this.productRepository = productRepository;
+        this.customerRepository = customerRepository;
+        this.salesAnalytics = salesAnalytics;
+        this.transactions = transactions;
+        this.retryPolicy = retryPolicy;
     }
 
     @Override
@@ -35,29 +69,87 @@ public class OrderApplicationService implements OrderUseCase {
 
     @Override
     public Order createOrder(Order order) {
-        validateOrder(order);
+        prepareOrders(List.of(order));
         order.setFecha(LocalDateTime.now());
-        order.setTotal(order.calculateTotal());
-        return orderRepository.save(order);
+        return transactions.inTransaction(() -> {
+            Order savedOrder = orderRepository.save(order);
+            salesAnalytics.record(salesOf(List.of(savedOrder)));
+            return savedOrder;
+        });
+    }
+
+    /**
+     * Creates every order or none: the whole batch is validated first and then
+     * written in a single transaction
+     */
+    @Override
+    public List<Order> createOrders(List<Order> orders) {
+        if (orders == null || orders.isEmpty()) {
+            throw new IllegalArgumentException("Order batch cannot be empty");
+        }
+        if (orders.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Order batch cannot exceed " + MAX_BATCH_SIZE + " orders");
+        }
+        prepareOrders(orders);
+        LocalDateTime fecha = LocalDateTime.now();
+        orders.forEach(order -> order.setFecha(fecha));
+        return transactions.inTransaction(() -> {
+            List<Order> savedOrders = orderRepository.saveAll(orders);
+            salesAnalytics.record(salesOf(savedOrders));
+            return savedOrders;
+        });
     }
 
+    /**
+     * Read-modify-write of the stored order, saved against the version it read.
+     * Without a version from the client, losing the race to another writer reads the
+     * order again and retries under the retry policy; a stale client version is a
+     * conflict straight away, since only the client can decide what to do with it.
+     * Each attempt is its own transaction.
+     */
     @Override
     public Order updateOrder(Long id, Order order) {
-        if (!orderRepository.existsById(id)) {
-            throw new RuntimeException("Order not found with id: " + id);
+        Long clientVersion = order.getVersion();
+        LocalDateTime requestedFecha = order.getFecha();
+        if (clientVersion != null) {
+            return transactions.inTransaction(() -> applyUpdate(id, order, clientVersion, requestedFecha));
+        }
+        return retryPolicy.execute(() ->
+                transactions.inTransaction(() -> applyUpdate(id, order, null, requestedFecha)));
+    }
+
+    private Order applyUpdate(Long id, Order order, Long clientVersion, LocalDateTime requestedFecha) {
+        Order previous = getOrderById(id);
+        if (clientVersion != null && !clientVersion.equals(previous.getVersion())) {
+            throw new VersionConflictException("Order", id);
         }
-        validateOrder(order);
+        prepareOrders(List.of(order));
         order.setId(id);
-        order.setTotal(order.calculateTotal());
-        return orderRepository.save(order);
+        order.setVersion(previous.getVersion());
+        order.setFecha(requestedFecha != null ? requestedFecha : previous.getFecha());
+        Order updatedOrder = orderRepository.save(order);
+        List<SalesBucket> changes = new ArrayList<>();
+        salesOf(List.of(previous)).forEach(bucket -> changes.add(bucket.negate()));
+        changes.addAll(salesOf(List.of(updatedOrder)));
+        salesAnalytics.record(changes);
+        return updatedOrder;
     }
 
+    /**
+     * Deletes the order against the version it read, so the sales taken back are
+     * exactly those of the row removed; losing the race to a concurrent update reads
+     * the order again and retries under the retry policy, like updateOrder
+     */
     @Override
     public void deleteOrder(Long id) {
-        if (!orderRepository.existsById(id)) {
-            throw new RuntimeException("Order not found with id: " + id);
-        }
-        orderRepository.deleteById(id);
+        retryPolicy.execute(() -> transactions.inTransaction(() -> {
+            Order previous = getOrderById(id);
+            orderRepository.delete(previous);
+            salesAnalytics.record(salesOf(List.of(previous)).stream()
+                    .map(SalesBucket::negate)
+                    .collect(Collectors.toList()));
+            return null;
+        }));
     }
 
     @Override
@@ -78,6 +170,78 @@ public class OrderApplicationService implements OrderUseCase {
         return orderRepository.findByCliente(customer);
     }
 
+    /**
+     * Rebuilds the lines the client sent (product id and quantity) at the current catalog
+     * prices, which also sets the totals, and records the customer's country and city the
+     * sales are counted under; the catalog is read once for the whole batch
+     */
+    private void prepareOrders(List<Order> orders) {
+        for (Order order : orders) {
+            if (order == null) {
+                throw new IllegalArgumentException("Order cannot be null");
+            }
+            if (order.getCliente() == null || order.getCliente().getId() == null) {
+                throw new IllegalArgumentException("Order must have a customer");
+            }
+            if (order.getLineas() == null || order.getLineas().isEmpty()) {
+                throw new IllegalArgumentException("Order must have at least one product");
+            }
+            if (order.getLineas().stream().anyMatch(linea -> linea == null || linea.getProductoId() == null)) {
+                throw new IllegalArgumentException("Order lines must have a product id");
+            }
+        }
+        Map<Long, Customer> customers = new HashMap<>();
+        for (Order order : orders) {
+            Long customerId = order.getCliente().getId();
+            Customer customer = customers.computeIfAbsent(customerId, id -> customerRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Customer not found with id: " + id)));
+            order.setCliente(customer);
+            order.setClientePais(customer.getPais());
+            order.setClienteCiudad(customer.getCiudad());
+        }
+
+        Set<Long> productIds = orders.stream()
+                .flatMap(order -> order.getLineas().stream())
+                .map(OrderLine::getProductoId)
+                .collect(Collectors.toSet());
+        Map<Long, Product> catalog = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        for (Order order : orders) {
+            List<OrderLine> requested = order.getLineas();
+            order.setLineas(new ArrayList<>());
+            order.setTotal(BigDecimal.ZERO);
+            for (OrderLine linea : requested) {
+                Product product = catalog.get(linea.getProductoId());
+                if (product == null) {
+                    throw new IllegalArgumentException("Product not found with id: " + linea.getProductoId());
+                }
+                order.addProduct(product, linea.getCantidad());
+            }
+            validateOrder(order);
+        }
+    }
+
+    /**
+     * One bucket per order line, dated on the order day and placed in the city and category
+     * recorded when the order was written, so negating a stored order undoes exactly the
+     * buckets it was added to
+     */
+    private List<SalesBucket> salesOf(List<Order> orders) {
+        List<SalesBucket> buckets = new ArrayList<>();
+        for (Order order : orders) {
+            if (order.getFecha() == null) {
+                continue;
+            }
+            LocalDate dia = order.getFecha().toLocalDate();
+            for (OrderLine linea : order.getLineas()) {
+                buckets.add(new SalesBucket(dia, linea.getCategoriaId(), linea.getProductoId(),
+                        order.getClientePais(), order.getClienteCiudad(), linea.getCantidad(), linea.getSubtotal()));
+            }
+        }
+        return buckets;
+    }
+
     /**
      * Domain validation logic for Order
      */
@@ -85,11 +249,5 @@ public class OrderApplicationService implements OrderUseCase {
         if (!order.isValidOrder()) {
             throw new IllegalArgumentException("Order is not valid");
         }
-        if (order.getCliente() == null) {
-            throw new IllegalArgumentException("Order must have a customer");
-        }
-        if (order.getProductos() == null || order.getProductos().isEmpty()) {
-            throw new IllegalArgumentException("Order must have at least one product");
-        }
     }
 }
@@ -1,14 +1,26 @@
 package com.arka.arkavalenzuela.application.usecase;
 
+import com.arka.arkavalenzuela.domain.model.BulkImportResult;
+import com.arka.arkavalenzuela.domain.model.CursorPage;
+import com.arka.arkavalenzuela.domain.model.FieldMask;
+import com.arka.arkavalenzuela.domain.model.PageQuery;
+import com.arka.arkavalenzuela.domain.model.SlicePage;
 import com.arka.arkavalenzuela.domain.model.Product;
 import com.arka.arkavalenzuela.domain.port.in.ProductUseCase;
 import com.arka.arkavalenzuela.domain.port.out.ProductRepositoryPort;
 import com.arka.arkavalenzuela.domain.port.out.CategoryRepositoryPort;
+import com.arka.arkavalenzuela.domain.port.out.ProductSearchPort;
+import com.arka.arkavalenzuela.domain.port.out.StockReservationPort;
 
 import java.math.BigDecimal;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Application Service for Product Use Cases
@@ -17,13 +29,26 @@ import java.util.stream.Collectors;
  */
 public class ProductApplicationService implements ProductUseCase {
     
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "nombre", "marca", "precioUnitario", "stock");
+    private static final Set<String> PATCHABLE_FIELDS =
+            Set.of("nombre", "descripcion", "categoria", "marca", "precioUnitario", "stock");
+
     private final ProductRepositoryPort productRepository;
     private final CategoryRepositoryPort categoryRepository;
+    private final ProductSearchPort productSearch;
+    private final StockReservationPort stockReservation;
+    private final int bulkChunkSize;
 
     public ProductApplicationService(ProductRepositoryPort productRepository, 
-                                   CategoryRepositoryPort categoryRepository) {
+                                   CategoryRepositoryPort categoryRepository,
+                                   ProductSearchPort productSearch,
+                                   StockReservationPort stockReservation,
+                                   int bulkChunkSize) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.productSearch = productSearch;
+        this.stockReservation = stockReservation;
+        this.bulkChunkSize = bulkChunkSize;
     }
 
     @Override
@@ -41,25 +66,74 @@ public class ProductApplicationService implements ProductUseCase {
     public Product createProduct(Product product) {
         validateProduct(product);
         validateCategoryExists(product.getCategoria().getId());
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        productSearch.index(savedProduct);
+        return savedProduct;
     }
 
+    /**
+     * A single conditional UPDATE: no rows changed means there is no such product
+     * The product is read back so the caller gets the new version and the category with
+     * its name, and the search index sees the stored row. The stock is set directly, so
+     * the write goes through the stock reservations.
+     */
     @Override
     public Product updateProduct(Long id, Product product) {
-        if (!productRepository.existsById(id)) {
-            throw new RuntimeException("Product not found with id: " + id);
-        }
         validateProduct(product);
         product.setId(id);
-        return productRepository.save(product);
+        if (stockReservation.overwriteStock(id, () -> productRepository.updateIfExists(product)) == 0) {
+            throw new RuntimeException("Product not found with id: " + id);
+        }
+        Product updated = getProductById(id);
+        productSearch.index(updated);
+        return updated;
+    }
+
+    /**
+     * Writes only the masked columns, then reads the product back so the caller
+     * and the search index see every field and not just the ones sent; a stock
+     * change goes through the stock reservations
+     */
+    @Override
+    public Product patchProduct(Long id, Product changes, FieldMask mask) {
+        validatePatch(changes, mask);
+        if (mask.contains("categoria")) {
+            validateCategoryExists(changes.getCategoria().getId());
+        }
+        int rows = mask.contains("stock")
+                ? stockReservation.overwriteStock(id, () -> productRepository.updateFields(id, changes, mask))
+                : productRepository.updateFields(id, changes, mask);
+        if (rows == 0) {
+            throw new RuntimeException("Product not found with id: " + id);
+        }
+        Product updated = getProductById(id);
+        productSearch.index(updated);
+        return updated;
+    }
+
+    /**
+     * Sets many prices at once; unknown ids are skipped, so fewer products than
+     * requested may be updated
+     */
+    @Override
+    public int repriceProducts(Map<Long, BigDecimal> prices) {
+        prices.forEach((id, price) -> {
+            if (id == null) {
+                throw new IllegalArgumentException("Product id cannot be empty");
+            }
+            if (price == null || price.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException("Product must have a valid price: " + id);
+            }
+        });
+        return prices.isEmpty() ? 0 : productRepository.updatePrices(prices);
     }
 
     @Override
     public void deleteProduct(Long id) {
-        if (!productRepository.existsById(id)) {
+        if (stockReservation.overwriteStock(id, () -> productRepository.deleteIfExists(id)) == 0) {
             throw new RuntimeException("Product not found with id: " + id);
         }
-        productRepository.deleteById(id);
+        productSearch.remove(id);
     }
 
     @Override
@@ -69,7 +143,16 @@ public class ProductApplicationService implements ProductUseCase {
 
     @Override
     public List<Product> searchProductsByName(String name) {
-        return productRepository.findByNombreContainingIgnoreCase(name);
+        List<Long> rankedIds = productSearch.search(name);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> productsById = productRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -80,12 +163,75 @@ public class ProductApplicationService implements ProductUseCase {
         return productRepository.findByPriceRange(min, max);
     }
 
+    /**
+     * Sorting and paging run in the database; text fields compare with the
+     * column collation (case-insensitive on MySQL)
+     */
     @Override
-    public List<Product> getAllProductsSorted() {
-        return productRepository.findAll()
-                .stream()
-                .sorted(Comparator.comparing(Product::getNombre, String.CASE_INSENSITIVE_ORDER))
-                .collect(Collectors.toList());
+    public SlicePage<Product> getProductsSorted(PageQuery query) {
+        validatePageQuery(query);
+        return productRepository.findSorted(query);
+    }
+
+    @Override
+    public CursorPage<Product> getProductsPage(Long cursor, int limit) {
+        return CursorPage.read(cursor, limit, productRepository::findPageAfter, Product::getId);
+    }
+
+    @Override
+    public void streamAllProducts(Consumer<Product> consumer) {
+        productRepository.streamAll(consumer);
+    }
+
+    @Override
+    public void rebuildSearchIndex() {
+        productSearch.rebuild(productRepository::streamAll);
+    }
+
+    /**
+     * Takes the quantity out of the product stock atomically, so concurrent
+     * orders can never sell more units than there are
+     */
+    @Override
+    public void reserveStock(Long id, Integer quantity) {
+        validateQuantity(quantity);
+        if (!stockReservation.reserve(id, quantity)) {
+            if (!productRepository.existsById(id)) {
+                throw new RuntimeException("Product not found with id: " + id);
+            }
+            throw new IllegalStateException("Insufficient stock for product with id: " + id);
+        }
+    }
+
+    @Override
+    public void releaseStock(Long id, Integer quantity) {
+        validateQuantity(quantity);
+        if (!productRepository.existsById(id)) {
+            throw new RuntimeException("Product not found with id: " + id);
+        }
+        stockReservation.release(id, quantity);
+    }
+
+    /**
+     * Imports new products in chunks; categories are checked against the ids
+     * loaded once up front instead of one query per product, and each stored
+     * chunk is added to the search index as it is saved
+     */
+    @Override
+    public BulkImportResult importProducts(Stream<Product> products) {
+        Set<Long> categoryIds = categoryRepository.findAllIds();
+        BulkImportResult result = BulkImporter.importInChunks(products, bulkChunkSize, product -> {
+            validateProduct(product);
+            if (!categoryIds.contains(product.getCategoria().getId())) {
+                throw new IllegalArgumentException("Category not found with id: " + product.getCategoria().getId());
+            }
+            product.setId(null);
+        }, chunk -> {
+            List<Product> saved = productRepository.saveAll(chunk);
+            saved.forEach(productSearch::index);
+            return saved.size();
+        });
+        return result;
     }
 
     /**
@@ -103,6 +249,48 @@ public class ProductApplicationService implements ProductUseCase {
         }
     }
 
+    /**
+     * Only the masked fields are checked, with the same rules as a full update
+     */
+    private void validatePatch(Product changes, FieldMask mask) {
+        if (mask.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        for (String campo : mask.getCampos()) {
+            if (!PATCHABLE_FIELDS.contains(campo)) {
+                throw new IllegalArgumentException("Cannot update field: " + campo);
+            }
+        }
+        if (mask.contains("nombre") && (changes.getNombre() == null || changes.getNombre().trim().isEmpty())) {
+            throw new IllegalArgumentException("Product name cannot be empty");
+        }
+        if (mask.contains("precioUnitario") && !changes.hasValidPrice()) {
+            throw new IllegalArgumentException("Product must have a valid price");
+        }
+        if (mask.contains("categoria") && (changes.getCategoria() == null || changes.getCategoria().getId() == null)) {
+            throw new IllegalArgumentException("Product must have a valid category");
+        }
+        if (mask.contains("stock") && changes.getStock() != null && changes.getStock() < 0) {
+            throw new IllegalArgumentException("Stock cannot be negative");
+        }
+    }
+
+    private void validateQuantity(Integer quantity) {
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than zero");
+        }
+    }
+
+    private void validatePageQuery(PageQuery query) {
+        CursorPage.validateLimit(query.getTamano());
+        if (query.getPagina() < 0) {
+            throw new IllegalArgumentException("Page number cannot be negative");
+        }
+        if (!SORTABLE_FIELDS.contains(query.getCampo())) {
+            throw new IllegalArgumentException("Cannot sort by field: " + query.getCampo());
+        }
+    }
+
     /**
      * Validates that the category exists in the system
      */
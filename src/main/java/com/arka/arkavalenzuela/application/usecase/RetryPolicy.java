@@ -0,0 +1,97 @@
+package com.arka.arkavalenzuela.application.usecase;
+
+import com.arka.arkavalenzuela.domain.exception.VersionConflictException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded retry for operations that lose an optimistic-locking race
+ * Each attempt must read again what it modifies. Between attempts the caller sleeps a
+ * random time up to an exponentially growing cap (full jitter), so writers that collided
+ * do not collide again in lockstep; once the attempts run out the last conflict is thrown.
+ */
+public final class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be at least 1");
+        }
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Backoff must be positive and not above its maximum");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    /**
+     * A single attempt: conflicts reach the caller straight away
+     */
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, Duration.ZERO, Duration.ZERO);
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (VersionConflictException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw e;
+                }
+                retries.increment();
+                if (!backOff(attempt)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getExhausted() {
+        return exhausted.sum();
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Cap for the given attempt: the initial backoff doubled per failed attempt, up to the maximum
+     */
+    long backoffCapNanos(int attempt) {
+        long cap = initialBackoffNanos;
+        for (int i = 1; i < attempt && cap < maxBackoffNanos; i++) {
+            cap = cap > maxBackoffNanos / 2 ? maxBackoffNanos : cap * 2;
+        }
+        return cap;
+    }
+
+    private boolean backOff(int attempt) {
+        long cap = backoffCapNanos(attempt);
+        if (cap <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+            return true;
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
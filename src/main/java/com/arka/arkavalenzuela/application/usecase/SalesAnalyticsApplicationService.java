@@ -0,0 +1,48 @@
+package com.arka.arkavalenzuela.application.usecase;
+
+import com.arka.arkavalenzuela.domain.model.SalesSummary;
+import com.arka.arkavalenzuela.domain.port.in.SalesAnalyticsUseCase;
+import com.arka.arkavalenzuela.domain.port.out.SalesAnalyticsPort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Application Service for Sales Analytics Use Cases
+ * Answers sales questions from the daily buckets that order writes keep up to date
+ * Following Hexagonal Architecture - Application Layer
+ */
+public class SalesAnalyticsApplicationService implements SalesAnalyticsUseCase {
+
+    private static final Set<String> DIMENSIONS = Set.of("dia", "categoria", "producto", "pais", "ciudad");
+    private static final int MAX_RANGE_DAYS = 3660;
+
+    private final SalesAnalyticsPort salesAnalytics;
+
+    public SalesAnalyticsApplicationService(SalesAnalyticsPort salesAnalytics) {
+        this.salesAnalytics = salesAnalytics;
+    }
+
+    @Override
+    public List<SalesSummary> getSales(LocalDate desde, LocalDate hasta, String dimension) {
+        if (desde == null || hasta == null) {
+            throw new IllegalArgumentException("Date range is required");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+        if (desde.plusDays(MAX_RANGE_DAYS).isBefore(hasta)) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        if (!DIMENSIONS.contains(dimension)) {
+            throw new IllegalArgumentException("Cannot group sales by: " + dimension);
+        }
+        return salesAnalytics.summarize(desde, hasta, dimension);
+    }
+
+    @Override
+    public void rebuildSales() {
+        salesAnalytics.rebuild();
+    }
+}
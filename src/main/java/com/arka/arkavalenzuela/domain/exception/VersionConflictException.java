@@ -0,0 +1,32 @@
+package com.arka.arkavalenzuela.domain.exception;
+
+/**
+ * A write was made against a version of the aggregate that someone else has
+ * already changed; nothing was written. Whoever made the change can read the
+ * aggregate again and repeat it.
+ * Extends IllegalStateException so it keeps the 409 Conflict answer the web
+ * adapters already give to state conflicts.
+ */
+public class VersionConflictException extends IllegalStateException {
+
+    private final String aggregate;
+    private final Long id;
+
+    public VersionConflictException(String aggregate, Long id, Throwable cause) {
+        super(aggregate + " with id " + id + " was modified concurrently", cause);
+        this.aggregate = aggregate;
+        this.id = id;
+    }
+
+    public VersionConflictException(String aggregate, Long id) {
+        this(aggregate, id, null);
+    }
+
+    public String getAggregate() {
+        return aggregate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,41 @@
+package com.arka.arkavalenzuela.domain.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many records were stored and why the rest were rejected
+ * Only the first MAX_ERRORS reasons are kept, so a bad file cannot exhaust memory.
+ */
+public class BulkImportResult {
+    public static final int MAX_ERRORS = 1000;
+
+    private long importados;
+    private long rechazados;
+    private final List<String> errores = new ArrayList<>();
+
+    // Métodos de negocio
+    public void addImported(int count) {
+        importados += count;
+    }
+
+    public void addRejected(long position, String reason) {
+        rechazados++;
+        if (errores.size() < MAX_ERRORS) {
+            errores.add("Record " + position + ": " + reason);
+        }
+    }
+
+    // Getters
+    public long getImportados() {
+        return importados;
+    }
+
+    public long getRechazados() {
+        return rechazados;
+    }
+
+    public List<String> getErrores() {
+        return errores;
+    }
+}
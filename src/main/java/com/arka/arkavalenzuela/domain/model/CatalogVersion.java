@@ -0,0 +1,27 @@
+package com.arka.arkavalenzuela.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Version of the product catalog (products and categories) as a whole
+ * It changes on every write to either of them, so two reads with the same version
+ * returned the same data and a client holding it does not need to download it again.
+ */
+public class CatalogVersion {
+    private final long version;
+    private final Instant modificadoEn;
+
+    public CatalogVersion(long version, Instant modificadoEn) {
+        this.version = version;
+        this.modificadoEn = modificadoEn;
+    }
+
+    // Getters
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getModificadoEn() {
+        return modificadoEn;
+    }
+}
@@ -0,0 +1,86 @@
+package com.arka.arkavalenzuela.domain.model;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Page of results read by keyset (a cursor over the id)
+ * The next cursor is the id of the last returned element, or null when there are no more.
+ */
+public class CursorPage<T> {
+
+    public static final int MAX_LIMIT = 1000;
+
+    private final List<T> elementos;
+    private final Long siguienteCursor;
+
+    public CursorPage(List<T> elementos, Long siguienteCursor) {
+        this.elementos = elementos;
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    /**
+     * Rows with an id greater than afterId, in id order, at most limit of them
+     */
+    @FunctionalInterface
+    public interface Reader<T> {
+        List<T> findPageAfter(Long afterId, int limit);
+    }
+
+    /**
+     * Builds the page from a query that asked for limit + 1 rows:
+     * the extra row only tells that a following page exists
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, Long> idExtractor) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> elementos = fetched.subList(0, limit);
+        return new CursorPage<>(elementos, idExtractor.apply(elementos.get(limit - 1)));
+    }
+
+    /**
+     * The page after the cursor (from the start when it is null)
+     */
+    public static <T> CursorPage<T> read(Long cursor, int limit, Reader<T> reader, Function<T, Long> idExtractor) {
+        validateLimit(limit);
+        long afterId = cursor != null ? cursor : 0L;
+        return of(reader.findPageAfter(afterId, limit + 1), limit, idExtractor);
+    }
+
+    /**
+     * Hands every row to the consumer, in id order, reading MAX_LIMIT rows per query
+     * No connection or transaction stays open between pages, however slowly the consumer
+     * goes (a download to a slow client, say). Rows written meanwhile show up only if their
+     * id is past the page being read; none is handed over twice.
+     */
+    public static <T> void forEach(Reader<T> reader, Function<T, Long> idExtractor, Consumer<? super T> consumer) {
+        Long cursor = null;
+        do {
+            CursorPage<T> page = read(cursor, MAX_LIMIT, reader, idExtractor);
+            page.getElementos().forEach(consumer);
+            cursor = page.getSiguienteCursor();
+        } while (cursor != null);
+    }
+
+    public static void validateLimit(int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    // Métodos de negocio
+    public boolean hasNext() {
+        return siguienteCursor != null;
+    }
+
+    // Getters
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    public Long getSiguienteCursor() {
+        return siguienteCursor;
+    }
+}
@@ -0,0 +1,34 @@
+package com.arka.arkavalenzuela.domain.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Names of the fields a partial update writes
+ * Fields outside the mask keep their stored value, whatever the changes carry for them.
+ */
+public class FieldMask {
+    private final Set<String> campos;
+
+    public FieldMask(Collection<String> campos) {
+        this.campos = Set.copyOf(campos);
+    }
+
+    public static FieldMask of(String... campos) {
+        return new FieldMask(Arrays.asList(campos));
+    }
+
+    public boolean contains(String campo) {
+        return campos.contains(campo);
+    }
+
+    public boolean isEmpty() {
+        return campos.isEmpty();
+    }
+
+    // Getters
+    public Set<String> getCampos() {
+        return campos;
+    }
+}
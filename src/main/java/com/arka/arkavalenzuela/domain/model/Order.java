@@ -2,63 +2,110 @@ package com.arka.arkavalenzuela.domain.model;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 public class Order {
     private Long id;
     private Customer cliente;
     private LocalDateTime fecha;
     private BigDecimal total;
-    private Set<Product> productos;
+    private List<OrderLine> lineas = new ArrayList<>();
+    private String clientePais;
+    private String clienteCiudad;
+    private Long version;
 
     public Order() {}
 
-    public Order(Long id, Customer cliente, LocalDateTime fecha, BigDecimal total, Set<Product> productos) {
+    public Order(Long id, Customer cliente, LocalDateTime fecha, BigDecimal total, List<OrderLine> lineas) {
         this.id = id;
         this.cliente = cliente;
         this.fecha = fecha;
         this.total = total;
-        this.productos = productos;
+        this.lineas = lineas;
     }
 
     // Métodos de negocio
+    /**
+     * Total recomputed from the lines; addProduct and removeProduct keep
+     * the stored total up to date without calling it
+     */
     public BigDecimal calculateTotal() {
-        if (productos == null || productos.isEmpty()) {
+        if (lineas == null || lineas.isEmpty()) {
             return BigDecimal.ZERO;
         }
         
-        return productos.stream()
-                .map(Product::getPrecioUnitario)
-                .filter(precio -> precio != null)
+        return lineas.stream()
+                .map(OrderLine::getSubtotal)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
     public boolean isValidOrder() {
         return cliente != null && 
-               productos != null && 
-               !productos.isEmpty() && 
+               lineas != null && 
+               !lineas.isEmpty() && 
                total != null && 
                total.compareTo(BigDecimal.ZERO) > 0;
     }
 
     public void addProduct(Product product) {
+        addProduct(product, 1);
+    }
+
+    /**
+     * Adds the product at its current price and category; a product already in the order
+     * gets its quantity increased instead of a second line
+     */
+    public void addProduct(Product product, int cantidad) {
         if (product == null) {
             throw new IllegalArgumentException("Product cannot be null");
         }
+        if (cantidad <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
         if (!product.isAvailable()) {
             throw new IllegalArgumentException("Product is not available");
         }
-        productos.add(product);
-        updateTotal();
+        if (lineas == null) {
+            lineas = new ArrayList<>();
+        }
+        int index = indexOf(product.getId());
+        Long categoriaId = product.getCategoria() != null ? product.getCategoria().getId() : null;
+        OrderLine added = new OrderLine(product.getId(), cantidad, product.getPrecioUnitario(), categoriaId);
+        if (index < 0) {
+            lineas.add(added);
+        } else {
+            OrderLine existing = lineas.get(index);
+            lineas.set(index, existing.withCantidad(existing.getCantidad() + cantidad));
+            added = existing.withCantidad(cantidad);
+        }
+        total = currentTotal().add(added.getSubtotal());
     }
 
     public void removeProduct(Product product) {
-        productos.remove(product);
-        updateTotal();
+        int index = product != null ? indexOf(product.getId()) : -1;
+        if (index < 0) {
+            return;
+        }
+        OrderLine removed = lineas.remove(index);
+        total = currentTotal().subtract(removed.getSubtotal());
     }
 
-    private void updateTotal() {
-        this.total = calculateTotal();
+    private int indexOf(Long productoId) {
+        if (lineas == null) {
+            return -1;
+        }
+        for (int i = 0; i < lineas.size(); i++) {
+            if (Objects.equals(lineas.get(i).getProductoId(), productoId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private BigDecimal currentTotal() {
+        return total != null ? total : BigDecimal.ZERO;
     }
 
     // Getters y Setters
@@ -94,11 +141,41 @@ public class Order {
         this.total = total;
     }
 
-    public Set<Product> getProductos() {
-        return productos;
+    public List<OrderLine> getLineas() {
+        return lineas;
+    }
+
+    public void setLineas(List<OrderLine> lineas) {
+        this.lineas = lineas;
+    }
+
+    /**
+     * Customer's country when the order was placed; its sales stay counted there
+     */
+    public String getClientePais() {
+        return clientePais;
+    }
+
+    public void setClientePais(String clientePais) {
+        this.clientePais = clientePais;
+    }
+
+    /**
+     * Customer's city when the order was placed; its sales stay counted there
+     */
+    public String getClienteCiudad() {
+        return clienteCiudad;
+    }
+
+    public void setClienteCiudad(String clienteCiudad) {
+        this.clienteCiudad = clienteCiudad;
+    }
+
+    public Long getVersion() {
+        return version;
     }
 
-    public void setProductos(Set<Product> productos) {
-        this.productos = productos;
+    public void setVersion(Long version) {
+        this.version = version;
     }
 }
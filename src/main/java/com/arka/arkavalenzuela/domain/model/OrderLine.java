@@ -0,0 +1,54 @@
+package com.arka.arkavalenzuela.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * One product of an order: the quantity bought, and the unit price and category it had
+ * when ordered, so later catalog changes do not alter past orders or their sales
+ */
+public class OrderLine {
+    private final Long productoId;
+    private final int cantidad;
+    private final BigDecimal precioUnitario;
+    private final Long categoriaId;
+
+    public OrderLine(Long productoId, int cantidad, BigDecimal precioUnitario) {
+        this(productoId, cantidad, precioUnitario, null);
+    }
+
+    public OrderLine(Long productoId, int cantidad, BigDecimal precioUnitario, Long categoriaId) {
+        this.productoId = productoId;
+        this.cantidad = cantidad;
+        this.precioUnitario = precioUnitario;
+        this.categoriaId = categoriaId;
+    }
+
+    // Métodos de negocio
+    public BigDecimal getSubtotal() {
+        if (precioUnitario == null) {
+            return BigDecimal.ZERO;
+        }
+        return precioUnitario.multiply(BigDecimal.valueOf(cantidad));
+    }
+
+    public OrderLine withCantidad(int cantidad) {
+        return new OrderLine(productoId, cantidad, precioUnitario, categoriaId);
+    }
+
+    // Getters
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public BigDecimal getPrecioUnitario() {
+        return precioUnitario;
+    }
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+}
@@ -0,0 +1,36 @@
+package com.arka.arkavalenzuela.domain.model;
+
+/**
+ * Request for one page of a listing sorted by a field
+ * Pages are zero-based; ties on the field are broken by id so pages never overlap.
+ */
+public class PageQuery {
+    private final int pagina;
+    private final int tamano;
+    private final String campo;
+    private final boolean ascendente;
+
+    public PageQuery(int pagina, int tamano, String campo, boolean ascendente) {
+        this.pagina = pagina;
+        this.tamano = tamano;
+        this.campo = campo;
+        this.ascendente = ascendente;
+    }
+
+    // Getters
+    public int getPagina() {
+        return pagina;
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+
+    public String getCampo() {
+        return campo;
+    }
+
+    public boolean isAscendente() {
+        return ascendente;
+    }
+}
@@ -10,6 +10,7 @@ public class Product {
     private String marca;
     private BigDecimal precioUnitario;
     private Integer stock;
+    private Long version;
 
     public Product() {}
 
@@ -106,4 +107,12 @@ public class Product {
     public void setStock(Integer stock) {
         this.stock = stock;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,80 @@
+package com.arka.arkavalenzuela.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Units and revenue of one product sold on one day, under one category, to customers of one city
+ * Order writes produce positive buckets, deletions negative ones; the analytics store adds
+ * them to its daily totals.
+ */
+public class SalesBucket {
+    private final LocalDate dia;
+    private final Long categoriaId;
+    private final Long productoId;
+    private final String pais;
+    private final String ciudad;
+    private final long unidades;
+    private final BigDecimal importe;
+
+    public SalesBucket(LocalDate dia, Long categoriaId, Long productoId, String pais, String ciudad,
+                       long unidades, BigDecimal importe) {
+        this.dia = dia;
+        this.categoriaId = categoriaId;
+        this.productoId = productoId;
+        this.pais = pais != null ? pais : "";
+        this.ciudad = ciudad != null ? ciudad : "";
+        this.unidades = unidades;
+        this.importe = importe;
+    }
+
+    // Métodos de negocio
+    public SalesBucket negate() {
+        return new SalesBucket(dia, categoriaId, productoId, pais, ciudad, -unidades, importe.negate());
+    }
+
+    public SalesBucket plus(SalesBucket other) {
+        return new SalesBucket(dia, categoriaId, productoId, pais, ciudad,
+                unidades + other.unidades, importe.add(other.importe));
+    }
+
+    /**
+     * Buckets with the same key are added together
+     */
+    public String key() {
+        return dia + "|" + productoId + "|" + pais + "|" + ciudad + "|" + categoriaId;
+    }
+
+    public boolean isEmpty() {
+        return unidades == 0 && importe.signum() == 0;
+    }
+
+    // Getters
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public String getPais() {
+        return pais;
+    }
+
+    public String getCiudad() {
+        return ciudad;
+    }
+
+    public long getUnidades() {
+        return unidades;
+    }
+
+    public BigDecimal getImporte() {
+        return importe;
+    }
+}
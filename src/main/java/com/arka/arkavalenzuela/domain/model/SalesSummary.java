@@ -0,0 +1,32 @@
+package com.arka.arkavalenzuela.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Units and revenue of a date range added up for one value of the grouping dimension
+ * (a day, a category id, a product id, a country or a city)
+ */
+public class SalesSummary {
+    private final String clave;
+    private final long unidades;
+    private final BigDecimal importe;
+
+    public SalesSummary(String clave, long unidades, BigDecimal importe) {
+        this.clave = clave;
+        this.unidades = unidades;
+        this.importe = importe;
+    }
+
+    // Getters
+    public String getClave() {
+        return clave;
+    }
+
+    public long getUnidades() {
+        return unidades;
+    }
+
+    public BigDecimal getImporte() {
+        return importe;
+    }
+}
@@ -0,0 +1,33 @@
+package com.arka.arkavalenzuela.domain.model;
+
+import java.util.List;
+
+/**
+ * One page of a sorted listing
+ * It only tells whether a following page exists, so no count query is needed.
+ */
+public class SlicePage<T> {
+    private final List<T> elementos;
+    private final int pagina;
+    private final boolean hayMas;
+
+    public SlicePage(List<T> elementos, int pagina, boolean hayMas) {
+        this.elementos = elementos;
+        this.pagina = pagina;
+        this.hayMas = hayMas;
+    }
+
+    // Métodos de negocio
+    public boolean hasNext() {
+        return hayMas;
+    }
+
+    // Getters
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    public int getPagina() {
+        return pagina;
+    }
+}
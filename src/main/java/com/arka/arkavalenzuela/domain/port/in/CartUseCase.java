@@ -1,6 +1,7 @@
 package com.arka.arkavalenzuela.domain.port.in;
 
 import com.arka.arkavalenzuela.domain.model.Cart;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CartUseCase {
@@ -10,4 +11,5 @@ public interface CartUseCase {
     Cart updateCart(Long id, Cart cart);
     void deleteCart(Long id);
     List<Cart> getAbandonedCarts();
+    int abandonCartsCreatedBefore(LocalDateTime before);
 }
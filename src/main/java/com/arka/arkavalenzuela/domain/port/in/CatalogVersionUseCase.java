@@ -0,0 +1,7 @@
+package com.arka.arkavalenzuela.domain.port.in;
+
+import com.arka.arkavalenzuela.domain.model.CatalogVersion;
+
+public interface CatalogVersionUseCase {
+    CatalogVersion getCatalogVersion();
+}
@@ -1,7 +1,9 @@
 package com.arka.arkavalenzuela.domain.port.in;
 
 import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.model.CursorPage;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CategoryUseCase {
     List<Category> getAllCategories();
@@ -9,4 +11,6 @@ public interface CategoryUseCase {
     Category createCategory(Category category);
     Category updateCategory(Long id, Category category);
     void deleteCategory(Long id);
+    CursorPage<Category> getCategoriesPage(Long cursor, int limit);
+    void streamAllCategories(Consumer<Category> consumer);
 }
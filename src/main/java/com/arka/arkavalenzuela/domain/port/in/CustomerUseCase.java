@@ -1,14 +1,25 @@
 package com.arka.arkavalenzuela.domain.port.in;
 
+import com.arka.arkavalenzuela.domain.model.BulkImportResult;
+import com.arka.arkavalenzuela.domain.model.CursorPage;
 import com.arka.arkavalenzuela.domain.model.Customer;
+import com.arka.arkavalenzuela.domain.model.FieldMask;
+import com.arka.arkavalenzuela.domain.model.PageQuery;
+import com.arka.arkavalenzuela.domain.model.SlicePage;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface CustomerUseCase {
     List<Customer> getAllCustomers();
     Customer getCustomerById(Long id);
     Customer createCustomer(Customer customer);
     Customer updateCustomer(Long id, Customer customer);
+    Customer patchCustomer(Long id, Customer changes, FieldMask mask);
     void deleteCustomer(Long id);
     List<Customer> searchCustomersByName(String name);
-    List<Customer> getAllCustomersSorted();
+    SlicePage<Customer> getCustomersSorted(PageQuery query);
+    CursorPage<Customer> getCustomersPage(Long cursor, int limit);
+    void streamAllCustomers(Consumer<Customer> consumer);
+    BulkImportResult importCustomers(Stream<Customer> customers);
 }
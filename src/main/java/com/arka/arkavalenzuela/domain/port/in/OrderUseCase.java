@@ -10,6 +10,7 @@ public interface OrderUseCase {
     List<Order> getAllOrders();
     Order getOrderById(Long id);
     Order createOrder(Order order);
+    List<Order> createOrders(List<Order> orders);
     Order updateOrder(Long id, Order order);
     void deleteOrder(Long id);
     List<Order> getOrdersByProduct(Product product);
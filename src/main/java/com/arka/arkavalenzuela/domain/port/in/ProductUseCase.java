@@ -1,17 +1,33 @@
 package com.arka.arkavalenzuela.domain.port.in;
 
+import com.arka.arkavalenzuela.domain.model.BulkImportResult;
+import com.arka.arkavalenzuela.domain.model.CursorPage;
+import com.arka.arkavalenzuela.domain.model.FieldMask;
+import com.arka.arkavalenzuela.domain.model.PageQuery;
 import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.model.SlicePage;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface ProductUseCase {
     List<Product> getAllProducts();
     Product getProductById(Long id);
     Product createProduct(Product product);
     Product updateProduct(Long id, Product product);
+    Product patchProduct(Long id, Product changes, FieldMask mask);
+    int repriceProducts(Map<Long, BigDecimal> prices);
     void deleteProduct(Long id);
     List<Product> getProductsByCategory(String categoryName);
     List<Product> searchProductsByName(String name);
     List<Product> getProductsByPriceRange(BigDecimal min, BigDecimal max);
-    List<Product> getAllProductsSorted();
+    SlicePage<Product> getProductsSorted(PageQuery query);
+    CursorPage<Product> getProductsPage(Long cursor, int limit);
+    void streamAllProducts(Consumer<Product> consumer);
+    void rebuildSearchIndex();
+    void reserveStock(Long id, Integer quantity);
+    void releaseStock(Long id, Integer quantity);
+    BulkImportResult importProducts(Stream<Product> products);
 }
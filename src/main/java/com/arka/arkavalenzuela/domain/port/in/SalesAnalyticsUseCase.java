@@ -0,0 +1,10 @@
+package com.arka.arkavalenzuela.domain.port.in;
+
+import com.arka.arkavalenzuela.domain.model.SalesSummary;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesAnalyticsUseCase {
+    List<SalesSummary> getSales(LocalDate desde, LocalDate hasta, String dimension);
+    void rebuildSales();
+}
@@ -1,6 +1,7 @@
 package com.arka.arkavalenzuela.domain.port.out;
 
 import com.arka.arkavalenzuela.domain.model.Cart;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,6 +10,9 @@ public interface CartRepositoryPort {
     Optional<Cart> findById(Long id);
     Cart save(Cart cart);
     void deleteById(Long id);
+    int updateIfExists(Cart cart);
+    int deleteIfExists(Long id);
     List<Cart> findByEstado(String estado);
     boolean existsById(Long id);
+    int updateEstadoCreatedBefore(String estado, String nuevoEstado, LocalDateTime before, int limit);
 }
@@ -0,0 +1,8 @@
+package com.arka.arkavalenzuela.domain.port.out;
+
+import com.arka.arkavalenzuela.domain.model.CatalogVersion;
+
+public interface CatalogVersionPort {
+    CatalogVersion current();
+    void changed();
+}
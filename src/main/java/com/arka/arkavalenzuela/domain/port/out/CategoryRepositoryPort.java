@@ -3,11 +3,18 @@ package com.arka.arkavalenzuela.domain.port.out;
 import com.arka.arkavalenzuela.domain.model.Category;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface CategoryRepositoryPort {
     List<Category> findAll();
     Optional<Category> findById(Long id);
     Category save(Category category);
     void deleteById(Long id);
+    int updateIfExists(Category category);
+    int deleteIfExists(Long id);
     boolean existsById(Long id);
+    List<Category> findPageAfter(Long afterId, int limit);
+    void streamAll(Consumer<Category> consumer);
+    Set<Long> findAllIds();
 }
@@ -1,14 +1,25 @@
 package com.arka.arkavalenzuela.domain.port.out;
 
+import com.arka.arkavalenzuela.domain.model.FieldMask;
+import com.arka.arkavalenzuela.domain.model.PageQuery;
 import com.arka.arkavalenzuela.domain.model.Customer;
+import com.arka.arkavalenzuela.domain.model.SlicePage;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface CustomerRepositoryPort {
     List<Customer> findAll();
     Optional<Customer> findById(Long id);
     Customer save(Customer customer);
     void deleteById(Long id);
+    int updateIfExists(Customer customer);
+    int deleteIfExists(Long id);
+    int updateFields(Long id, Customer changes, FieldMask mask);
     List<Customer> findByNombreStartingWith(String letra);
     boolean existsById(Long id);
+    List<Customer> findPageAfter(Long afterId, int limit);
+    SlicePage<Customer> findSorted(PageQuery query);
+    void streamAll(Consumer<Customer> consumer);
+    List<Customer> saveAll(List<Customer> customers);
 }
@@ -11,7 +11,12 @@ public interface OrderRepositoryPort {
     List<Order> findAll();
     Optional<Order> findById(Long id);
     Order save(Order order);
-    void deleteById(Long id);
+    List<Order> saveAll(List<Order> orders);
+    /**
+     * Deletes the order only if it is still at the version it was read with;
+     * otherwise, or if it is already gone, throws VersionConflictException
+     */
+    void delete(Order order);
     List<Order> findByProductosContaining(Product product);
     List<Order> findByFechaBetween(LocalDateTime start, LocalDateTime end);
     List<Order> findByCliente(Customer cliente);
@@ -1,17 +1,33 @@
 package com.arka.arkavalenzuela.domain.port.out;
 
+import com.arka.arkavalenzuela.domain.model.FieldMask;
+import com.arka.arkavalenzuela.domain.model.PageQuery;
 import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.model.SlicePage;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ProductRepositoryPort {
     List<Product> findAll();
     Optional<Product> findById(Long id);
     Product save(Product product);
     void deleteById(Long id);
+    int updateIfExists(Product product);
+    int deleteIfExists(Long id);
+    int updateFields(Long id, Product changes, FieldMask mask);
+    int updatePrices(Map<Long, BigDecimal> prices);
     List<Product> findByCategoriaNombre(String categoriaNombre);
-    List<Product> findByNombreContainingIgnoreCase(String nombre);
     List<Product> findByPriceRange(BigDecimal min, BigDecimal max);
     boolean existsById(Long id);
+    List<Product> findPageAfter(Long afterId, int limit);
+    SlicePage<Product> findSorted(PageQuery query);
+    void streamAll(Consumer<Product> consumer);
+    List<Product> findAllById(Collection<Long> ids);
+    boolean decrementStock(Long id, int quantity);
+    void incrementStock(Long id, int quantity);
+    List<Product> saveAll(List<Product> products);
 }
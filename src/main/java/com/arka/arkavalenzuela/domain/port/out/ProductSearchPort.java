@@ -0,0 +1,12 @@
+package com.arka.arkavalenzuela.domain.port.out;
+
+import com.arka.arkavalenzuela.domain.model.Product;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ProductSearchPort {
+    List<Long> search(String term);
+    void index(Product product);
+    void remove(Long productId);
+    void rebuild(Consumer<Consumer<Product>> source);
+}
@@ -0,0 +1,12 @@
+package com.arka.arkavalenzuela.domain.port.out;
+
+import com.arka.arkavalenzuela.domain.model.SalesBucket;
+import com.arka.arkavalenzuela.domain.model.SalesSummary;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesAnalyticsPort {
+    void record(List<SalesBucket> buckets);
+    List<SalesSummary> summarize(LocalDate desde, LocalDate hasta, String dimension);
+    void rebuild();
+}
@@ -0,0 +1,14 @@
+package com.arka.arkavalenzuela.domain.port.out;
+
+import java.util.function.IntSupplier;
+
+public interface StockReservationPort {
+    boolean reserve(Long productId, int quantity);
+    void release(Long productId, int quantity);
+
+    /**
+     * Runs a write that sets the product's stock directly or deletes the product, returning
+     * its row count; reservations held outside the database are written before it runs
+     */
+    int overwriteStock(Long productId, IntSupplier write);
+}
@@ -0,0 +1,12 @@
+package com.arka.arkavalenzuela.domain.port.out;
+
+import java.util.function.Supplier;
+
+public interface TransactionPort {
+
+    /**
+     * Runs the work in one database transaction, so the writes of every port it calls are
+     * committed together or not at all; an exception rolls them all back
+     */
+    <T> T inTransaction(Supplier<T> work);
+}
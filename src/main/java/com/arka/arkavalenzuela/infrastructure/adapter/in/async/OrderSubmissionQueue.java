@@ -0,0 +1,184 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.async;
+
+import com.arka.arkavalenzuela.domain.model.Order;
+import com.arka.arkavalenzuela.domain.port.in.OrderUseCase;
+import com.arka.arkavalenzuela.infrastructure.config.ReadReplicaRouting;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue of orders accepted with 202 Accepted
+ * The request thread only enqueues the order and returns a ticket. Drainer threads take
+ * whatever has piled up (up to batch-size orders) and create it with
+ * {@link OrderUseCase#createOrders}, one transaction per group; if the group is refused,
+ * its orders are retried one by one so a single bad order does not reject the rest.
+ * When the queue is full, submissions are refused instead of blocking the caller.
+ * With a read replica, the submitting client is pinned to the primary once its order is
+ * created, since the drainer that writes it runs outside the client's request.
+ */
+@Component
+public class OrderSubmissionQueue implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSubmissionQueue.class);
+
+    private final OrderUseCase orderUseCase;
+    private final ReadReplicaRouting routing;
+    private final int batchSize;
+    private final BlockingQueue<Submission> queue;
+    private final Cache<String, OrderSubmissionStatus> statuses;
+    private final List<Thread> drainers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    @Autowired
+    public OrderSubmissionQueue(OrderUseCase orderUseCase, ObjectProvider<ReadReplicaRouting> routing,
+                                @Value("${arka.pedidos.async.capacity:10000}") int capacity,
+                                @Value("${arka.pedidos.async.batch-size:100}") int batchSize,
+                                @Value("${arka.pedidos.async.drainers:2}") int drainerCount,
+                                @Value("${arka.pedidos.async.ticket-ttl:PT15M}") Duration ticketTtl) {
+        this(orderUseCase, routing.getIfAvailable(), capacity, batchSize, drainerCount, ticketTtl);
+    }
+
+    OrderSubmissionQueue(OrderUseCase orderUseCase, ReadReplicaRouting routing, int capacity, int batchSize,
+                         int drainerCount, Duration ticketTtl) {
+        this.orderUseCase = orderUseCase;
+        this.routing = routing;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(ticketTtl)
+                .build();
+        for (int i = 0; i < drainerCount; i++) {
+            Thread drainer = new Thread(this::drain, "order-submission-drainer-" + i);
+            drainer.setDaemon(true);
+            drainer.start();
+            drainers.add(drainer);
+        }
+    }
+
+    /**
+     * Enqueues the order and returns its ticket
+     *
+     * @throws RejectedExecutionException when the queue is full or shutting down
+     */
+    public String submit(Order order) {
+        if (!running) {
+            throw new RejectedExecutionException("Order submission queue is shutting down");
+        }
+        String ticket = UUID.randomUUID().toString();
+        statuses.put(ticket, OrderSubmissionStatus.pending(ticket));
+        if (!queue.offer(new Submission(ticket, order, ReadReplicaRouting.currentClient()))) {
+            statuses.invalidate(ticket);
+            throw new RejectedExecutionException("Order submission queue is full");
+        }
+        return ticket;
+    }
+
+    public Optional<OrderSubmissionStatus> status(String ticket) {
+        return Optional.ofNullable(statuses.getIfPresent(ticket));
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting orders and creates the ones still queued before returning
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Thread drainer : drainers) {
+            try {
+                drainer.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        List<Submission> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected failure draining {} order submissions", batch.size(), e);
+                batch.forEach(submission -> reject(submission, e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Submission> batch) {
+        if (batch.size() > 1) {
+            try {
+                List<Order> created = orderUseCase.createOrders(batch.stream()
+                        .map(submission -> submission.order)
+                        .toList());
+                for (int i = 0; i < batch.size(); i++) {
+                    complete(batch.get(i), created.get(i));
+                }
+                return;
+            } catch (RuntimeException e) {
+                log.debug("Group of {} orders refused, creating them one by one", batch.size(), e);
+            }
+        }
+        for (Submission submission : batch) {
+            try {
+                complete(submission, orderUseCase.createOrder(submission.order));
+            } catch (RuntimeException e) {
+                reject(submission, e);
+            }
+        }
+    }
+
+    private void complete(Submission submission, Order created) {
+        if (routing != null) {
+            routing.wrote(submission.client);
+        }
+        statuses.put(submission.ticket, OrderSubmissionStatus.created(submission.ticket, created.getId()));
+    }
+
+    private void reject(Submission submission, RuntimeException e) {
+        statuses.put(submission.ticket, OrderSubmissionStatus.rejected(submission.ticket, e.getMessage()));
+    }
+
+    private static final class Submission {
+        private final String ticket;
+        private final Order order;
+        private final String client;
+
+        private Submission(String ticket, Order order, String client) {
+            this.ticket = ticket;
+            this.order = order;
+            this.client = client;
+        }
+    }
+}
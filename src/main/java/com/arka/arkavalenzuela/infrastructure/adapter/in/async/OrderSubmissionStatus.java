@@ -0,0 +1,57 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.async;
+
+/**
+ * Outcome of an order accepted by {@link OrderSubmissionQueue}, looked up by its ticket
+ */
+public class OrderSubmissionStatus {
+
+    public static final String PENDIENTE = "PENDIENTE";
+    public static final String CREADO = "CREADO";
+    public static final String RECHAZADO = "RECHAZADO";
+
+    private final String ticket;
+    private final String estado;
+    private final Long pedidoId;
+    private final String error;
+
+    private OrderSubmissionStatus(String ticket, String estado, Long pedidoId, String error) {
+        this.ticket = ticket;
+        this.estado = estado;
+        this.pedidoId = pedidoId;
+        this.error = error;
+    }
+
+    public static OrderSubmissionStatus pending(String ticket) {
+        return new OrderSubmissionStatus(ticket, PENDIENTE, null, null);
+    }
+
+    public static OrderSubmissionStatus created(String ticket, Long pedidoId) {
+        return new OrderSubmissionStatus(ticket, CREADO, pedidoId, null);
+    }
+
+    public static OrderSubmissionStatus rejected(String ticket, String error) {
+        return new OrderSubmissionStatus(ticket, RECHAZADO, null, error);
+    }
+
+    // Métodos de negocio
+    public boolean isPending() {
+        return PENDIENTE.equals(estado);
+    }
+
+    // Getters
+    public String getTicket() {
+        return ticket;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public Long getPedidoId() {
+        return pedidoId;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,70 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.scheduler;
+
+import com.arka.arkavalenzuela.domain.port.in.CartUseCase;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Marks active carts older than the TTL as abandoned
+ * Runs with a fixed delay, so sweeps never overlap; each one records how long it took
+ * (arka.carritos.barrido) and how many carts it abandoned (arka.carritos.abandonados).
+ */
+@Component
+@ConditionalOnProperty(name = "arka.carritos.abandono.enabled", havingValue = "true", matchIfMissing = true)
+public class AbandonedCartSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(AbandonedCartSweeper.class);
+
+    private final CartUseCase cartUseCase;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Timer sweepTimer;
+    private final DistributionSummary abandonedPerSweep;
+
+    @Autowired
+    public AbandonedCartSweeper(CartUseCase cartUseCase, MeterRegistry meterRegistry,
+                                @Value("${arka.carritos.abandono.ttl:PT24H}") Duration ttl) {
+        this(cartUseCase, meterRegistry, ttl, Clock.systemDefaultZone());
+    }
+
+    AbandonedCartSweeper(CartUseCase cartUseCase, MeterRegistry meterRegistry, Duration ttl, Clock clock) {
+        this.cartUseCase = cartUseCase;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.sweepTimer = Timer.builder("arka.carritos.barrido")
+                .description("Duration of each abandoned-cart sweep")
+                .register(meterRegistry);
+        this.abandonedPerSweep = DistributionSummary.builder("arka.carritos.abandonados")
+                .description("Carts marked as abandoned by each sweep")
+                .baseUnit("carritos")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${arka.carritos.abandono.interval:PT1M}",
+            initialDelayString = "${arka.carritos.abandono.interval:PT1M}")
+    public int sweep() {
+        LocalDateTime before = LocalDateTime.now(clock).minus(ttl);
+        long start = System.nanoTime();
+        int abandoned = cartUseCase.abandonCartsCreatedBefore(before);
+        long elapsed = System.nanoTime() - start;
+        sweepTimer.record(Duration.ofNanos(elapsed));
+        abandonedPerSweep.record(abandoned);
+        if (abandoned > 0) {
+            log.info("Marked {} carts created before {} as abandoned in {} ms", abandoned, before,
+                    Duration.ofNanos(elapsed).toMillis());
+        }
+        return abandoned;
+    }
+}
@@ -0,0 +1,133 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Reads bulk import bodies record by record, as CSV (first line is the header with the
+ * DTO field names) or NDJSON (one JSON object per line), without buffering the whole body
+ * A malformed record surfaces as an IllegalArgumentException when the stream reaches it,
+ * so the import can reject it and keep going. The stream must be closed.
+ */
+@Component
+public class BulkRecordReader {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final ObjectMapper objectMapper;
+
+    public BulkRecordReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> Stream<T> read(InputStream body, MediaType contentType, Class<T> type) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Stream<String> lines = reader.lines()
+                .filter(line -> !line.isBlank())
+                .onClose(() -> close(reader));
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            ObjectReader jsonReader = objectMapper.readerFor(type);
+            return lines.map(line -> readJson(jsonReader, line));
+        }
+        if (MediaType.parseMediaType(TEXT_CSV_VALUE).isCompatibleWith(contentType)) {
+            List<String> header = readHeader(reader);
+            return lines.map(line -> objectMapper.convertValue(toRow(header, line), type));
+        }
+        close(reader);
+        throw new IllegalArgumentException("Unsupported content type: " + contentType);
+    }
+
+    private <T> T readJson(ObjectReader jsonReader, String line) {
+        try {
+            return jsonReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed record: " + e.getOriginalMessage());
+        }
+    }
+
+    private List<String> readHeader(BufferedReader reader) {
+        try {
+            String line = reader.readLine();
+            if (line == null || line.isBlank()) {
+                throw new IllegalArgumentException("CSV body must start with a header line");
+            }
+            return parseCsvLine(line.startsWith("\uFEFF") ? line.substring(1) : line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Empty cells are left out so they map to null instead of failing numeric conversion
+     */
+    private Map<String, String> toRow(List<String> header, String line) {
+        List<String> values = parseCsvLine(line);
+        if (values.size() > header.size()) {
+            throw new IllegalArgumentException("Record has " + values.size() + " fields, header has " + header.size());
+        }
+        Map<String, String> row = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            if (!values.get(i).isEmpty()) {
+                row.put(header.get(i), values.get(i));
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Splits one CSV line (RFC 4180 quoting, fields cannot span lines)
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private void close(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
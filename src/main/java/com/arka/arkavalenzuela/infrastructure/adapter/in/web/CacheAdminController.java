@@ -0,0 +1,57 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
+
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.CachingProductRepositoryAdapter;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMembership;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMemberships;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/cache")
+public class CacheAdminController {
+
+    private final CachingProductRepositoryAdapter productCache;
+    private final CatalogJsonCache jsonCache;
+    private final IdMemberships idMemberships;
+
+    public CacheAdminController(CachingProductRepositoryAdapter productCache, CatalogJsonCache jsonCache,
+                                IdMemberships idMemberships) {
+        this.productCache = productCache;
+        this.jsonCache = jsonCache;
+        this.idMemberships = idMemberships;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+        Map<String, Long> sizes = productCache.sizes();
+        Map<String, Map<String, Object>> regions = new LinkedHashMap<>();
+        productCache.stats().forEach((region, stats) -> regions.put(region, toMap(stats, sizes.get(region))));
+        regions.put("respuestasJson", toMap(jsonCache.stats(), jsonCache.size()));
+        idMemberships.memberships().forEach((aggregate, ids) -> regions.put("ids." + aggregate, toMap(ids)));
+        return ResponseEntity.ok(regions);
+    }
+
+    private Map<String, Object> toMap(IdMembership ids) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("cargado", ids.isLoaded());
+        values.put("consultas", ids.getChecks());
+        values.put("inexistentes", ids.getAbsent());
+        return values;
+    }
+
+    private Map<String, Object> toMap(CacheStats stats, Long size) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("tamano", size);
+        values.put("aciertos", stats.hitCount());
+        values.put("fallos", stats.missCount());
+        values.put("expulsiones", stats.evictionCount());
+        values.put("tasaAciertos", stats.hitRate());
+        return values;
+    }
+}
@@ -0,0 +1,84 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
+
+import com.arka.arkavalenzuela.domain.model.Cart;
+import com.arka.arkavalenzuela.domain.port.in.CartUseCase;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.CartDto;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.mapper.CartWebMapper;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/carritos")
+public class CartController {
+
+    private final CartUseCase cartUseCase;
+    private final CartWebMapper mapper;
+
+    public CartController(CartUseCase cartUseCase, CartWebMapper mapper) {
+        this.cartUseCase = cartUseCase;
+        this.mapper = mapper;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<CartDto>> getAllCarts() {
+        List<Cart> carts = cartUseCase.getAllCarts();
+        List<CartDto> cartDtos = carts.stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(cartDtos);
+    }
+
+    @GetMapping("/abandonados")
+    public ResponseEntity<List<CartDto>> getAbandonedCarts() {
+        List<Cart> carts = cartUseCase.getAbandonedCarts();
+        List<CartDto> cartDtos = carts.stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(cartDtos);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CartDto> getCartById(@PathVariable Long id) {
+        try {
+            Cart cart = cartUseCase.getCartById(id);
+            return ResponseEntity.ok(mapper.toDto(cart));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<CartDto> createCart(@RequestBody CartDto dto) {
+        try {
+            Cart savedCart = cartUseCase.createCart(mapper.toDomain(dto));
+            return ResponseEntity.ok(mapper.toDto(savedCart));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<CartDto> updateCart(@PathVariable Long id, @RequestBody CartDto dto) {
+        try {
+            Cart updatedCart = cartUseCase.updateCart(id, mapper.toDomain(dto));
+            return ResponseEntity.ok(mapper.toDto(updatedCart));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteCart(@PathVariable Long id) {
+        try {
+            cartUseCase.deleteCart(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
+
+import com.arka.arkavalenzuela.domain.model.CatalogVersion;
+import com.arka.arkavalenzuela.domain.port.in.CatalogVersionUseCase;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GETs on the catalog endpoints, validated against the catalog version
+ * The ETag is the version and Last-Modified the time of the last catalog write; when the
+ * client already holds them the request is answered with 304 Not Modified before the
+ * catalog is read or serialized. Responses ask clients to revalidate on every use.
+ * The ETag is weak because the gzip and identity bodies of a version share it: they are
+ * the same JSON but not the same bytes, which a strong validator would promise.
+ * Stock movements do not change the version, so the stock in a catalog response may lag
+ * behind reservations until the next catalog write.
+ */
+@Component
+public class CatalogConditionalRequests {
+
+    static final CacheControl CACHE_CONTROL = CacheControl.noCache();
+
+    private final CatalogVersionUseCase catalogVersionUseCase;
+
+    public CatalogConditionalRequests(CatalogVersionUseCase catalogVersionUseCase) {
+        this.catalogVersionUseCase = catalogVersionUseCase;
+    }
+
+    /**
+     * Sets the validators on the response and tells whether it has already been
+     * completed as 304 Not Modified, in which case the handler must return null
+     */
+    public boolean isNotModified(WebRequest request) {
+        CatalogVersion version = catalogVersionUseCase.getCatalogVersion();
+        return request.checkNotModified("W/\"c" + version.getVersion() + "\"", version.getModificadoEn().toEpochMilli());
+    }
+}
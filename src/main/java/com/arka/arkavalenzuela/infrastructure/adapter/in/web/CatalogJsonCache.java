@@ -0,0 +1,148 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
+
+import com.arka.arkavalenzuela.domain.port.in.CatalogVersionUseCase;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Catalog responses kept already encoded as JSON (and gzip-compressed when large enough)
+ * A hit is written to the response as bytes, skipping the use case, the DTO mapping,
+ * Jackson and compression. Every entry remembers the catalog version it was built from
+ * and is rebuilt once the catalog changes, so writes need no explicit invalidation.
+ * The cache is bounded by the total number of bytes it holds.
+ */
+@Component
+public class CatalogJsonCache {
+
+    private final CatalogVersionUseCase catalogVersionUseCase;
+    private final ObjectWriter writer;
+    private final int gzipMinSize;
+    private final Cache<String, Entry> entries;
+
+    public CatalogJsonCache(CatalogVersionUseCase catalogVersionUseCase, ObjectMapper objectMapper,
+                            @Value("${arka.web.json-cache.max-bytes:67108864}") long maxBytes,
+                            @Value("${arka.web.json-cache.gzip-min-size:1024}") int gzipMinSize) {
+        this.catalogVersionUseCase = catalogVersionUseCase;
+        this.writer = objectMapper.writer();
+        this.gzipMinSize = gzipMinSize;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<String, Entry>weigher((key, entry) -> entry.weight())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 200 response with the cached JSON for the key, building it from the body
+     * supplier when missing or older than the current catalog version
+     */
+    public ResponseEntity<byte[]> respond(String key, WebRequest request, Supplier<?> body) {
+        // Read before the body: data newer than its version is harmless, older would not be
+        long version = catalogVersionUseCase.getCatalogVersion().getVersion();
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null || entry.version < version) {
+            Entry built = encode(version, body.get());
+            entry = entries.asMap().merge(key, built, (current, candidate) ->
+                    current.version >= candidate.version ? current : candidate);
+        }
+        boolean gzip = entry.gzip != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CatalogConditionalRequests.CACHE_CONTROL);
+        if (entry.gzip != null) {
+            response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? entry.gzip : entry.json);
+    }
+
+    public CacheStats stats() {
+        return entries.stats();
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    private Entry encode(long version, Object body) {
+        byte[] json;
+        try {
+            json = writer.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Entry(version, json, gzipMinSize >= 0 && json.length >= gzipMinSize ? gzip(json) : null);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * True when Accept-Encoding lists gzip (or *) without a zero quality
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!name.equals("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    refused = parameter.substring(2).trim().matches("0(\\.0*)?");
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final byte[] json;
+        private final byte[] gzip;
+
+        private Entry(long version, byte[] json, byte[] gzip) {
+            this.version = version;
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        int weight() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
 
 import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.model.CursorPage;
 import com.arka.arkavalenzuela.domain.port.in.CategoryUseCase;
 import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.CategoryDto;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.CursorPageDto;
 import com.arka.arkavalenzuela.infrastructure.adapter.in.web.mapper.CategoryWebMapper;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,26 +21,62 @@ public class CategoryController {
 
     private final CategoryUseCase categoryUseCase;
     private final CategoryWebMapper mapper;
+    private final NdjsonResponseWriter ndjsonWriter;
+    private final CatalogConditionalRequests conditionalRequests;
+    private final CatalogJsonCache jsonCache;
 
-    public CategoryController(CategoryUseCase categoryUseCase, CategoryWebMapper mapper) {
+    public CategoryController(CategoryUseCase categoryUseCase, CategoryWebMapper mapper,
+                              NdjsonResponseWriter ndjsonWriter, CatalogConditionalRequests conditionalRequests,
+                              CatalogJsonCache jsonCache) {
         this.categoryUseCase = categoryUseCase;
         this.mapper = mapper;
+        this.ndjsonWriter = ndjsonWriter;
+        this.conditionalRequests = conditionalRequests;
+        this.jsonCache = jsonCache;
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryDto>> getAllCategories() {
-        List<Category> categories = categoryUseCase.getAllCategories();
-        List<CategoryDto> categoryDtos = categories.stream()
+    public ResponseEntity<byte[]> getAllCategories(WebRequest request) {
+        if (conditionalRequests.isNotModified(request)) {
+            return null;
+        }
+        return jsonCache.respond("categorias", request, () -> categoryUseCase.getAllCategories().stream()
                 .map(mapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(categoryDtos);
+                .collect(Collectors.toList()));
+    }
+
+    @GetMapping("/pagina")
+    public ResponseEntity<CursorPageDto<CategoryDto>> getCategoriesPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "100") int limite) {
+        try {
+            CursorPage<Category> page = categoryUseCase.getCategoriesPage(cursor, limite);
+            List<CategoryDto> categoryDtos = page.getElementos().stream()
+                    .map(mapper::toDto)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(new CursorPageDto<>(categoryDtos, page.getSiguienteCursor()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCategories() {
+        StreamingResponseBody body = ndjsonWriter.<CategoryDto>stream(consumer ->
+                categoryUseCase.streamAllCategories(category -> consumer.accept(mapper.toDto(category))));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryDto> getCategoryById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getCategoryById(@PathVariable Long id, WebRequest request) {
+        if (conditionalRequests.isNotModified(request)) {
+            return null;
+        }
         try {
-            Category category = categoryUseCase.getCategoryById(id);
-            return ResponseEntity.ok(mapper.toDto(category));
+            return jsonCache.respond("categoria-id:" + id, request,
+                    () -> mapper.toDto(categoryUseCase.getCategoryById(id)));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
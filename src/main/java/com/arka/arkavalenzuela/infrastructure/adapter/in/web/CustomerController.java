@@ -1,14 +1,29 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
 
 import com.arka.arkavalenzuela.domain.model.Customer;
+import com.arka.arkavalenzuela.domain.model.BulkImportResult;
+import com.arka.arkavalenzuela.domain.model.CursorPage;
+import com.arka.arkavalenzuela.domain.model.PageQuery;
+import com.arka.arkavalenzuela.domain.model.SlicePage;
 import com.arka.arkavalenzuela.domain.port.in.CustomerUseCase;
 import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.CustomerDto;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.BulkImportResultDto;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.CursorPageDto;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.SlicePageDto;
 import com.arka.arkavalenzuela.infrastructure.adapter.in.web.mapper.CustomerWebMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/usuarios")
@@ -16,10 +31,18 @@ public class CustomerController {
 
     private final CustomerUseCase customerUseCase;
     private final CustomerWebMapper mapper;
+    private final NdjsonResponseWriter ndjsonWriter;
+    private final BulkRecordReader bulkReader;
+    private final ObjectMapper objectMapper;
 
-    public CustomerController(CustomerUseCase customerUseCase, CustomerWebMapper mapper) {
+    public CustomerController(CustomerUseCase customerUseCase, CustomerWebMapper mapper,
+                              NdjsonResponseWriter ndjsonWriter, BulkRecordReader bulkReader,
+                              ObjectMapper objectMapper) {
         this.customerUseCase = customerUseCase;
         this.mapper = mapper;
+        this.ndjsonWriter = ndjsonWriter;
+        this.bulkReader = bulkReader;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -31,6 +54,42 @@ public class CustomerController {
         return ResponseEntity.ok(customerDtos);
     }
 
+    @GetMapping("/pagina")
+    public ResponseEntity<CursorPageDto<CustomerDto>> getUsersPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "100") int limite) {
+        try {
+            CursorPage<Customer> page = customerUseCase.getCustomersPage(cursor, limite);
+            List<CustomerDto> customerDtos = page.getElementos().stream()
+                    .map(mapper::toDto)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(new CursorPageDto<>(customerDtos, page.getSiguienteCursor()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        StreamingResponseBody body = ndjsonWriter.<CustomerDto>stream(consumer ->
+                customerUseCase.streamAllCustomers(customer -> consumer.accept(mapper.toDto(customer))));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @PostMapping(value = "/bulk", consumes = {BulkRecordReader.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                         InputStream body) {
+        try (Stream<CustomerDto> records = bulkReader.read(body, contentType, CustomerDto.class)) {
+            BulkImportResult result = customerUseCase.importCustomers(records.map(mapper::toDomain));
+            return ResponseEntity.ok(new BulkImportResultDto(result.getImportados(), result.getRechazados(),
+                    result.getErrores()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CustomerDto> getUserById(@PathVariable Long id) {
         try {
@@ -63,6 +122,22 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Partial update: only the fields present in the body are written
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchUser(@PathVariable Long id, @RequestBody ObjectNode body) {
+        try {
+            Customer changes = mapper.toDomain(objectMapper.treeToValue(body, CustomerDto.class));
+            Customer patchedCustomer = customerUseCase.patchCustomer(id, changes, mapper.toFieldMask(body));
+            return ResponseEntity.ok(mapper.toDto(patchedCustomer));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
         try {
@@ -83,11 +158,20 @@ public class CustomerController {
     }
 
     @GetMapping("/ordenados")
-    public ResponseEntity<List<CustomerDto>> getAllUsersSorted() {
-        List<Customer> customers = customerUseCase.getAllCustomersSorted();
-        List<CustomerDto> customerDtos = customers.stream()
-                .map(mapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(customerDtos);
+    public ResponseEntity<SlicePageDto<CustomerDto>> getAllUsersSorted(
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "100") int tamano,
+            @RequestParam(defaultValue = "nombre") String campo,
+            @RequestParam(defaultValue = "asc") String direccion) {
+        try {
+            PageQuery query = new PageQuery(pagina, tamano, campo, !"desc".equalsIgnoreCase(direccion));
+            SlicePage<Customer> page = customerUseCase.getCustomersSorted(query);
+            List<CustomerDto> customerDtos = page.getElementos().stream()
+                    .map(mapper::toDto)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(new SlicePageDto<>(customerDtos, page.getPagina(), page.hasNext()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
@@ -0,0 +1,43 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes collections as NDJSON (one JSON object per line) as the source
+ * produces them, without holding the whole response in memory
+ */
+@Component
+public class NdjsonResponseWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ObjectWriter writer;
+
+    public NdjsonResponseWriter(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    public <T> StreamingResponseBody stream(Consumer<Consumer<T>> source) {
+        return outputStream -> {
+            BufferedOutputStream buffered = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+            source.accept(item -> {
+                try {
+                    writer.writeValue(buffered, item);
+                    buffered.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            buffered.flush();
+        };
+    }
+}
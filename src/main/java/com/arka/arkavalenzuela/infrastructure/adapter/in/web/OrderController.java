@@ -0,0 +1,153 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
+
+import com.arka.arkavalenzuela.domain.exception.VersionConflictException;
+import com.arka.arkavalenzuela.domain.model.Order;
+import com.arka.arkavalenzuela.domain.port.in.OrderUseCase;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.async.OrderSubmissionQueue;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.async.OrderSubmissionStatus;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.OrderDto;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.OrderSubmissionDto;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.mapper.OrderWebMapper;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/pedidos")
+public class OrderController {
+
+    private final OrderUseCase orderUseCase;
+    private final OrderWebMapper mapper;
+    private final OrderSubmissionQueue submissionQueue;
+
+    public OrderController(OrderUseCase orderUseCase, OrderWebMapper mapper,
+                           OrderSubmissionQueue submissionQueue) {
+        this.orderUseCase = orderUseCase;
+        this.mapper = mapper;
+        this.submissionQueue = submissionQueue;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<OrderDto>> getAllOrders() {
+        List<Order> orders = orderUseCase.getAllOrders();
+        List<OrderDto> orderDtos = orders.stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(orderDtos);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<OrderDto> getOrderById(@PathVariable Long id) {
+        try {
+            Order order = orderUseCase.getOrderById(id);
+            return ResponseEntity.ok(mapper.toDto(order));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createOrder(@RequestBody OrderDto dto) {
+        try {
+            Order savedOrder = orderUseCase.createOrder(mapper.toDomain(dto));
+            return ResponseEntity.ok(mapper.toDto(savedOrder));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates all the orders in one transaction; if any of them is invalid none is created
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<?> createOrders(@RequestBody List<OrderDto> dtos) {
+        try {
+            List<Order> orders = dtos.stream()
+                    .map(mapper::toDomain)
+                    .collect(Collectors.toList());
+            List<OrderDto> savedOrders = orderUseCase.createOrders(orders).stream()
+                    .map(mapper::toDto)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(savedOrders);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Accepts the order without waiting for the database; the ticket in the
+     * response (and the Location header) tells when it has been created
+     */
+    @PostMapping("/asincronos")
+    public ResponseEntity<OrderSubmissionDto> submitOrder(@RequestBody OrderDto dto) {
+        try {
+            String ticket = submissionQueue.submit(mapper.toDomain(dto));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/pedidos/asincronos/" + ticket))
+                    .body(toDto(OrderSubmissionStatus.pending(ticket)));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+    }
+
+    @GetMapping("/asincronos/{ticket}")
+    public ResponseEntity<OrderSubmissionDto> getSubmission(@PathVariable String ticket) {
+        return submissionQueue.status(ticket)
+                .map(status -> ResponseEntity.ok(toDto(status)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updateOrder(@PathVariable Long id, @RequestBody OrderDto dto) {
+        try {
+            Order updatedOrder = orderUseCase.updateOrder(id, mapper.toDomain(dto));
+            return ResponseEntity.ok(mapper.toDto(updatedOrder));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        } catch (VersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteOrder(@PathVariable Long id) {
+        try {
+            orderUseCase.deleteOrder(id);
+            return ResponseEntity.noContent().build();
+        } catch (VersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/rango")
+    public ResponseEntity<List<OrderDto>> getOrdersByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fin) {
+        try {
+            List<OrderDto> orderDtos = orderUseCase.getOrdersByDateRange(inicio, fin).stream()
+                    .map(mapper::toDto)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(orderDtos);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private OrderSubmissionDto toDto(OrderSubmissionStatus status) {
+        return new OrderSubmissionDto(status.getTicket(), status.getEstado(), status.getPedidoId(), status.getError());
+    }
+}
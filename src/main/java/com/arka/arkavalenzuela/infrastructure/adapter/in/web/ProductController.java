@@ -1,16 +1,37 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
 
+import com.arka.arkavalenzuela.domain.exception.VersionConflictException;
 import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.model.BulkImportResult;
+import com.arka.arkavalenzuela.domain.model.CursorPage;
+import com.arka.arkavalenzuela.domain.model.PageQuery;
+import com.arka.arkavalenzuela.domain.model.SlicePage;
 import com.arka.arkavalenzuela.domain.port.in.ProductUseCase;
 import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.ProductDto;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.BulkImportResultDto;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.CursorPageDto;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.PriceChangeDto;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.RepricingResultDto;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.SlicePageDto;
 import com.arka.arkavalenzuela.infrastructure.adapter.in.web.mapper.ProductWebMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/productos")
@@ -18,38 +39,89 @@ public class ProductController {
 
     private final ProductUseCase productUseCase;
     private final ProductWebMapper mapper;
+    private final NdjsonResponseWriter ndjsonWriter;
+    private final BulkRecordReader bulkReader;
+    private final CatalogConditionalRequests conditionalRequests;
+    private final CatalogJsonCache jsonCache;
+    private final ObjectMapper objectMapper;
 
-    public ProductController(ProductUseCase productUseCase, ProductWebMapper mapper) {
+    public ProductController(ProductUseCase productUseCase, ProductWebMapper mapper,
+                             NdjsonResponseWriter ndjsonWriter, BulkRecordReader bulkReader,
+                             CatalogConditionalRequests conditionalRequests, CatalogJsonCache jsonCache,
+                             ObjectMapper objectMapper) {
         this.productUseCase = productUseCase;
         this.mapper = mapper;
+        this.ndjsonWriter = ndjsonWriter;
+        this.bulkReader = bulkReader;
+        this.conditionalRequests = conditionalRequests;
+        this.jsonCache = jsonCache;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductDto>> getAllProducts() {
-        List<Product> products = productUseCase.getAllProducts();
-        List<ProductDto> productDtos = products.stream()
-                .map(mapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(productDtos);
+    public ResponseEntity<byte[]> getAllProducts(WebRequest request) {
+        if (conditionalRequests.isNotModified(request)) {
+            return null;
+        }
+        return jsonCache.respond("productos", request, () -> toDtos(productUseCase.getAllProducts()));
+    }
+
+    @GetMapping("/pagina")
+    public ResponseEntity<CursorPageDto<ProductDto>> getProductsPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "100") int limite) {
+        try {
+            CursorPage<Product> page = productUseCase.getProductsPage(cursor, limite);
+            List<ProductDto> productDtos = page.getElementos().stream()
+                    .map(mapper::toDto)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(new CursorPageDto<>(productDtos, page.getSiguienteCursor()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProducts() {
+        StreamingResponseBody body = ndjsonWriter.<ProductDto>stream(consumer ->
+                productUseCase.streamAllProducts(product -> consumer.accept(mapper.toDto(product))));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @PostMapping(value = "/bulk", consumes = {BulkRecordReader.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                            InputStream body) {
+        try (Stream<ProductDto> records = bulkReader.read(body, contentType, ProductDto.class)) {
+            BulkImportResult result = productUseCase.importProducts(records.map(mapper::toDomain));
+            return ResponseEntity.ok(new BulkImportResultDto(result.getImportados(), result.getRechazados(),
+                    result.getErrores()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDto> getProductById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getProductById(@PathVariable Long id, WebRequest request) {
+        if (conditionalRequests.isNotModified(request)) {
+            return null;
+        }
         try {
-            Product product = productUseCase.getProductById(id);
-            return ResponseEntity.ok(mapper.toDto(product));
+            return jsonCache.respond("producto:" + id, request,
+                    () -> mapper.toDto(productUseCase.getProductById(id)));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
     @GetMapping("/categoria/{nombre}")
-    public ResponseEntity<List<ProductDto>> getByCategory(@PathVariable String nombre) {
-        List<Product> products = productUseCase.getProductsByCategory(nombre);
-        List<ProductDto> productDtos = products.stream()
-                .map(mapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(productDtos);
+    public ResponseEntity<byte[]> getByCategory(@PathVariable String nombre, WebRequest request) {
+        if (conditionalRequests.isNotModified(request)) {
+            return null;
+        }
+        return jsonCache.respond("productos-categoria:" + nombre, request,
+                () -> toDtos(productUseCase.getProductsByCategory(nombre)));
     }
 
     @PostMapping
@@ -64,17 +136,58 @@ public class ProductController {
         }
     }
 
+    /**
+     * Full replacement; with a version in the body it is only applied if the
+     * product still has that version, and answers 409 Conflict otherwise
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<ProductDto> updateProduct(@PathVariable Long id, @RequestBody ProductDto dto) {
+    public ResponseEntity<?> updateProduct(@PathVariable Long id, @RequestBody ProductDto dto) {
         try {
             Product product = mapper.toDomain(dto);
             Product updatedProduct = productUseCase.updateProduct(id, product);
             return ResponseEntity.ok(mapper.toDto(updatedProduct));
+        } catch (VersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Partial update: only the fields present in the body are written
+     * (JSON merge patch, without nested objects)
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchProduct(@PathVariable Long id, @RequestBody ObjectNode body) {
+        try {
+            Product changes = mapper.toDomain(objectMapper.treeToValue(body, ProductDto.class));
+            Product patchedProduct = productUseCase.patchProduct(id, changes, mapper.toFieldMask(body));
+            return ResponseEntity.ok(mapper.toDto(patchedProduct));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        } catch (VersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Sets the price of many products at once; unknown ids are skipped and
+     * a repeated id keeps its last price
+     */
+    @PatchMapping("/precios")
+    public ResponseEntity<?> repriceProducts(@RequestBody List<PriceChangeDto> changes) {
+        Map<Long, BigDecimal> prices = new LinkedHashMap<>();
+        changes.forEach(change -> prices.put(change.getId(), change.getPrecioUnitario()));
+        try {
+            int updated = productUseCase.repriceProducts(prices);
+            return ResponseEntity.ok(new RepricingResultDto(prices.size(), updated));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
         try {
@@ -85,6 +198,32 @@ public class ProductController {
         }
     }
 
+    @PostMapping("/{id}/reservas")
+    public ResponseEntity<?> reserveStock(@PathVariable Long id, @RequestParam Integer cantidad) {
+        try {
+            productUseCase.reserveStock(id, cantidad);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{id}/reservas")
+    public ResponseEntity<?> releaseStock(@PathVariable Long id, @RequestParam Integer cantidad) {
+        try {
+            productUseCase.releaseStock(id, cantidad);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/buscar")
     public ResponseEntity<List<ProductDto>> searchProducts(@RequestParam String term) {
         List<Product> products = productUseCase.searchProductsByName(term);
@@ -95,26 +234,43 @@ public class ProductController {
     }
 
     @GetMapping("/ordenados")
-    public ResponseEntity<List<ProductDto>> getAllProductsSorted() {
-        List<Product> products = productUseCase.getAllProductsSorted();
-        List<ProductDto> productDtos = products.stream()
-                .map(mapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(productDtos);
+    public ResponseEntity<SlicePageDto<ProductDto>> getAllProductsSorted(
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "100") int tamano,
+            @RequestParam(defaultValue = "nombre") String campo,
+            @RequestParam(defaultValue = "asc") String direccion) {
+        try {
+            PageQuery query = new PageQuery(pagina, tamano, campo, !"desc".equalsIgnoreCase(direccion));
+            SlicePage<Product> page = productUseCase.getProductsSorted(query);
+            List<ProductDto> productDtos = page.getElementos().stream()
+                    .map(mapper::toDto)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(new SlicePageDto<>(productDtos, page.getPagina(), page.hasNext()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/rango")
-    public ResponseEntity<List<ProductDto>> getProductsByPriceRange(
+    public ResponseEntity<byte[]> getProductsByPriceRange(
             @RequestParam BigDecimal min,
-            @RequestParam BigDecimal max) {
+            @RequestParam BigDecimal max,
+            WebRequest request) {
+        if (conditionalRequests.isNotModified(request)) {
+            return null;
+        }
         try {
-            List<Product> products = productUseCase.getProductsByPriceRange(min, max);
-            List<ProductDto> productDtos = products.stream()
-                    .map(mapper::toDto)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(productDtos);
+            String key = "rango:" + min.stripTrailingZeros().toPlainString()
+                    + ":" + max.stripTrailingZeros().toPlainString();
+            return jsonCache.respond(key, request, () -> toDtos(productUseCase.getProductsByPriceRange(min, max)));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    private List<ProductDto> toDtos(List<Product> products) {
+        return products.stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,104 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
+
+import com.arka.arkavalenzuela.infrastructure.observability.QueryProfiler;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/consultas")
+public class QueryProfilingAdminController {
+
+    private final QueryProfiler profiler;
+
+    public QueryProfilingAdminController(QueryProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getProfile() {
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("activo", profiler.isEnabled());
+        Map<String, Object> operaciones = new LinkedHashMap<>();
+        profiler.operations().forEach((operation, stats) -> operaciones.put(operation, toMap(stats)));
+        profile.put("operaciones", operaciones);
+        profile.put("masLentas", profiler.slowest().stream().map(this::toMap).toList());
+        profiler.hibernateStatistics().ifPresent(statistics -> profile.put("hibernate", toMap(statistics)));
+        return ResponseEntity.ok(profile);
+    }
+
+    /**
+     * Switches profiling on or off; counters gathered so far are kept until DELETE
+     */
+    @PutMapping
+    public ResponseEntity<Map<String, Object>> setEnabled(@RequestParam boolean activo) {
+        profiler.setEnabled(activo);
+        return ResponseEntity.ok(Map.of("activo", profiler.isEnabled()));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> reset() {
+        profiler.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    private Map<String, Object> toMap(QueryProfiler.OperationStats stats) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("sentencias", stats.getStatements());
+        values.put("tiempoTotalMs", stats.getTotalMillis());
+        values.put("tiempoMaximoMs", stats.getMaxMillis());
+        values.put("filas", stats.getRows());
+        values.put("entidadesCargadas", stats.getEntityLoads());
+        values.put("entidadesPerezosas", stats.getEntityFetches());
+        values.put("cacheAciertos", stats.getCacheHits());
+        values.put("cacheFallos", stats.getCacheMisses());
+        return values;
+    }
+
+    private Map<String, Object> toMap(QueryProfiler.SlowStatement statement) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("operacion", statement.getOperation());
+        values.put("sql", statement.getSql());
+        values.put("parametros", statement.getParameters());
+        values.put("lote", statement.getBatchSize());
+        values.put("tiempoMs", statement.getMillis());
+        values.put("instante", statement.getExecutedAt().toString());
+        return values;
+    }
+
+    private Map<String, Object> toMap(Statistics statistics) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("sentenciasPreparadas", statistics.getPrepareStatementCount());
+        values.put("entidadesCargadas", statistics.getEntityLoadCount());
+        values.put("entidadesPerezosas", statistics.getEntityFetchCount());
+        values.put("coleccionesCargadas", statistics.getCollectionLoadCount());
+        values.put("cacheSegundoNivelAciertos", statistics.getSecondLevelCacheHitCount());
+        values.put("cacheSegundoNivelFallos", statistics.getSecondLevelCacheMissCount());
+        values.put("cacheConsultasAciertos", statistics.getQueryCacheHitCount());
+        values.put("consultaMasLenta", statistics.getQueryExecutionMaxTimeQueryString());
+        Map<String, Object> consultas = new LinkedHashMap<>();
+        for (String query : statistics.getQueries()) {
+            consultas.put(query, toMap(statistics.getQueryStatistics(query)));
+        }
+        values.put("consultas", consultas);
+        return values;
+    }
+
+    private Map<String, Object> toMap(QueryStatistics statistics) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("ejecuciones", statistics.getExecutionCount());
+        values.put("filas", statistics.getExecutionRowCount());
+        values.put("tiempoMedioMs", statistics.getExecutionAvgTime());
+        values.put("tiempoMaximoMs", statistics.getExecutionMaxTime());
+        return values;
+    }
+}
@@ -0,0 +1,48 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
+
+import com.arka.arkavalenzuela.domain.port.in.SalesAnalyticsUseCase;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.SalesSummaryDto;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/analitica")
+public class SalesAnalyticsController {
+
+    private final SalesAnalyticsUseCase salesAnalyticsUseCase;
+
+    public SalesAnalyticsController(SalesAnalyticsUseCase salesAnalyticsUseCase) {
+        this.salesAnalyticsUseCase = salesAnalyticsUseCase;
+    }
+
+    /**
+     * Units and revenue between two days (both included), grouped by
+     * dia, categoria, producto, pais or ciudad
+     */
+    @GetMapping("/ventas")
+    public ResponseEntity<List<SalesSummaryDto>> getSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(defaultValue = "dia") String por) {
+        try {
+            List<SalesSummaryDto> sales = salesAnalyticsUseCase.getSales(desde, hasta, por).stream()
+                    .map(summary -> new SalesSummaryDto(summary.getClave(), summary.getUnidades(),
+                            summary.getImporte()))
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(sales);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/ventas/reconstruccion")
+    public ResponseEntity<Void> rebuildSales() {
+        salesAnalyticsUseCase.rebuildSales();
+        return ResponseEntity.noContent().build();
+    }
+}
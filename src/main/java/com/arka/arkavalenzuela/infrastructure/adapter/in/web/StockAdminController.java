@@ -0,0 +1,44 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
+
+import com.arka.arkavalenzuela.infrastructure.adapter.out.stock.StockReservationLedger;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/stock")
+public class StockAdminController {
+
+    private final StockReservationLedger stockLedger;
+
+    public StockAdminController(StockReservationLedger stockLedger) {
+        this.stockLedger = stockLedger;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<Long, Integer>> getTrackedStock() {
+        return ResponseEntity.ok(stockLedger.trackedAvailability());
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<Void> trackProduct(@PathVariable Long id) {
+        try {
+            stockLedger.track(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> untrackProduct(@PathVariable Long id) {
+        stockLedger.untrack(id);
+        return ResponseEntity.noContent().build();
+    }
+}
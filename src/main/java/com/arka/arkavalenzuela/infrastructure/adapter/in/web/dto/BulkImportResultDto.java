@@ -0,0 +1,42 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto;
+
+import java.util.List;
+
+public class BulkImportResultDto {
+    private long importados;
+    private long rechazados;
+    private List<String> errores;
+
+    public BulkImportResultDto() {}
+
+    public BulkImportResultDto(long importados, long rechazados, List<String> errores) {
+        this.importados = importados;
+        this.rechazados = rechazados;
+        this.errores = errores;
+    }
+
+    // Getters y Setters
+    public long getImportados() {
+        return importados;
+    }
+
+    public void setImportados(long importados) {
+        this.importados = importados;
+    }
+
+    public long getRechazados() {
+        return rechazados;
+    }
+
+    public void setRechazados(long rechazados) {
+        this.rechazados = rechazados;
+    }
+
+    public List<String> getErrores() {
+        return errores;
+    }
+
+    public void setErrores(List<String> errores) {
+        this.errores = errores;
+    }
+}
@@ -0,0 +1,45 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto;
+
+import java.time.LocalDateTime;
+
+public class CartDto {
+    private Long id;
+    private Long clienteId;
+    private LocalDateTime fechaCreacion;
+    private String estado;
+
+    public CartDto() {}
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public void setFechaCreacion(LocalDateTime fechaCreacion) {
+        this.fechaCreacion = fechaCreacion;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+}
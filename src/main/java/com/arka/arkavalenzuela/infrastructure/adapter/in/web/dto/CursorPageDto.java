@@ -0,0 +1,42 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto;
+
+import java.util.List;
+
+public class CursorPageDto<T> {
+    private List<T> elementos;
+    private Long siguienteCursor;
+    private boolean hayMas;
+
+    public CursorPageDto() {}
+
+    public CursorPageDto(List<T> elementos, Long siguienteCursor) {
+        this.elementos = elementos;
+        this.siguienteCursor = siguienteCursor;
+        this.hayMas = siguienteCursor != null;
+    }
+
+    // Getters y Setters
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    public void setElementos(List<T> elementos) {
+        this.elementos = elementos;
+    }
+
+    public Long getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public void setSiguienteCursor(Long siguienteCursor) {
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public boolean isHayMas() {
+        return hayMas;
+    }
+
+    public void setHayMas(boolean hayMas) {
+        this.hayMas = hayMas;
+    }
+}
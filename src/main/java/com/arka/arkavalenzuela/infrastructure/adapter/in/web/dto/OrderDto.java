@@ -0,0 +1,65 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class OrderDto {
+    private Long id;
+    private Long clienteId;
+    private LocalDateTime fecha;
+    private BigDecimal total;
+    private List<OrderLineDto> lineas;
+    private Long version;
+
+    public OrderDto() {}
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(LocalDateTime fecha) {
+        this.fecha = fecha;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public List<OrderLineDto> getLineas() {
+        return lineas;
+    }
+
+    public void setLineas(List<OrderLineDto> lineas) {
+        this.lineas = lineas;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,50 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto;
+
+public class OrderSubmissionDto {
+    private String ticket;
+    private String estado;
+    private Long pedidoId;
+    private String error;
+
+    public OrderSubmissionDto() {}
+
+    public OrderSubmissionDto(String ticket, String estado, Long pedidoId, String error) {
+        this.ticket = ticket;
+        this.estado = estado;
+        this.pedidoId = pedidoId;
+        this.error = error;
+    }
+
+    // Getters y Setters
+    public String getTicket() {
+        return ticket;
+    }
+
+    public void setTicket(String ticket) {
+        this.ticket = ticket;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public Long getPedidoId() {
+        return pedidoId;
+    }
+
+    public void setPedidoId(Long pedidoId) {
+        this.pedidoId = pedidoId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
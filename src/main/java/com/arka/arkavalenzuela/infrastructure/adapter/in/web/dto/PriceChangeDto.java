@@ -0,0 +1,32 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto;
+
+import java.math.BigDecimal;
+
+public class PriceChangeDto {
+    private Long id;
+    private BigDecimal precioUnitario;
+
+    public PriceChangeDto() {}
+
+    public PriceChangeDto(Long id, BigDecimal precioUnitario) {
+        this.id = id;
+        this.precioUnitario = precioUnitario;
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getPrecioUnitario() {
+        return precioUnitario;
+    }
+
+    public void setPrecioUnitario(BigDecimal precioUnitario) {
+        this.precioUnitario = precioUnitario;
+    }
+}
@@ -10,6 +10,7 @@ public class ProductDto {
     private String marca;
     private BigDecimal precioUnitario;
     private Integer stock;
+    private Long version;
 
     public ProductDto() {}
 
@@ -69,4 +70,12 @@ public class ProductDto {
     public void setStock(Integer stock) {
         this.stock = stock;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,30 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto;
+
+public class RepricingResultDto {
+    private int solicitados;
+    private int actualizados;
+
+    public RepricingResultDto() {}
+
+    public RepricingResultDto(int solicitados, int actualizados) {
+        this.solicitados = solicitados;
+        this.actualizados = actualizados;
+    }
+
+    // Getters y Setters
+    public int getSolicitados() {
+        return solicitados;
+    }
+
+    public void setSolicitados(int solicitados) {
+        this.solicitados = solicitados;
+    }
+
+    public int getActualizados() {
+        return actualizados;
+    }
+
+    public void setActualizados(int actualizados) {
+        this.actualizados = actualizados;
+    }
+}
@@ -0,0 +1,42 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto;
+
+import java.math.BigDecimal;
+
+public class SalesSummaryDto {
+    private String clave;
+    private long unidades;
+    private BigDecimal importe;
+
+    public SalesSummaryDto() {}
+
+    public SalesSummaryDto(String clave, long unidades, BigDecimal importe) {
+        this.clave = clave;
+        this.unidades = unidades;
+        this.importe = importe;
+    }
+
+    // Getters y Setters
+    public String getClave() {
+        return clave;
+    }
+
+    public void setClave(String clave) {
+        this.clave = clave;
+    }
+
+    public long getUnidades() {
+        return unidades;
+    }
+
+    public void setUnidades(long unidades) {
+        this.unidades = unidades;
+    }
+
+    public BigDecimal getImporte() {
+        return importe;
+    }
+
+    public void setImporte(BigDecimal importe) {
+        this.importe = importe;
+    }
+}
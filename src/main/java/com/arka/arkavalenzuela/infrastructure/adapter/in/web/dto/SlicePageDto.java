@@ -0,0 +1,42 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto;
+
+import java.util.List;
+
+public class SlicePageDto<T> {
+    private List<T> elementos;
+    private int pagina;
+    private boolean hayMas;
+
+    public SlicePageDto() {}
+
+    public SlicePageDto(List<T> elementos, int pagina, boolean hayMas) {
+        this.elementos = elementos;
+        this.pagina = pagina;
+        this.hayMas = hayMas;
+    }
+
+    // Getters y Setters
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    public void setElementos(List<T> elementos) {
+        this.elementos = elementos;
+    }
+
+    public int getPagina() {
+        return pagina;
+    }
+
+    public void setPagina(int pagina) {
+        this.pagina = pagina;
+    }
+
+    public boolean isHayMas() {
+        return hayMas;
+    }
+
+    public void setHayMas(boolean hayMas) {
+        this.hayMas = hayMas;
+    }
+}
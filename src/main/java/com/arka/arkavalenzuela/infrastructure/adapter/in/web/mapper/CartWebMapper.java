@@ -0,0 +1,44 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web.mapper;
+
+import com.arka.arkavalenzuela.domain.model.Cart;
+import com.arka.arkavalenzuela.domain.model.Customer;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.CartDto;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CartWebMapper {
+
+    public CartDto toDto(Cart domain) {
+        if (domain == null) {
+            return null;
+        }
+        
+        CartDto dto = new CartDto();
+        dto.setId(domain.getId());
+        dto.setClienteId(domain.getCliente() != null ? domain.getCliente().getId() : null);
+        dto.setFechaCreacion(domain.getFechaCreacion());
+        dto.setEstado(domain.getEstado());
+        
+        return dto;
+    }
+
+    public Cart toDomain(CartDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        
+        Cart cart = new Cart();
+        cart.setId(dto.getId());
+        
+        if (dto.getClienteId() != null) {
+            Customer customer = new Customer();
+            customer.setId(dto.getClienteId());
+            cart.setCliente(customer);
+        }
+        
+        cart.setFechaCreacion(dto.getFechaCreacion());
+        cart.setEstado(dto.getEstado());
+        
+        return cart;
+    }
+}
@@ -1,9 +1,14 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.in.web.mapper;
 
 import com.arka.arkavalenzuela.domain.model.Customer;
+import com.arka.arkavalenzuela.domain.model.FieldMask;
 import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.CustomerDto;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 public class CustomerWebMapper {
 
@@ -38,4 +43,14 @@ public class CustomerWebMapper {
         
         return customer;
     }
+
+    /**
+     * Mask of the fields present in a PATCH body; a field sent as null is in
+     * the mask and clears the column
+     */
+    public FieldMask toFieldMask(JsonNode body) {
+        List<String> campos = new ArrayList<>();
+        body.fieldNames().forEachRemaining(campos::add);
+        return new FieldMask(campos);
+    }
 }
@@ -0,0 +1,77 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web.mapper;
+
+import com.arka.arkavalenzuela.domain.model.Customer;
+import com.arka.arkavalenzuela.domain.model.Order;
+import com.arka.arkavalenzuela.domain.model.OrderLine;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.OrderDto;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.OrderLineDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Incoming orders carry customer id, product ids and quantities only;
+ * the use case prices the lines from the catalog
+ */
+@Component
+public class OrderWebMapper {
+
+    public OrderDto toDto(Order domain) {
+        if (domain == null) {
+            return null;
+        }
+        
+        OrderDto dto = new OrderDto();
+        dto.setId(domain.getId());
+        dto.setClienteId(domain.getCliente() != null ? domain.getCliente().getId() : null);
+        dto.setFecha(domain.getFecha());
+        dto.setTotal(domain.getTotal());
+        dto.setVersion(domain.getVersion());
+        
+        if (domain.getLineas() != null) {
+            dto.setLineas(domain.getLineas().stream()
+                    .map(this::toDto)
+                    .collect(Collectors.toList()));
+        }
+        
+        return dto;
+    }
+
+    public Order toDomain(OrderDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        
+        Order order = new Order();
+        order.setId(dto.getId());
+        order.setVersion(dto.getVersion());
+        
+        if (dto.getClienteId() != null) {
+            Customer customer = new Customer();
+            customer.setId(dto.getClienteId());
+            order.setCliente(customer);
+        }
+        
+        if (dto.getLineas() != null) {
+            List<OrderLine> lineas = new ArrayList<>();
+            for (OrderLineDto linea : dto.getLineas()) {
+                int cantidad = linea.getCantidad() != null ? linea.getCantidad() : 1;
+                lineas.add(new OrderLine(linea.getProductoId(), cantidad, null));
+            }
+            order.setLineas(lineas);
+        }
+        
+        return order;
+    }
+
+    private OrderLineDto toDto(OrderLine linea) {
+        OrderLineDto dto = new OrderLineDto();
+        dto.setProductoId(linea.getProductoId());
+        dto.setCantidad(linea.getCantidad());
+        dto.setPrecioUnitario(linea.getPrecioUnitario());
+        dto.setSubtotal(linea.getSubtotal());
+        return dto;
+    }
+}
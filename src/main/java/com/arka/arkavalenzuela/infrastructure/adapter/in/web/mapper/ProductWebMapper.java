@@ -2,9 +2,14 @@ package com.arka.arkavalenzuela.infrastructure.adapter.in.web.mapper;
 
 import com.arka.arkavalenzuela.domain.model.Product;
 import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.model.FieldMask;
 import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.ProductDto;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 public class ProductWebMapper {
 
@@ -21,6 +26,7 @@ public class ProductWebMapper {
         dto.setMarca(domain.getMarca());
         dto.setPrecioUnitario(domain.getPrecioUnitario());
         dto.setStock(domain.getStock());
+        dto.setVersion(domain.getVersion());
         
         return dto;
     }
@@ -44,7 +50,18 @@ public class ProductWebMapper {
         product.setMarca(dto.getMarca());
         product.setPrecioUnitario(dto.getPrecioUnitario());
         product.setStock(dto.getStock());
+        product.setVersion(dto.getVersion());
         
         return product;
     }
+
+    /**
+     * Mask of the fields present in a PATCH body, named as in the domain;
+     * a field sent as null is in the mask and clears the column
+     */
+    public FieldMask toFieldMask(JsonNode body) {
+        List<String> campos = new ArrayList<>();
+        body.fieldNames().forEachRemaining(campo -> campos.add("categoriaId".equals(campo) ? "categoria" : campo));
+        return new FieldMask(campos);
+    }
 }
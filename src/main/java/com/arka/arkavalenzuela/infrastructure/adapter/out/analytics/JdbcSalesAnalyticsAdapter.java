@@ -0,0 +1,109 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.analytics;
+
+import com.arka.arkavalenzuela.domain.model.SalesBucket;
+import com.arka.arkavalenzuela.domain.model.SalesSummary;
+import com.arka.arkavalenzuela.domain.port.out.SalesAnalyticsPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Daily sales buckets in the ventas_diarias table
+ * Buckets are added with an upsert, so concurrent orders touching the same day and product
+ * only contend on that row; they are written in key order so two orders never lock the
+ * same rows in opposite order.
+ */
+@Component
+public class JdbcSalesAnalyticsAdapter implements SalesAnalyticsPort {
+
+    private static final String UPSERT_SQL = "INSERT INTO ventas_diarias "
+            + "(dia, producto_id, pais, ciudad, categoria_id, unidades, importe) VALUES (?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE unidades = unidades + VALUES(unidades), importe = importe + VALUES(importe)";
+
+    private static final String REBUILD_SQL = "INSERT INTO ventas_diarias "
+            + "(dia, producto_id, pais, ciudad, categoria_id, unidades, importe) "
+            + "SELECT CAST(p.fecha AS DATE), l.producto_id, COALESCE(p.cliente_pais, ''), "
+            + "COALESCE(p.cliente_ciudad, ''), COALESCE(l.categoria_id, 0), "
+            + "SUM(l.cantidad), SUM(l.cantidad * l.precio_unitario) "
+            + "FROM pedidos p "
+            + "JOIN pedido_lineas l ON l.pedido_id = p.pedido_id "
+            + "WHERE p.fecha IS NOT NULL "
+            + "GROUP BY CAST(p.fecha AS DATE), l.producto_id, COALESCE(p.cliente_pais, ''), "
+            + "COALESCE(p.cliente_ciudad, ''), COALESCE(l.categoria_id, 0)";
+
+    /**
+     * Grouping dimensions and their column; only these names ever reach the SQL
+     * Products without a category are stored under category 0, which is reported as null.
+     */
+    private static final Map<String, String> DIMENSIONS = Map.of(
+            "dia", "dia",
+            "categoria", "NULLIF(categoria_id, 0)",
+            "producto", "producto_id",
+            "pais", "pais",
+            "ciudad", "ciudad");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcSalesAnalyticsAdapter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void record(List<SalesBucket> buckets) {
+        Map<String, SalesBucket> merged = new TreeMap<>();
+        for (SalesBucket bucket : buckets) {
+            merged.merge(bucket.key(), bucket, SalesBucket::plus);
+        }
+        List<SalesBucket> changes = new ArrayList<>();
+        for (SalesBucket bucket : merged.values()) {
+            if (!bucket.isEmpty()) {
+                changes.add(bucket);
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, changes, changes.size(), (statement, bucket) -> {
+            statement.setDate(1, Date.valueOf(bucket.getDia()));
+            statement.setLong(2, bucket.getProductoId());
+            statement.setString(3, bucket.getPais());
+            statement.setString(4, bucket.getCiudad());
+            statement.setLong(5, bucket.getCategoriaId() != null ? bucket.getCategoriaId() : 0L);
+            statement.setLong(6, bucket.getUnidades());
+            statement.setBigDecimal(7, bucket.getImporte());
+        });
+    }
+
+    @Override
+    public List<SalesSummary> summarize(LocalDate desde, LocalDate hasta, String dimension) {
+        String column = DIMENSIONS.get(dimension);
+        if (column == null) {
+            throw new IllegalArgumentException("Cannot group sales by: " + dimension);
+        }
+        String sql = "SELECT " + column + " AS clave, SUM(unidades) AS unidades, SUM(importe) AS importe "
+                + "FROM ventas_diarias WHERE dia BETWEEN ? AND ? "
+                + "GROUP BY " + column + " HAVING SUM(unidades) <> 0 OR SUM(importe) <> 0 ORDER BY " + column;
+        return jdbcTemplate.query(sql, (result, row) -> new SalesSummary(result.getString("clave"),
+                        result.getLong("unidades"), result.getBigDecimal("importe")),
+                Date.valueOf(desde), Date.valueOf(hasta));
+    }
+
+    /**
+     * Recomputes every bucket from the orders, in case the incremental updates
+     * ever missed an order write
+     */
+    @Override
+    @Transactional
+    public void rebuild() {
+        jdbcTemplate.update("DELETE FROM ventas_diarias");
+        jdbcTemplate.update(REBUILD_SQL);
+    }
+}
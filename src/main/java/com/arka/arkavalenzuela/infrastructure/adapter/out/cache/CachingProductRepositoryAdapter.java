@@ -0,0 +1,242 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.cache;
+
+import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.model.FieldMask;
+import com.arka.arkavalenzuela.domain.model.PageQuery;
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.model.SlicePage;
+import com.arka.arkavalenzuela.domain.port.out.ProductRepositoryPort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-process cache in front of ProductRepositoryPort
+ * Keeps products by id and listings by category name with size-bounded W-TinyLFU eviction;
+ * every write invalidates the affected entries, and again when its transaction ends.
+ * Products are copied in and out because the domain model is mutable.
+ */
+public class CachingProductRepositoryAdapter implements ProductRepositoryPort {
+
+    private final ProductRepositoryPort delegate;
+    private final Cache<Long, Product> productsById;
+    private final Cache<String, List<Product>> productsByCategory;
+
+    public CachingProductRepositoryAdapter(ProductRepositoryPort delegate, long maximumSize,
+                                           long categoryMaximumSize, Duration expireAfterWrite) {
+        this.delegate = delegate;
+        this.productsById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.productsByCategory = Caffeine.newBuilder()
+                .maximumSize(categoryMaximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Optional<Product> findById(Long id) {
+        Product cached = productsById.get(id, key -> delegate.findById(key).map(this::copyOf).orElse(null));
+        return Optional.ofNullable(cached).map(this::copyOf);
+    }
+
+    @Override
+    public Product save(Product product) {
+        Product saved = delegate.save(product);
+        invalidate(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        invalidate(id);
+    }
+
+    @Override
+    public int updateIfExists(Product product) {
+        int updated = delegate.updateIfExists(product);
+        if (updated > 0) {
+            invalidate(product.getId());
+        }
+        return updated;
+    }
+
+    @Override
+    public int deleteIfExists(Long id) {
+        int deleted = delegate.deleteIfExists(id);
+        if (deleted > 0) {
+            invalidate(id);
+        }
+        return deleted;
+    }
+
+    @Override
+    public int updateFields(Long id, Product changes, FieldMask mask) {
+        int updated = delegate.updateFields(id, changes, mask);
+        if (updated > 0) {
+            invalidate(id);
+        }
+        return updated;
+    }
+
+    @Override
+    public int updatePrices(Map<Long, BigDecimal> prices) {
+        int updated = delegate.updatePrices(prices);
+        invalidate(List.copyOf(prices.keySet()));
+        return updated;
+    }
+
+    @Override
+    public List<Product> findByCategoriaNombre(String categoriaNombre) {
+        List<Product> cached = productsByCategory.get(categoriaNombre,
+                key -> copyAll(delegate.findByCategoriaNombre(key)));
+        return copyAll(cached);
+    }
+
+    @Override
+    public List<Product> findByPriceRange(BigDecimal min, BigDecimal max) {
+        return delegate.findByPriceRange(min, max);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return productsById.getIfPresent(id) != null || delegate.existsById(id);
+    }
+
+    @Override
+    public List<Product> findPageAfter(Long afterId, int limit) {
+        return delegate.findPageAfter(afterId, limit);
+    }
+
+    @Override
+    public SlicePage<Product> findSorted(PageQuery query) {
+        return delegate.findSorted(query);
+    }
+
+    @Override
+    public void streamAll(Consumer<Product> consumer) {
+        delegate.streamAll(consumer);
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<Long> ids) {
+        Map<Long, Product> cached = productsById.getAll(ids, missing -> delegate.findAllById(List.copyOf(missing)).stream()
+                .collect(Collectors.toMap(Product::getId, this::copyOf)));
+        return copyAll(List.copyOf(cached.values()));
+    }
+
+    @Override
+    public boolean decrementStock(Long id, int quantity) {
+        boolean decremented = delegate.decrementStock(id, quantity);
+        if (decremented) {
+            invalidate(id);
+        }
+        return decremented;
+    }
+
+    @Override
+    public void incrementStock(Long id, int quantity) {
+        delegate.incrementStock(id, quantity);
+        invalidate(id);
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        List<Product> saved = delegate.saveAll(products);
+        invalidate(List.of());
+        return saved;
+    }
+
+    /**
+     * Cached products carry their category's name and are listed under it, so a
+     * category write drops every product of that category and every listing
+     */
+    public void categoryChanged(Long categoryId) {
+        productsById.asMap().values().removeIf(product -> product.getCategoria() != null
+                && categoryId.equals(product.getCategoria().getId()));
+        productsByCategory.invalidateAll();
+    }
+
+    /**
+     * Hit, miss and eviction counters per region, for monitoring
+     */
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("productos", productsById.stats());
+        stats.put("productosPorCategoria", productsByCategory.stats());
+        return stats;
+    }
+
+    public Map<String, Long> sizes() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        sizes.put("productos", productsById.estimatedSize());
+        sizes.put("productosPorCategoria", productsByCategory.estimatedSize());
+        return sizes;
+    }
+
+    private void invalidate(Long id) {
+        invalidate(List.of(id));
+    }
+
+    /**
+     * Evicts now and, inside a transaction, again once it ends: a read in between
+     * still sees the old row and would otherwise cache it until it expires
+     */
+    private void invalidate(Collection<Long> ids) {
+        evict(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(ids);
+                }
+            });
+        }
+    }
+
+    /**
+     * A product may move between categories, so any write drops every
+     * category listing (there are few of them and they are cheap to reload)
+     */
+    private void evict(Collection<Long> ids) {
+        productsById.invalidateAll(ids);
+        productsByCategory.invalidateAll();
+    }
+
+    private List<Product> copyAll(List<Product> products) {
+        return products.stream()
+                .map(this::copyOf)
+                .collect(Collectors.toList());
+    }
+
+    private Product copyOf(Product product) {
+        Category categoria = product.getCategoria() != null
+                ? new Category(product.getCategoria().getId(), product.getCategoria().getNombre())
+                : null;
+        Product copy = new Product(product.getId(), product.getNombre(), product.getDescripcion(), categoria,
+                product.getMarca(), product.getPrecioUnitario(), product.getStock());
+        copy.setVersion(product.getVersion());
+        return copy;
+    }
+}
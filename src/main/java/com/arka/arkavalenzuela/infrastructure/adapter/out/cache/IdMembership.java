@@ -0,0 +1,233 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ids of one aggregate known to exist, so existence checks for ids that were never
+ * created (or were deleted) are answered without the database
+ * IDENTITY ids are dense, so ids below the dense limit are kept in a bitmap split into
+ * 64 Ki-id pages allocated on first use; any other id goes to a Bloom filter, which
+ * cannot forget a deleted id and may say "maybe" for one never added.
+ * Only "absent" is an answer: "maybe" means ask the database. An id missing from the
+ * known ids is still "maybe" until the database confirms it missing (see confirm); the
+ * confirmation is remembered for the absent TTL, so only repeated lookups of an id are
+ * answered from memory and a row inserted elsewhere is found on its first lookup.
+ * Before the ids are loaded every id is "maybe". An id is added as soon as its row is
+ * written and removed only once its delete has committed, and reloading adds the ids
+ * found without clearing the ones already known.
+ */
+public final class IdMembership {
+
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+    private static final int BLOOM_HASHES = 7;
+    private static final long ABSENT_MAXIMUM_SIZE = 100_000;
+
+    private final long denseLimit;
+    private final int bloomBits;
+    private final AtomicReferenceArray<AtomicLongArray> pages;
+    private final Cache<Long, Boolean> confirmedAbsent;
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder absent = new LongAdder();
+    private volatile AtomicLongArray bloom;
+    private volatile boolean loaded;
+
+    public IdMembership(long denseLimit, int bloomBits, Duration absentTtl) {
+        this.denseLimit = denseLimit;
+        this.bloomBits = bloomBits;
+        this.pages = new AtomicReferenceArray<>((int) ((denseLimit + PAGE_MASK) >>> PAGE_SHIFT));
+        this.confirmedAbsent = Caffeine.newBuilder()
+                .expireAfterWrite(absentTtl)
+                .maximumSize(ABSENT_MAXIMUM_SIZE)
+                .build();
+    }
+
+    /**
+     * False only when the id is not among the known ids and the database has confirmed
+     * it missing within the absent TTL
+     */
+    public boolean mightContain(Long id) {
+        if (!loaded || id == null) {
+            return true;
+        }
+        checks.increment();
+        if (known(id) || confirmedAbsent.getIfPresent(id) == null) {
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    /**
+     * Records what the database answered for the id and returns it: a row found becomes
+     * a known id, a missing one is remembered as absent unless it is known (added by a
+     * write that raced the lookup, or deleted elsewhere, which only costs a query)
+     */
+    public boolean confirm(Long id, boolean exists) {
+        if (id == null) {
+            return exists;
+        }
+        if (exists) {
+            add(id);
+        } else {
+            rememberAbsent(id);
+        }
+        return exists;
+    }
+
+    public void add(Long id) {
+        if (id == null) {
+            return;
+        }
+        confirmedAbsent.invalidate(id);
+        if (isDense(id)) {
+            page(id).getAndUpdate(word(id), bits -> bits | bit(id));
+        } else {
+            bloomAdd(id);
+        }
+    }
+
+    /**
+     * Forgets the id once the surrounding transaction commits (right away outside one)
+     */
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forget(id);
+                }
+            });
+        } else {
+            forget(id);
+        }
+    }
+
+    public void markLoaded() {
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public long getChecks() {
+        return checks.sum();
+    }
+
+    public long getAbsent() {
+        return absent.sum();
+    }
+
+    /**
+     * A Bloom filter cannot drop an id, so a sparse id it holds stays "maybe"
+     */
+    private void forget(long id) {
+        if (isDense(id)) {
+            page(id).getAndUpdate(word(id), bits -> bits & ~bit(id));
+        }
+        rememberAbsent(id);
+    }
+
+    private void rememberAbsent(long id) {
+        if (!known(id)) {
+            confirmedAbsent.put(id, Boolean.TRUE);
+        }
+    }
+
+    private boolean known(long id) {
+        return isDense(id) ? denseContains(id) : bloomContains(id);
+    }
+
+    private boolean isDense(long id) {
+        return id > 0 && id < denseLimit;
+    }
+
+    private boolean denseContains(long id) {
+        AtomicLongArray page = pages.get((int) (id >>> PAGE_SHIFT));
+        return page != null && (page.get(word(id)) & bit(id)) != 0;
+    }
+
+    private AtomicLongArray page(long id) {
+        int index = (int) (id >>> PAGE_SHIFT);
+        AtomicLongArray page = pages.get(index);
+        if (page == null) {
+            pages.compareAndSet(index, null, new AtomicLongArray(1 << (PAGE_SHIFT - 6)));
+            page = pages.get(index);
+        }
+        return page;
+    }
+
+    private static int word(long id) {
+        return (int) (id & PAGE_MASK) >>> 6;
+    }
+
+    private static long bit(long id) {
+        return 1L << (id & 63);
+    }
+
+    private boolean bloomContains(long id) {
+        AtomicLongArray filter = bloom;
+        if (filter == null) {
+            return false;
+        }
+        long hash = mix(id);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int position = bloomPosition(hash, i);
+            if ((filter.get(position >>> 6) & (1L << position)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void bloomAdd(long id) {
+        AtomicLongArray filter = bloomFilter();
+        long hash = mix(id);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int position = bloomPosition(hash, i);
+            filter.getAndUpdate(position >>> 6, bits -> bits | (1L << position));
+        }
+    }
+
+    private AtomicLongArray bloomFilter() {
+        AtomicLongArray filter = bloom;
+        if (filter == null) {
+            synchronized (this) {
+                filter = bloom;
+                if (filter == null) {
+                    filter = new AtomicLongArray((bloomBits + 63) >>> 6);
+                    bloom = filter;
+                }
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * Double hashing: the i-th position is h1 + i * h2, both halves of one mixed hash
+     */
+    private int bloomPosition(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return Math.floorMod(h1 + i * h2, bloomBits);
+    }
+
+    private static long mix(long id) {
+        long z = id + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
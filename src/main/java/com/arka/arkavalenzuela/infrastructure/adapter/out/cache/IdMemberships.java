@@ -0,0 +1,85 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * One IdMembership per aggregate, registered by its persistence adapter together with
+ * the way to list the ids that already exist
+ * Writes made through this instance are seen right away; rows inserted by other instances
+ * or straight into the database are found by the database check a first lookup makes, and
+ * by the next reload.
+ */
+@Component
+public class IdMemberships {
+
+    private static final int LOAD_FETCH_SIZE = 10_000;
+
+    private final long denseLimit;
+    private final int bloomBits;
+    private final Duration absentTtl;
+    private final Map<String, IdMembership> memberships = new ConcurrentHashMap<>();
+    private final Map<String, Consumer<LongConsumer>> loaders = new ConcurrentHashMap<>();
+
+    public IdMemberships(@Value("${arka.ids.dense-limit:16777216}") long denseLimit,
+                         @Value("${arka.ids.bloom-bits:1048576}") int bloomBits,
+                         @Value("${arka.ids.absent-ttl:PT30S}") Duration absentTtl) {
+        this.denseLimit = denseLimit;
+        this.bloomBits = bloomBits;
+        this.absentTtl = absentTtl;
+    }
+
+    public IdMembership register(String aggregate, Consumer<LongConsumer> existingIds) {
+        loaders.put(aggregate, existingIds);
+        return memberships.computeIfAbsent(aggregate, key -> new IdMembership(denseLimit, bloomBits, absentTtl));
+    }
+
+    /**
+     * Reads the existing ids of every aggregate not loaded yet; until then its checks go to the database
+     */
+    public void loadAll() {
+        loaders.forEach((aggregate, existingIds) -> {
+            IdMembership membership = memberships.get(aggregate);
+            if (!membership.isLoaded()) {
+                existingIds.accept(membership::add);
+                membership.markLoaded();
+            }
+        });
+    }
+
+    /**
+     * Reads the ids of every aggregate again and adds them to the live memberships, so ids
+     * written meanwhile are kept; ids deleted elsewhere stay "maybe", which only costs a query
+     */
+    public void reloadAll() {
+        loaders.forEach((aggregate, existingIds) -> {
+            IdMembership membership = memberships.get(aggregate);
+            existingIds.accept(membership::add);
+            membership.markLoaded();
+        });
+    }
+
+    public Map<String, IdMembership> memberships() {
+        return Map.copyOf(memberships);
+    }
+
+    /**
+     * Existing ids read with a single-column query, streamed through a cursor
+     */
+    public static Consumer<LongConsumer> query(JdbcTemplate jdbcTemplate, String sql) {
+        return ids -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(LOAD_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) row -> ids.accept(row.getLong(1)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.cache;
+
+import com.arka.arkavalenzuela.domain.model.CatalogVersion;
+import com.arka.arkavalenzuela.domain.port.out.CatalogVersionPort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Catalog version kept in memory and bumped by the persistence adapters on every
+ * product or category write; for a single instance and tests, the application uses the
+ * shared CatalogVersionPersistenceAdapter
+ * It starts at the startup time in milliseconds, so versions handed out before a
+ * restart are not reused after it. Inside a transaction the version is bumped again
+ * once it ends: a read between the write and the commit may have tagged old data
+ * with the first bump.
+ * Like the product cache, it only sees the writes made through this instance.
+ */
+public class InMemoryCatalogVersion implements CatalogVersionPort {
+
+    private final Clock clock;
+    private final AtomicReference<CatalogVersion> current;
+
+    public InMemoryCatalogVersion() {
+        this(Clock.systemUTC());
+    }
+
+    InMemoryCatalogVersion(Clock clock) {
+        this.clock = clock;
+        this.current = new AtomicReference<>(new CatalogVersion(clock.millis(), clock.instant()));
+    }
+
+    @Override
+    public CatalogVersion current() {
+        return current.get();
+    }
+
+    @Override
+    public void changed() {
+        bump();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump();
+                }
+            });
+        }
+    }
+
+    private void bump() {
+        current.updateAndGet(version -> new CatalogVersion(version.getVersion() + 1, clock.instant()));
+    }
+}
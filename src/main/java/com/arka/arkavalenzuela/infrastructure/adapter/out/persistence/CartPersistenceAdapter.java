@@ -2,11 +2,17 @@ package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence;
 
 import com.arka.arkavalenzuela.domain.model.Cart;
 import com.arka.arkavalenzuela.domain.port.out.CartRepositoryPort;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMembership;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMemberships;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CartEntity;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.CartMapper;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.CartJpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -14,12 +20,17 @@ import java.util.stream.Collectors;
 @Component
 public class CartPersistenceAdapter implements CartRepositoryPort {
 
+    private static final String IDS_SQL = "SELECT carrito_id FROM carritos";
+
     private final CartJpaRepository repository;
     private final CartMapper mapper;
+    private final IdMembership ids;
 
-    public CartPersistenceAdapter(CartJpaRepository repository, CartMapper mapper) {
+    public CartPersistenceAdapter(CartJpaRepository repository, CartMapper mapper, JdbcTemplate jdbcTemplate,
+                                  IdMemberships idMemberships) {
         this.repository = repository;
         this.mapper = mapper;
+        this.ids = idMemberships.register("carritos", IdMemberships.query(jdbcTemplate, IDS_SQL));
     }
 
     @Override
@@ -39,12 +50,45 @@ public class CartPersistenceAdapter implements CartRepositoryPort {
     public Cart save(Cart cart) {
         CartEntity entity = mapper.toEntity(cart);
         CartEntity savedEntity = repository.save(entity);
+        ids.add(savedEntity.getCarritoId());
         return mapper.toDomain(savedEntity);
     }
 
     @Override
     public void deleteById(Long id) {
         repository.deleteById(id);
+        ids.remove(id);
+    }
+
+    /**
+     * One UPDATE whose row count doubles as the existence check
+     */
+    @Override
+    @Transactional
+    public int updateIfExists(Cart cart) {
+        if (!ids.mightContain(cart.getId())) {
+            return 0;
+        }
+        CartEntity entity = mapper.toEntity(cart);
+        int updated = repository.updateFields(entity.getCarritoId(), entity.getCliente(), entity.getFechaCreacion(),
+                entity.getEstado());
+        ids.confirm(cart.getId(), updated > 0);
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int deleteIfExists(Long id) {
+        if (!ids.mightContain(id)) {
+            return 0;
+        }
+        int deleted = repository.deleteByIdReturningCount(id);
+        if (deleted > 0) {
+            ids.remove(id);
+        } else {
+            ids.confirm(id, false);
+        }
+        return deleted;
     }
 
     @Override
@@ -56,6 +100,21 @@ public class CartPersistenceAdapter implements CartRepositoryPort {
 
     @Override
     public boolean existsById(Long id) {
-        return repository.existsById(id);
+        return ids.mightContain(id) && ids.confirm(id, repository.existsById(id));
+    }
+
+    /**
+     * Moves up to limit carts in one short transaction: the ids come from an index range
+     * read and the UPDATE touches those primary keys only, so the rows locked are just
+     * the ones changed and no other cart write waits on the sweep
+     */
+    @Override
+    @Transactional
+    public int updateEstadoCreatedBefore(String estado, String nuevoEstado, LocalDateTime before, int limit) {
+        List<Long> ids = repository.findIdsByEstadoCreatedBefore(estado, before, Limit.of(limit));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return repository.updateEstado(ids, estado, nuevoEstado);
     }
 }
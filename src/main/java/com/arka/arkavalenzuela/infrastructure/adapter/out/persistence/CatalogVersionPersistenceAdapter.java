@@ -0,0 +1,77 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence;
+
+import com.arka.arkavalenzuela.domain.model.CatalogVersion;
+import com.arka.arkavalenzuela.domain.port.out.CatalogVersionPort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Catalog version in the catalogo_version row, shared by every instance
+ * Writers bump it in their own transaction, so the new version becomes visible together
+ * with the data it describes; concurrent catalog writes queue on that row until they commit.
+ * Reads are served from the last value read for up to max-age, so another instance's write
+ * shows up within that time; this instance's writes drop the value at once and again once
+ * their transaction ends, in case a read in between cached the old row.
+ */
+@Component
+public class CatalogVersionPersistenceAdapter implements CatalogVersionPort {
+
+    private static final String SELECT_SQL = "SELECT version, modificado_en FROM catalogo_version WHERE id = 1";
+    private static final String BUMP_SQL =
+            "UPDATE catalogo_version SET version = version + 1, modificado_en = ? WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final long maxAgeNanos;
+    private volatile ReadVersion last;
+
+    @Autowired
+    public CatalogVersionPersistenceAdapter(JdbcTemplate jdbcTemplate,
+                                            @Value("${arka.cache.catalogo-version.max-age:PT1S}") Duration maxAge) {
+        this(jdbcTemplate, maxAge, Clock.systemUTC());
+    }
+
+    CatalogVersionPersistenceAdapter(JdbcTemplate jdbcTemplate, Duration maxAge, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    @Override
+    public CatalogVersion current() {
+        long now = System.nanoTime();
+        ReadVersion read = last;
+        if (read != null && now - read.readAt() < maxAgeNanos) {
+            return read.version();
+        }
+        CatalogVersion version = jdbcTemplate.queryForObject(SELECT_SQL, (row, n) -> new CatalogVersion(
+                row.getLong("version"), row.getTimestamp("modificado_en").toInstant()));
+        last = new ReadVersion(version, now);
+        return version;
+    }
+
+    @Override
+    public void changed() {
+        jdbcTemplate.update(BUMP_SQL, Timestamp.from(clock.instant()));
+        last = null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    last = null;
+                }
+            });
+        }
+    }
+
+    private record ReadVersion(CatalogVersion version, long readAt) {
+    }
+}
@@ -1,25 +1,46 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence;
 
 import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.model.CursorPage;
+import com.arka.arkavalenzuela.domain.port.out.CatalogVersionPort;
 import com.arka.arkavalenzuela.domain.port.out.CategoryRepositoryPort;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMembership;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMemberships;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CategoryEntity;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.CategoryMapper;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.CategoryJpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component
 public class CategoryPersistenceAdapter implements CategoryRepositoryPort {
 
+    private static final String IDS_SQL = "SELECT categoria_id FROM categorias";
+
     private final CategoryJpaRepository repository;
     private final CategoryMapper mapper;
+    private final CatalogVersionPort catalogVersion;
+    private final IdMembership ids;
+    private final List<Consumer<Long>> changeListeners = new CopyOnWriteArrayList<>();
 
-    public CategoryPersistenceAdapter(CategoryJpaRepository repository, CategoryMapper mapper) {
+    public CategoryPersistenceAdapter(CategoryJpaRepository repository, CategoryMapper mapper,
+                                      CatalogVersionPort catalogVersion,
+                                      JdbcTemplate jdbcTemplate, IdMemberships idMemberships) {
         this.repository = repository;
         this.mapper = mapper;
+        this.catalogVersion = catalogVersion;
+        this.ids = idMemberships.register("categorias", IdMemberships.query(jdbcTemplate, IDS_SQL));
     }
 
     @Override
@@ -39,16 +60,97 @@ public class CategoryPersistenceAdapter implements CategoryRepositoryPort {
     public Category save(Category category) {
         CategoryEntity entity = mapper.toEntity(category);
         CategoryEntity savedEntity = repository.save(entity);
+        ids.add(savedEntity.getCategoriaId());
+        changed(savedEntity.getCategoriaId());
         return mapper.toDomain(savedEntity);
     }
 
     @Override
     public void deleteById(Long id) {
         repository.deleteById(id);
+        ids.remove(id);
+        changed(id);
+    }
+
+    @Override
+    @Transactional
+    public int updateIfExists(Category category) {
+        if (!ids.mightContain(category.getId())) {
+            return 0;
+        }
+        int updated = repository.updateNombre(category.getId(), category.getNombre());
+        if (updated > 0) {
+            changed(category.getId());
+        }
+        ids.confirm(category.getId(), updated > 0);
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int deleteIfExists(Long id) {
+        if (!ids.mightContain(id)) {
+            return 0;
+        }
+        int deleted = repository.deleteByIdReturningCount(id);
+        if (deleted > 0) {
+            ids.remove(id);
+            changed(id);
+        } else {
+            ids.confirm(id, false);
+        }
+        return deleted;
     }
 
+    /**
+     * Ids the database has just confirmed missing are turned away by the id membership
+     * without a query; the rest are looked up by id rather than counted, so the answer
+     * comes from the second-level cache
+     */
     @Override
     public boolean existsById(Long id) {
-        return repository.existsById(id);
+        return ids.mightContain(id) && ids.confirm(id, repository.findById(id).isPresent());
+    }
+
+    @Override
+    public List<Category> findPageAfter(Long afterId, int limit) {
+        return repository.findByCategoriaIdGreaterThanOrderByCategoriaIdAsc(afterId, Limit.of(limit)).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void streamAll(Consumer<Category> consumer) {
+        CursorPage.forEach(this::findPageAfter, Category::getId, consumer);
+    }
+
+    @Override
+    public Set<Long> findAllIds() {
+        return repository.findAllIds();
+    }
+
+    /**
+     * Called with the category id after every write, so caches holding products of
+     * that category can drop them; inside a transaction it is called again once it ends
+     */
+    public void addChangeListener(Consumer<Long> listener) {
+        changeListeners.add(listener);
+    }
+
+    private void changed(Long id) {
+        catalogVersion.changed();
+        notifyListeners(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    notifyListeners(id);
+                }
+            });
+        }
+    }
+
+    private void notifyListeners(Long id) {
+        changeListeners.forEach(listener -> listener.accept(id));
     }
 }
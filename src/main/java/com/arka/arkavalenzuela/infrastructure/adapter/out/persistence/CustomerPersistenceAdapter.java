@@ -1,25 +1,51 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence;
 
+import com.arka.arkavalenzuela.domain.model.CursorPage;
+import com.arka.arkavalenzuela.domain.model.FieldMask;
+import com.arka.arkavalenzuela.domain.model.PageQuery;
 import com.arka.arkavalenzuela.domain.model.Customer;
+import com.arka.arkavalenzuela.domain.model.SlicePage;
 import com.arka.arkavalenzuela.domain.port.out.CustomerRepositoryPort;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMembership;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMemberships;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CustomerEntity;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.CustomerMapper;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.CustomerJpaRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component
 public class CustomerPersistenceAdapter implements CustomerRepositoryPort {
 
+    private static final String IDS_SQL = "SELECT cliente_id FROM clientes";
+    private static final List<String> COLUMNS = List.of("nombre", "email", "telefono", "pais", "ciudad");
+
     private final CustomerJpaRepository repository;
     private final CustomerMapper mapper;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final IdMembership ids;
 
-    public CustomerPersistenceAdapter(CustomerJpaRepository repository, CustomerMapper mapper) {
+    public CustomerPersistenceAdapter(CustomerJpaRepository repository, CustomerMapper mapper,
+                                      EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                                      IdMemberships idMemberships) {
         this.repository = repository;
         this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ids = idMemberships.register("clientes", IdMemberships.query(jdbcTemplate, IDS_SQL));
     }
 
     @Override
@@ -39,12 +65,74 @@ public class CustomerPersistenceAdapter implements CustomerRepositoryPort {
     public Customer save(Customer customer) {
         CustomerEntity entity = mapper.toEntity(customer);
         CustomerEntity savedEntity = repository.save(entity);
+        ids.add(savedEntity.getClienteId());
         return mapper.toDomain(savedEntity);
     }
 
     @Override
     public void deleteById(Long id) {
         repository.deleteById(id);
+        ids.remove(id);
+    }
+
+    /**
+     * One UPDATE whose row count doubles as the existence check
+     */
+    @Override
+    @Transactional
+    public int updateIfExists(Customer customer) {
+        if (!ids.mightContain(customer.getId())) {
+            return 0;
+        }
+        int updated = repository.updateFields(customer.getId(), customer.getNombre(), customer.getEmail(),
+                customer.getTelefono(), customer.getPais(), customer.getCiudad());
+        ids.confirm(customer.getId(), updated > 0);
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int deleteIfExists(Long id) {
+        if (!ids.mightContain(id)) {
+            return 0;
+        }
+        int deleted = repository.deleteByIdReturningCount(id);
+        if (deleted > 0) {
+            ids.remove(id);
+        } else {
+            ids.confirm(id, false);
+        }
+        return deleted;
+    }
+
+    /**
+     * One UPDATE that sets only the masked columns, in a fixed order so each mask
+     * always produces the same statement (see ProductPersistenceAdapter.updateFields)
+     */
+    @Override
+    @Transactional
+    public int updateFields(Long id, Customer changes, FieldMask mask) {
+        if (!ids.mightContain(id)) {
+            return 0;
+        }
+        List<String> assignments = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        for (String column : COLUMNS) {
+            if (mask.contains(column)) {
+                assignments.add(column + " = ?");
+                values.add(valueOf(changes, column));
+            }
+        }
+        if (assignments.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        values.add(id);
+        int updated = jdbcTemplate.update("UPDATE clientes SET " + String.join(", ", assignments)
+                + " WHERE cliente_id = ?", values.toArray());
+        // Managed customers in this persistence context would otherwise keep the old values
+        entityManager.clear();
+        ids.confirm(id, updated > 0);
+        return updated;
     }
 
     @Override
@@ -56,6 +144,68 @@ public class CustomerPersistenceAdapter implements CustomerRepositoryPort {
 
     @Override
     public boolean existsById(Long id) {
-        return repository.existsById(id);
+        return ids.mightContain(id) && ids.confirm(id, repository.existsById(id));
+    }
+
+    @Override
+    public List<Customer> findPageAfter(Long afterId, int limit) {
+        return repository.findByClienteIdGreaterThanOrderByClienteIdAsc(afterId, Limit.of(limit)).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Sorted by the requested field and then by id, so rows with equal
+     * values keep a stable order across pages
+     */
+    @Override
+    public SlicePage<Customer> findSorted(PageQuery query) {
+        Sort.Direction direction = query.isAscendente() ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = "id".equals(query.getCampo())
+                ? Sort.by(direction, "clienteId")
+                : Sort.by(direction, query.getCampo()).and(Sort.by(direction, "clienteId"));
+        Slice<CustomerEntity> slice = repository.findAllBy(PageRequest.of(query.getPagina(), query.getTamano(), sort));
+        List<Customer> elementos = slice.getContent().stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+        return new SlicePage<>(elementos, query.getPagina(), slice.hasNext());
+    }
+
+    @Override
+    public void streamAll(Consumer<Customer> consumer) {
+        CursorPage.forEach(this::findPageAfter, Customer::getId, consumer);
+    }
+
+    /**
+     * Persists the customers in one transaction, batched by Hibernate
+     * (see ProductPersistenceAdapter.saveAll)
+     */
+    @Override
+    @Transactional
+    public List<Customer> saveAll(List<Customer> customers) {
+        List<CustomerEntity> entities = new ArrayList<>(customers.size());
+        for (Customer customer : customers) {
+            CustomerEntity entity = mapper.toEntity(customer);
+            entityManager.persist(entity);
+            entities.add(entity);
+        }
+        entityManager.flush();
+        List<Customer> saved = entities.stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+        saved.forEach(customer -> ids.add(customer.getId()));
+        entityManager.clear();
+        return saved;
+    }
+
+    private static Object valueOf(Customer changes, String campo) {
+        return switch (campo) {
+            case "nombre" -> changes.getNombre();
+            case "email" -> changes.getEmail();
+            case "telefono" -> changes.getTelefono();
+            case "pais" -> changes.getPais();
+            case "ciudad" -> changes.getCiudad();
+            default -> throw new IllegalArgumentException("Cannot update field: " + campo);
+        };
     }
 }
@@ -1,18 +1,21 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence;
 
+import com.arka.arkavalenzuela.domain.exception.VersionConflictException;
 import com.arka.arkavalenzuela.domain.model.Order;
 import com.arka.arkavalenzuela.domain.model.Product;
 import com.arka.arkavalenzuela.domain.model.Customer;
 import com.arka.arkavalenzuela.domain.port.out.OrderRepositoryPort;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.OrderEntity;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.OrderMapper;
-import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.ProductMapper;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.CustomerMapper;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.OrderJpaRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -21,14 +24,12 @@ public class OrderPersistenceAdapter implements OrderRepositoryPort {
 
     private final OrderJpaRepository repository;
     private final OrderMapper mapper;
-    private final ProductMapper productMapper;
     private final CustomerMapper customerMapper;
 
     public OrderPersistenceAdapter(OrderJpaRepository repository, OrderMapper mapper,
-                                   ProductMapper productMapper, CustomerMapper customerMapper) {
+                                   CustomerMapper customerMapper) {
         this.repository = repository;
         this.mapper = mapper;
-        this.productMapper = productMapper;
         this.customerMapper = customerMapper;
     }
 
@@ -48,18 +49,50 @@ public class OrderPersistenceAdapter implements OrderRepositoryPort {
     @Override
     public Order save(Order order) {
         OrderEntity entity = mapper.toEntity(order);
-        OrderEntity savedEntity = repository.save(entity);
-        return mapper.toDomain(savedEntity);
+        try {
+            // Flushed here so a stale version surfaces from this port, not from a later commit
+            OrderEntity savedEntity = repository.saveAndFlush(entity);
+            return mapper.toDomain(savedEntity);
+        } catch (OptimisticLockingFailureException e) {
+            throw new VersionConflictException("Order", order.getId(), e);
+        }
     }
 
+    /**
+     * Every order of the group is written in one transaction, so a burst of checkouts
+     * pays a single commit instead of one per order
+     */
     @Override
-    public void deleteById(Long id) {
-        repository.deleteById(id);
+    @Transactional
+    public List<Order> saveAll(List<Order> orders) {
+        List<OrderEntity> entities = orders.stream()
+                .map(mapper::toEntity)
+                .collect(Collectors.toList());
+        return repository.saveAll(entities).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The row is removed through the entity, so Hibernate deletes it
+     * WHERE pedido_id = ? AND version = ? and a concurrent write fails the flush
+     */
+    @Override
+    public void delete(Order order) {
+        OrderEntity stored = repository.findById(order.getId())
+                .filter(entity -> Objects.equals(entity.getVersion(), order.getVersion()))
+                .orElseThrow(() -> new VersionConflictException("Order", order.getId()));
+        try {
+            repository.delete(stored);
+            repository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new VersionConflictException("Order", order.getId(), e);
+        }
     }
 
     @Override
     public List<Order> findByProductosContaining(Product product) {
-        return repository.findByProductosContaining(productMapper.toEntity(product)).stream()
+        return repository.findByProductoId(product.getId()).stream()
                 .map(mapper::toDomain)
                 .collect(Collectors.toList());
     }
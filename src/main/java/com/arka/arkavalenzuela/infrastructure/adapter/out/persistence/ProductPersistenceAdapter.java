@@ -1,26 +1,77 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence;
 
+import com.arka.arkavalenzuela.domain.exception.VersionConflictException;
+import com.arka.arkavalenzuela.domain.model.CursorPage;
+import com.arka.arkavalenzuela.domain.model.FieldMask;
+import com.arka.arkavalenzuela.domain.model.PageQuery;
 import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.model.SlicePage;
+import com.arka.arkavalenzuela.domain.port.out.CatalogVersionPort;
 import com.arka.arkavalenzuela.domain.port.out.ProductRepositoryPort;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMembership;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMemberships;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CategoryEntity;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.ProductEntity;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.ProductMapper;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.ProductJpaRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component
 public class ProductPersistenceAdapter implements ProductRepositoryPort {
 
+    // Every JDBC write bumps the version too, so it conflicts with writes made on an older read
+    private static final String DECREMENT_STOCK_SQL = "UPDATE productos SET stock = stock - ?, version = version + 1 "
+            + "WHERE producto_id = ? AND stock >= ?";
+    private static final String INCREMENT_STOCK_SQL =
+            "UPDATE productos SET stock = stock + ?, version = version + 1 WHERE producto_id = ?";
+    private static final String UPDATE_SQL = "UPDATE productos SET nombre = ?, descripcion = ?, categoria_id = ?, "
+            + "marca = ?, precio_unitario = ?, stock = ?, version = version + 1 WHERE producto_id = ?";
+    private static final String VERSION_CONDITION = " AND version = ?";
+    private static final String EXISTS_SQL = "SELECT COUNT(*) FROM productos WHERE producto_id = ?";
+    private static final String DELETE_SQL = "DELETE FROM productos WHERE producto_id = ?";
+    private static final Map<String, String> COLUMNS = columns();
+    private static final int REPRICE_CHUNK_SIZE = 1000;
+    private static final String IDS_SQL = "SELECT producto_id FROM productos";
+
     private final ProductJpaRepository repository;
     private final ProductMapper mapper;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogVersionPort catalogVersion;
+    private final IdMembership ids;
 
-    public ProductPersistenceAdapter(ProductJpaRepository repository, ProductMapper mapper) {
+    public ProductPersistenceAdapter(ProductJpaRepository repository, ProductMapper mapper,
+                                     EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                                     CatalogVersionPort catalogVersion, IdMemberships idMemberships) {
         this.repository = repository;
         this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogVersion = catalogVersion;
+        this.ids = idMemberships.register("productos", IdMemberships.query(jdbcTemplate, IDS_SQL));
     }
 
     @Override
@@ -39,25 +90,125 @@ public class ProductPersistenceAdapter implements ProductRepositoryPort {
     @Override
     public Product save(Product product) {
         ProductEntity entity = mapper.toEntity(product);
-        ProductEntity savedEntity = repository.save(entity);
+        ProductEntity savedEntity;
+        try {
+            // Flushed here so a stale version surfaces from this port, not from a later commit
+            savedEntity = repository.saveAndFlush(entity);
+        } catch (OptimisticLockingFailureException e) {
+            throw new VersionConflictException("Product", product.getId(), e);
+        }
+        ids.add(savedEntity.getProductoId());
+        catalogVersion.changed();
         return mapper.toDomain(savedEntity);
     }
 
     @Override
     public void deleteById(Long id) {
         repository.deleteById(id);
+        ids.remove(id);
+        catalogVersion.changed();
     }
 
+    /**
+     * Replaces the row in one UPDATE whose row count doubles as the existence check;
+     * with plain JDBC, like the stock updates, so only this product leaves the cache.
+     * A product that carries a version is only written if the row still has it.
+     */
     @Override
-    public List<Product> findByCategoriaNombre(String categoriaNombre) {
-        return repository.findByCategoriaNombre(categoriaNombre).stream()
-                .map(mapper::toDomain)
+    @Transactional
+    public int updateIfExists(Product product) {
+        if (!ids.mightContain(product.getId())) {
+            return 0;
+        }
+        List<Object> values = new ArrayList<>(Arrays.asList(product.getNombre(), product.getDescripcion(),
+                product.getCategoria() != null ? product.getCategoria().getId() : null, product.getMarca(),
+                product.getPrecioUnitario(), product.getStock()));
+        int updated = updateVersioned(UPDATE_SQL, values, product.getId(), product.getVersion());
+        if (updated > 0 && product.getVersion() != null) {
+            product.setVersion(product.getVersion() + 1);
+        }
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int deleteIfExists(Long id) {
+        if (!ids.mightContain(id)) {
+            return 0;
+        }
+        int deleted = jdbcTemplate.update(DELETE_SQL, id);
+        if (deleted > 0) {
+            ids.remove(id);
+            productChanged(id);
+        } else {
+            ids.confirm(id, false);
+        }
+        return deleted;
+    }
+
+    /**
+     * One UPDATE that sets only the masked columns (in a fixed order, so each
+     * mask always produces the same statement); the category is never read
+     */
+    @Override
+    @Transactional
+    public int updateFields(Long id, Product changes, FieldMask mask) {
+        if (!ids.mightContain(id)) {
+            return 0;
+        }
+        List<String> assignments = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        COLUMNS.forEach((campo, column) -> {
+            if (mask.contains(campo)) {
+                assignments.add(column + " = ?");
+                values.add(valueOf(changes, campo));
+            }
+        });
+        if (assignments.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        assignments.add("version = version + 1");
+        return updateVersioned("UPDATE productos SET " + String.join(", ", assignments) + " WHERE producto_id = ?",
+                values, id, changes.getVersion());
+    }
+
+    /**
+     * Sets every price with one UPDATE ... CASE statement per chunk of ids
+     * instead of one statement per product; ids the membership knows are absent
+     * are left out before the statement is built
+     */
+    @Override
+    @Transactional
+    public int updatePrices(Map<Long, BigDecimal> prices) {
+        List<Long> known = prices.keySet().stream()
+                .filter(ids::mightContain)
                 .collect(Collectors.toList());
+        int updated = 0;
+        for (int from = 0; from < known.size(); from += REPRICE_CHUNK_SIZE) {
+            List<Long> chunk = known.subList(from, Math.min(from + REPRICE_CHUNK_SIZE, known.size()));
+            StringBuilder sql = new StringBuilder("UPDATE productos SET version = version + 1, "
+                    + "precio_unitario = CASE producto_id");
+            List<Object> values = new ArrayList<>(chunk.size() * 3);
+            for (Long id : chunk) {
+                sql.append(" WHEN ? THEN CAST(? AS DECIMAL(12, 2))");
+                values.add(id);
+                values.add(prices.get(id));
+            }
+            sql.append(" END WHERE producto_id IN (")
+                    .append(String.join(", ", Collections.nCopies(chunk.size(), "?")))
+                    .append(')');
+            values.addAll(chunk);
+            updated += jdbcTemplate.update(sql.toString(), values.toArray());
+        }
+        if (updated > 0) {
+            productsChanged(known);
+        }
+        return updated;
     }
 
     @Override
-    public List<Product> findByNombreContainingIgnoreCase(String nombre) {
-        return repository.findByNombreContainingIgnoreCase(nombre).stream()
+    public List<Product> findByCategoriaNombre(String categoriaNombre) {
+        return repository.findByCategoriaNombre(categoriaNombre).stream()
                 .map(mapper::toDomain)
                 .collect(Collectors.toList());
     }
@@ -69,8 +220,183 @@ public class ProductPersistenceAdapter implements ProductRepositoryPort {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Ids the database has just confirmed missing are turned away by the id membership
+     * without a query; the rest are looked up by id rather than counted, so the answer
+     * comes from the second-level cache and the save that usually follows finds the
+     * entity there too
+     */
     @Override
     public boolean existsById(Long id) {
-        return repository.existsById(id);
+        return ids.mightContain(id) && ids.confirm(id, repository.findById(id).isPresent());
+    }
+
+    @Override
+    public List<Product> findPageAfter(Long afterId, int limit) {
+        return repository.findByProductoIdGreaterThanOrderByProductoIdAsc(afterId, Limit.of(limit)).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Sorted by the requested field and then by id, so rows with equal
+     * values keep a stable order across pages
+     */
+    @Override
+    public SlicePage<Product> findSorted(PageQuery query) {
+        Sort.Direction direction = query.isAscendente() ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = "id".equals(query.getCampo())
+                ? Sort.by(direction, "productoId")
+                : Sort.by(direction, query.getCampo()).and(Sort.by(direction, "productoId"));
+        Slice<ProductEntity> slice = repository.findAllBy(PageRequest.of(query.getPagina(), query.getTamano(), sort));
+        List<Product> elementos = slice.getContent().stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+        return new SlicePage<>(elementos, query.getPagina(), slice.hasNext());
+    }
+
+    @Override
+    public void streamAll(Consumer<Product> consumer) {
+        CursorPage.forEach(this::findPageAfter, Product::getId, consumer);
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<Long> ids) {
+        return repository.findByProductoIdIn(ids).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Check and decrement in a single statement, so concurrent buyers can never
+     * take the stock below zero
+     */
+    @Override
+    @Transactional
+    public boolean decrementStock(Long id, int quantity) {
+        boolean decremented = jdbcTemplate.update(DECREMENT_STOCK_SQL, quantity, id, quantity) == 1;
+        if (decremented) {
+            evict(List.of(id));
+        }
+        return decremented;
+    }
+
+    @Override
+    @Transactional
+    public void incrementStock(Long id, int quantity) {
+        if (jdbcTemplate.update(INCREMENT_STOCK_SQL, quantity, id) == 1) {
+            evict(List.of(id));
+        }
+    }
+
+    /**
+     * Persists the products in one transaction.
+     * Ids come from a block of the table generator without a round trip per row, so Hibernate
+     * sends the INSERTs in JDBC batches of hibernate.jdbc.batch_size; with rewriteBatchedStatements
+     * the MySQL driver turns them into multi-row INSERTs. Categories are referenced by id, not loaded.
+     */
+    @Override
+    @Transactional
+    public List<Product> saveAll(List<Product> products) {
+        List<ProductEntity> entities = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ProductEntity entity = mapper.toEntity(product);
+            entity.setCategoria(entityManager.getReference(CategoryEntity.class, product.getCategoria().getId()));
+            entityManager.persist(entity);
+            entities.add(entity);
+        }
+        entityManager.flush();
+        List<Product> saved = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            Product product = products.get(i);
+            ProductEntity entity = entities.get(i);
+            Product stored = new Product(entity.getProductoId(), product.getNombre(), product.getDescripcion(),
+                    product.getCategoria(), product.getMarca(), product.getPrecioUnitario(), product.getStock());
+            stored.setVersion(entity.getVersion());
+            saved.add(stored);
+            ids.add(entity.getProductoId());
+        }
+        entityManager.clear();
+        catalogVersion.changed();
+        return saved;
+    }
+
+    /**
+     * Stock and single-product writes use plain JDBC because a JPQL bulk UPDATE makes Hibernate
+     * drop the whole productos cache region; instead only this product is evicted, again once
+     * the transaction ends in case a concurrent read cached the old row in between.
+     * The persistence context is cleared as well, as the bulk UPDATE used to do.
+     */
+    private void productChanged(Long id) {
+        productsChanged(List.of(id));
+    }
+
+    /**
+     * Runs an UPDATE ending in "WHERE producto_id = ?", adding the version condition when
+     * the caller read one; no row changed while the product exists means it lost the race
+     */
+    private int updateVersioned(String sql, List<Object> values, Long id, Long version) {
+        values.add(id);
+        if (version != null) {
+            sql += VERSION_CONDITION;
+            values.add(version);
+        }
+        int updated = jdbcTemplate.update(sql, values.toArray());
+        if (updated > 0) {
+            productChanged(id);
+        } else if (version != null && jdbcTemplate.queryForObject(EXISTS_SQL, Long.class, id) > 0) {
+            throw new VersionConflictException("Product", id);
+        }
+        ids.confirm(id, updated > 0);
+        return updated;
+    }
+
+    private void productsChanged(Collection<Long> changed) {
+        catalogVersion.changed();
+        evict(changed);
+    }
+
+    /**
+     * Stock movements only evict the product: they leave the catalog version alone, or every
+     * reservation and ledger flush would invalidate every catalog ETag and cached response
+     */
+    private void evict(Collection<Long> changed) {
+        entityManager.clear();
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        changed.forEach(id -> cache.evict(ProductEntity.class, id));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    changed.forEach(id -> cache.evict(ProductEntity.class, id));
+                }
+            });
+        }
+    }
+
+    /**
+     * Domain field names a partial update may carry, with their columns
+     */
+    private static Map<String, String> columns() {
+        Map<String, String> columns = new LinkedHashMap<>();
+        columns.put("nombre", "nombre");
+        columns.put("descripcion", "descripcion");
+        columns.put("categoria", "categoria_id");
+        columns.put("marca", "marca");
+        columns.put("precioUnitario", "precio_unitario");
+        columns.put("stock", "stock");
+        return Collections.unmodifiableMap(columns);
+    }
+
+    private static Object valueOf(Product changes, String campo) {
+        return switch (campo) {
+            case "nombre" -> changes.getNombre();
+            case "descripcion" -> changes.getDescripcion();
+            case "categoria" -> changes.getCategoria() != null ? changes.getCategoria().getId() : null;
+            case "marca" -> changes.getMarca();
+            case "precioUnitario" -> changes.getPrecioUnitario();
+            case "stock" -> changes.getStock();
+            default -> throw new IllegalArgumentException("Cannot update field: " + campo);
+        };
     }
 }
@@ -0,0 +1,27 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence;
+
+import com.arka.arkavalenzuela.domain.port.out.TransactionPort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Transactions for the application layer, on the same transaction manager the persistence
+ * and JDBC adapters join, so their writes share one connection and one commit
+ */
+@Component
+public class TransactionTemplateAdapter implements TransactionPort {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionTemplateAdapter(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+}
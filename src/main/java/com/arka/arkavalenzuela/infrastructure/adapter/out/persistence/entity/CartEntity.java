@@ -1,9 +1,11 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
 @Table(name = "carritos")
 public class CartEntity {
 
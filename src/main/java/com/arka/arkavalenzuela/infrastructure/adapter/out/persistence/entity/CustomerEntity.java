@@ -1,13 +1,20 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@DynamicUpdate
 @Table(name = "clientes")
 public class CustomerEntity {
 
+    /**
+     * Handed out in blocks of 50 from id_generadores (V7), so inserts can be batched
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "clientes_ids")
+    @TableGenerator(name = "clientes_ids", table = "id_generadores", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "clientes", allocationSize = 50)
     @Column(name = "cliente_id")
     private Long clienteId;
 
@@ -1,14 +1,30 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
+@DynamicUpdate
 @Table(name = "pedidos")
+@NamedEntityGraph(
+        name = OrderEntity.GRAPH_DETALLE,
+        attributeNodes = {
+                @NamedAttributeNode("cliente"),
+                @NamedAttributeNode("lineas")
+        }
+)
 public class OrderEntity {
 
+    /**
+     * Graph with everything OrderMapper walks (customer and order lines),
+     * so any number of orders is loaded in a single query
+     */
+    public static final String GRAPH_DETALLE = "OrderEntity.detalle";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "pedido_id")
@@ -22,13 +38,19 @@ public class OrderEntity {
 
     private BigDecimal total;
 
-    @ManyToMany
-    @JoinTable(
-            name = "pedido_producto",
-            joinColumns = @JoinColumn(name = "pedido_id"),
-            inverseJoinColumns = @JoinColumn(name = "producto_id")
-    )
-    private Set<ProductEntity> productos;
+    @Column(name = "cliente_pais")
+    private String clientePais;
+
+    @Column(name = "cliente_ciudad")
+    private String clienteCiudad;
+
+    @ElementCollection
+    @CollectionTable(name = "pedido_lineas", joinColumns = @JoinColumn(name = "pedido_id"))
+    @OrderColumn(name = "linea")
+    private List<OrderLineEntity> lineas = new ArrayList<>();
+
+    @Version
+    private Long version;
 
     public OrderEntity() {}
 
@@ -64,11 +86,35 @@ public class OrderEntity {
         this.total = total;
     }
 
-    public Set<ProductEntity> getProductos() {
-        return productos;
+    public List<OrderLineEntity> getLineas() {
+        return lineas;
+    }
+
+    public void setLineas(List<OrderLineEntity> lineas) {
+        this.lineas = lineas;
+    }
+
+    public String getClientePais() {
+        return clientePais;
+    }
+
+    public void setClientePais(String clientePais) {
+        this.clientePais = clientePais;
+    }
+
+    public String getClienteCiudad() {
+        return clienteCiudad;
+    }
+
+    public void setClienteCiudad(String clienteCiudad) {
+        this.clienteCiudad = clienteCiudad;
+    }
+
+    public Long getVersion() {
+        return version;
     }
 
-    public void setProductos(Set<ProductEntity> productos) {
-        this.productos = productos;
+    public void setVersion(Long version) {
+        this.version = version;
     }
 }
@@ -0,0 +1,70 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.math.BigDecimal;
+
+/**
+ * Row of pedido_lineas; the product is kept as a plain id so reading an
+ * order never joins the product table
+ */
+@Embeddable
+public class OrderLineEntity {
+
+    @Column(name = "producto_id", nullable = false)
+    private Long productoId;
+
+    @Column(nullable = false)
+    private int cantidad;
+
+    @Column(name = "precio_unitario", nullable = false)
+    private BigDecimal precioUnitario;
+
+    @Column(name = "categoria_id")
+    private Long categoriaId;
+
+    public OrderLineEntity() {}
+
+    public OrderLineEntity(Long productoId, int cantidad, BigDecimal precioUnitario) {
+        this(productoId, cantidad, precioUnitario, null);
+    }
+
+    public OrderLineEntity(Long productoId, int cantidad, BigDecimal precioUnitario, Long categoriaId) {
+        this.productoId = productoId;
+        this.cantidad = cantidad;
+        this.precioUnitario = precioUnitario;
+        this.categoriaId = categoriaId;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public void setProductoId(Long productoId) {
+        this.productoId = productoId;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public void setCantidad(int cantidad) {
+        this.cantidad = cantidad;
+    }
+
+    public BigDecimal getPrecioUnitario() {
+        return precioUnitario;
+    }
+
+    public void setPrecioUnitario(BigDecimal precioUnitario) {
+        this.precioUnitario = precioUnitario;
+    }
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    public void setCategoriaId(Long categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+}
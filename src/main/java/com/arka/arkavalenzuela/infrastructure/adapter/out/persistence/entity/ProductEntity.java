@@ -1,14 +1,25 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "productos")
 @Table(name = "productos")
 public class ProductEntity {
 
+    /**
+     * Handed out in blocks of 50 from id_generadores (V7), so inserts can be batched
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "productos_ids")
+    @TableGenerator(name = "productos_ids", table = "id_generadores", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "productos", allocationSize = 50)
     @Column(name = "producto_id")
     private Long productoId;
 
@@ -31,6 +42,9 @@ public class ProductEntity {
     @Column
     private Integer stock;
 
+    @Version
+    private Long version;
+
     public ProductEntity() {}
 
     // Getters y Setters
@@ -89,4 +103,12 @@ public class ProductEntity {
     public void setStock(Integer stock) {
         this.stock = stock;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
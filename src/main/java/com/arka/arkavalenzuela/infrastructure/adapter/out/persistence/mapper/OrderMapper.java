@@ -1,23 +1,21 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper;
 
 import com.arka.arkavalenzuela.domain.model.Order;
-import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.model.OrderLine;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.OrderEntity;
-import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.OrderLineEntity;
 import org.springframework.stereotype.Component;
 
-import java.util.Set;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
 public class OrderMapper {
 
     private final CustomerMapper customerMapper;
-    private final ProductMapper productMapper;
 
-    public OrderMapper(CustomerMapper customerMapper, ProductMapper productMapper) {
+    public OrderMapper(CustomerMapper customerMapper) {
         this.customerMapper = customerMapper;
-        this.productMapper = productMapper;
     }
 
     public Order toDomain(OrderEntity entity) {
@@ -30,12 +28,16 @@ public class OrderMapper {
         order.setCliente(customerMapper.toDomain(entity.getCliente()));
         order.setFecha(entity.getFecha());
         order.setTotal(entity.getTotal());
+        order.setClientePais(entity.getClientePais());
+        order.setClienteCiudad(entity.getClienteCiudad());
+        order.setVersion(entity.getVersion());
         
-        if (entity.getProductos() != null) {
-            Set<Product> productos = entity.getProductos().stream()
-                    .map(productMapper::toDomain)
-                    .collect(Collectors.toSet());
-            order.setProductos(productos);
+        if (entity.getLineas() != null) {
+            List<OrderLine> lineas = entity.getLineas().stream()
+                    .map(linea -> new OrderLine(linea.getProductoId(), linea.getCantidad(), linea.getPrecioUnitario(),
+                            linea.getCategoriaId()))
+                    .collect(Collectors.toList());
+            order.setLineas(lineas);
         }
         
         return order;
@@ -51,12 +53,16 @@ public class OrderMapper {
         entity.setCliente(customerMapper.toEntity(domain.getCliente()));
         entity.setFecha(domain.getFecha());
         entity.setTotal(domain.getTotal());
+        entity.setClientePais(domain.getClientePais());
+        entity.setClienteCiudad(domain.getClienteCiudad());
+        entity.setVersion(domain.getVersion());
         
-        if (domain.getProductos() != null) {
-            Set<ProductEntity> productos = domain.getProductos().stream()
-                    .map(productMapper::toEntity)
-                    .collect(Collectors.toSet());
-            entity.setProductos(productos);
+        if (domain.getLineas() != null) {
+            List<OrderLineEntity> lineas = domain.getLineas().stream()
+                    .map(linea -> new OrderLineEntity(linea.getProductoId(), linea.getCantidad(),
+                            linea.getPrecioUnitario(), linea.getCategoriaId()))
+                    .collect(Collectors.toList());
+            entity.setLineas(lineas);
         }
         
         return entity;
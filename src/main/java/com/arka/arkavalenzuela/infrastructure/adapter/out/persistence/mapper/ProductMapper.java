@@ -26,6 +26,7 @@ public class ProductMapper {
         product.setMarca(entity.getMarca());
         product.setPrecioUnitario(entity.getPrecioUnitario());
         product.setStock(entity.getStock());
+        product.setVersion(entity.getVersion());
         
         return product;
     }
@@ -43,6 +44,7 @@ public class ProductMapper {
         entity.setMarca(domain.getMarca());
         entity.setPrecioUnitario(domain.getPrecioUnitario());
         entity.setStock(domain.getStock());
+        entity.setVersion(domain.getVersion());
         
         return entity;
     }
@@ -1,10 +1,50 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository;
 
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CartEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CustomerEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CartJpaRepository extends JpaRepository<CartEntity, Long> {
+
+    /**
+     * The customer is an eager one-to-one; fetching it in the same query avoids
+     * one extra select per cart
+     */
+    @EntityGraph(attributePaths = "cliente")
     List<CartEntity> findByEstado(String estado);
+
+    /**
+     * Range read on the (estado, fecha_creacion) index, oldest first
+     */
+    @Query("SELECT c.carritoId FROM CartEntity c WHERE c.estado = :estado AND c.fechaCreacion < :before "
+            + "ORDER BY c.fechaCreacion")
+    List<Long> findIdsByEstadoCreatedBefore(@Param("estado") String estado,
+                                            @Param("before") LocalDateTime before, Limit limit);
+
+    /**
+     * The state is checked again so a cart changed since it was read is left alone
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CartEntity c SET c.estado = :nuevoEstado WHERE c.carritoId IN :ids AND c.estado = :estado")
+    int updateEstado(@Param("ids") Collection<Long> ids, @Param("estado") String estado,
+                     @Param("nuevoEstado") String nuevoEstado);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CartEntity c SET c.cliente = :cliente, c.fechaCreacion = :fechaCreacion, c.estado = :estado "
+            + "WHERE c.carritoId = :id")
+    int updateFields(@Param("id") Long id, @Param("cliente") CustomerEntity cliente,
+                     @Param("fechaCreacion") LocalDateTime fechaCreacion, @Param("estado") String estado);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM CartEntity c WHERE c.carritoId = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
 }
@@ -1,7 +1,43 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository;
 
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CategoryEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The full listing and the id set are kept in the query cache; any write to categorias
+ * through Hibernate invalidates them
+ */
 public interface CategoryJpaRepository extends JpaRepository<CategoryEntity, Long> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<CategoryEntity> findAll();
+
+    List<CategoryEntity> findByCategoriaIdGreaterThanOrderByCategoriaIdAsc(Long categoriaId, Limit limit);
+
+    @Query("SELECT c.categoriaId FROM CategoryEntity c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Set<Long> findAllIds();
+
+    /**
+     * Bulk statements drop the categorias region and the cached queries, which
+     * is cheap for a table this small and keeps the listing consistent
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CategoryEntity c SET c.nombre = :nombre WHERE c.categoriaId = :id")
+    int updateNombre(@Param("id") Long id, @Param("nombre") String nombre);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM CategoryEntity c WHERE c.categoriaId = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
 }
@@ -1,10 +1,30 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository;
 
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CustomerEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface CustomerJpaRepository extends JpaRepository<CustomerEntity, Long> {
     List<CustomerEntity> findByNombreStartingWith(String letra);
+
+    List<CustomerEntity> findByClienteIdGreaterThanOrderByClienteIdAsc(Long clienteId, Limit limit);
+
+    Slice<CustomerEntity> findAllBy(Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CustomerEntity c SET c.nombre = :nombre, c.email = :email, c.telefono = :telefono, "
+            + "c.pais = :pais, c.ciudad = :ciudad WHERE c.clienteId = :id")
+    int updateFields(@Param("id") Long id, @Param("nombre") String nombre, @Param("email") String email,
+                     @Param("telefono") String telefono, @Param("pais") String pais, @Param("ciudad") String ciudad);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM CustomerEntity c WHERE c.clienteId = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
 }
@@ -1,18 +1,41 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository;
 
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.OrderEntity;
-import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.ProductEntity;
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CustomerEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Every read uses the {@link OrderEntity#GRAPH_DETALLE} graph: without it, mapping
+ * N orders fires 1 + 2N queries through the lazy associations
+ */
 public interface OrderJpaRepository extends JpaRepository<OrderEntity, Long> {
 
-    List<OrderEntity> findByProductosContaining(ProductEntity product);
+    @Override
+    @EntityGraph(OrderEntity.GRAPH_DETALLE)
+    List<OrderEntity> findAll();
 
+    @Override
+    @EntityGraph(OrderEntity.GRAPH_DETALLE)
+    Optional<OrderEntity> findById(Long id);
+
+    /**
+     * Looks the orders up from the producto_id index of the order lines
+     */
+    @EntityGraph(OrderEntity.GRAPH_DETALLE)
+    @Query("SELECT o FROM OrderEntity o WHERE o.pedidoId IN "
+            + "(SELECT op.pedidoId FROM OrderEntity op JOIN op.lineas l WHERE l.productoId = :productoId)")
+    List<OrderEntity> findByProductoId(@Param("productoId") Long productoId);
+
+    @EntityGraph(OrderEntity.GRAPH_DETALLE)
     List<OrderEntity> findByFechaBetween(LocalDateTime start, LocalDateTime end);
 
+    @EntityGraph(OrderEntity.GRAPH_DETALLE)
     List<OrderEntity> findByCliente(CustomerEntity cliente);
 }
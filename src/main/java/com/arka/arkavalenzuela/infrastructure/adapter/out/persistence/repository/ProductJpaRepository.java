@@ -1,19 +1,40 @@
 package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository;
 
 import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductJpaRepository extends JpaRepository<ProductEntity, Long> {
 
-    List<ProductEntity> findByCategoriaNombre(String categoriaNombre);
+    /**
+     * Inner join so the database can start from the category name index; the derived
+     * query used a left join, which forces a scan of productos first
+     */
+    @Query("SELECT p FROM ProductEntity p JOIN FETCH p.categoria c WHERE c.nombre = :categoriaNombre")
+    List<ProductEntity> findByCategoriaNombre(@Param("categoriaNombre") String categoriaNombre);
 
-    List<ProductEntity> findByNombreContainingIgnoreCase(String nombre);
+    @EntityGraph(attributePaths = "categoria")
+    List<ProductEntity> findByProductoIdIn(Collection<Long> productoIds);
 
     @Query("SELECT p FROM ProductEntity p WHERE p.precioUnitario BETWEEN :min AND :max")
     List<ProductEntity> findByPriceRange(@Param("min") BigDecimal min, @Param("max") BigDecimal max);
+
+    @EntityGraph(attributePaths = "categoria")
+    List<ProductEntity> findByProductoIdGreaterThanOrderByProductoIdAsc(Long productoId, Limit limit);
+
+    /**
+     * Returning a Slice fetches one extra row to know whether there is a next page,
+     * without the count query a Page would run
+     */
+    @EntityGraph(attributePaths = "categoria")
+    Slice<ProductEntity> findAllBy(Pageable pageable);
 }
@@ -0,0 +1,388 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.search;
+
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.port.out.ProductSearchPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product nombre, marca and descripcion
+ * Text is lower-cased and stripped of accents, so "camion" finds "Camión".
+ * Trigrams of nombre and marca answer substring searches (what LIKE '%term%' did);
+ * a sorted word dictionary over the three fields answers word-prefix searches,
+ * including terms shorter than a trigram.
+ * Results are ranked: matches in nombre weigh more than in marca, and marca more than in descripcion.
+ */
+@Component
+public class InMemoryProductSearchIndex implements ProductSearchPort {
+
+    private static final int GRAM = 3;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final int maxResults;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    private List<Consumer<Segment>> pendingDuringRebuild;
+
+    public InMemoryProductSearchIndex(@Value("${arka.search.max-results:200}") int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    @Override
+    public List<Long> search(String term) {
+        List<String> terms = tokenize(normalize(term));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        String driver = terms.stream().max(Comparator.comparingInt(String::length)).get();
+
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            List<Hit> hits = new ArrayList<>();
+            current.candidates(driver).stream().forEach(ordinal -> {
+                Document document = current.documents.get(ordinal);
+                if (document != null) {
+                    int score = document.score(terms);
+                    if (score > 0) {
+                        hits.add(new Hit(document, score));
+                    }
+                }
+            });
+            return hits.stream()
+                    .sorted(Hit.RANKING)
+                    .limit(maxResults)
+                    .map(hit -> hit.document.id)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        Document document = Document.of(product);
+        mutate(current -> current.add(document));
+    }
+
+    @Override
+    public void remove(Long productId) {
+        mutate(current -> current.remove(productId));
+    }
+
+    /**
+     * Builds a fresh index from the source while searches keep using the current one;
+     * writes received in the meantime are replayed on the new index before swapping it in
+     */
+    @Override
+    public synchronized void rebuild(Consumer<Consumer<Product>> source) {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment rebuilt = new Segment();
+        try {
+            source.accept(product -> rebuilt.add(Document.of(product)));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(change -> change.accept(rebuilt));
+            pendingDuringRebuild = null;
+            segment = rebuilt.needsCompaction() ? rebuilt.compact() : rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void mutate(Consumer<Segment> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(segment);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+            if (segment.needsCompaction()) {
+                segment = segment.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String withoutAccents = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static List<String> tokenize(String normalized) {
+        return Arrays.stream(normalized.split(" "))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Index state: documents addressed by ordinal plus the posting lists pointing at them.
+     * Updates append a new ordinal and leave the old one empty; compaction renumbers
+     * everything once empty ordinals pile up.
+     */
+    private static final class Segment {
+        private final List<Document> documents = new ArrayList<>();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final Map<String, IntList> grams = new HashMap<>();
+        private final NavigableMap<String, IntList> words = new TreeMap<>();
+        private int dead;
+
+        void add(Document document) {
+            remove(document.id);
+            int ordinal = documents.size();
+            documents.add(document);
+            ordinals.put(document.id, ordinal);
+            for (String gram : document.grams()) {
+                grams.computeIfAbsent(gram, key -> new IntList()).add(ordinal);
+            }
+            for (String word : document.words()) {
+                words.computeIfAbsent(word, key -> new IntList()).add(ordinal);
+            }
+        }
+
+        void remove(Long id) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                documents.set(ordinal, null);
+                dead++;
+            }
+        }
+
+        boolean needsCompaction() {
+            return dead > 1024 && dead > ordinals.size() / 4;
+        }
+
+        Segment compact() {
+            Segment compacted = new Segment();
+            for (Document document : documents) {
+                if (document != null) {
+                    compacted.add(document);
+                }
+            }
+            return compacted;
+        }
+
+        BitSet candidates(String term) {
+            BitSet result = new BitSet(documents.size());
+            if (term.length() >= GRAM) {
+                for (int ordinal : intersectGrams(term)) {
+                    result.set(ordinal);
+                }
+            }
+            for (IntList postings : words.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                postings.forEach(result::set);
+            }
+            return result;
+        }
+
+        private int[] intersectGrams(String term) {
+            List<IntList> lists = new ArrayList<>();
+            for (int i = 0; i + GRAM <= term.length(); i++) {
+                IntList postings = grams.get(term.substring(i, i + GRAM));
+                if (postings == null) {
+                    return new int[0];
+                }
+                lists.add(postings);
+            }
+            lists.sort(Comparator.comparingInt(IntList::size));
+            int[] result = lists.get(0).toArray();
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = lists.get(i).retain(result);
+            }
+            return result;
+        }
+    }
+
+    private static final class Document {
+        private final Long id;
+        private final String nombre;
+        private final String marca;
+        private final String descripcion;
+
+        private Document(Long id, String nombre, String marca, String descripcion) {
+            this.id = id;
+            this.nombre = nombre;
+            this.marca = marca;
+            this.descripcion = descripcion;
+        }
+
+        static Document of(Product product) {
+            return new Document(product.getId(), normalize(product.getNombre()),
+                    normalize(product.getMarca()), normalize(product.getDescripcion()));
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new LinkedHashSet<>();
+            for (String word : tokenize(nombre + " " + marca)) {
+                for (int i = 0; i + GRAM <= word.length(); i++) {
+                    grams.add(word.substring(i, i + GRAM));
+                }
+            }
+            return grams;
+        }
+
+        Set<String> words() {
+            return new LinkedHashSet<>(tokenize(nombre + " " + marca + " " + descripcion));
+        }
+
+        /**
+         * Every term has to match somewhere; the score adds up how well each one did
+         */
+        int score(List<String> terms) {
+            int total = 0;
+            for (String term : terms) {
+                int score = termScore(term);
+                if (score == 0) {
+                    return 0;
+                }
+                total += score;
+            }
+            return total;
+        }
+
+        private int termScore(String term) {
+            boolean substring = term.length() >= GRAM;
+            int score = 0;
+            if (hasWordStartingWith(nombre, term)) {
+                score += 4;
+            } else if (substring && nombre.contains(term)) {
+                score += 3;
+            }
+            if (nombre.startsWith(term)) {
+                score += 2;
+            }
+            if (hasWordStartingWith(marca, term)) {
+                score += 2;
+            } else if (substring && marca.contains(term)) {
+                score += 1;
+            }
+            if (hasWordStartingWith(descripcion, term)) {
+                score += 1;
+            }
+            return score;
+        }
+
+        private static boolean hasWordStartingWith(String text, String term) {
+            return text.startsWith(term) || text.contains(" " + term);
+        }
+    }
+
+    private static final class Hit {
+        private static final Comparator<Hit> RANKING = Comparator
+                .comparingInt((Hit hit) -> hit.score).reversed()
+                .thenComparingInt(hit -> hit.document.nombre.length())
+                .thenComparing(hit -> hit.document.id);
+
+        private final Document document;
+        private final int score;
+
+        private Hit(Document document, int score) {
+            this.document = document;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Growable, ascending list of ordinals; postings are appended in ordinal order,
+     * so they stay sorted without extra work
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        void forEach(IntConsumer action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(values[i]);
+            }
+        }
+
+        int[] retain(int[] sorted) {
+            int[] result = new int[Math.min(size, sorted.length)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size && j < sorted.length) {
+                if (values[i] < sorted[j]) {
+                    i++;
+                } else if (values[i] > sorted[j]) {
+                    j++;
+                } else {
+                    result[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+}
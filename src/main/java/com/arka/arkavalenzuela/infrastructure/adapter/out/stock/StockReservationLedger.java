@@ -0,0 +1,345 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.stock;
+
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.port.out.ProductRepositoryPort;
+import com.arka.arkavalenzuela.domain.port.out.StockReservationPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntSupplier;
+
+/**
+ * Stock reservations for products
+ * Regular products are reserved with a conditional UPDATE on the database.
+ * Flash-sale products can be tracked in memory: their available stock is spread over
+ * striped counters that buyers decrement with CAS, and the accumulated reservations are
+ * written to the database in one decrement per product every flush interval.
+ * While a product is tracked, every stock change has to go through this ledger: writes that
+ * set the stock directly or delete the product run through overwriteStock, which untracks
+ * the product around them.
+ * Untracking closes the product's pending counters and writes what they hold; a reservation
+ * that finds them closed waits for that write and then goes to the database instead.
+ * The counters are seeded from the whole database stock, so tracking is only safe with a
+ * single application instance: each instance tracking the same product would sell all of it.
+ */
+public class StockReservationLedger implements StockReservationPort, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationLedger.class);
+
+    private final ProductRepositoryPort productRepository;
+    private final int stripes;
+    private final Map<Long, SkuLedger> trackedSkus = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    public StockReservationLedger(ProductRepositoryPort productRepository, int stripes, Duration flushInterval) {
+        this.productRepository = productRepository;
+        this.stripes = stripes;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-ledger-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean reserve(Long productId, int quantity) {
+        SkuLedger ledger = trackedSkus.get(productId);
+        if (ledger == null) {
+            return productRepository.decrementStock(productId, quantity);
+        }
+        if (!ledger.tryReserve(quantity)) {
+            if (!ledger.isClosed()) {
+                return false;
+            }
+        } else if (ledger.addPending(quantity)) {
+            return true;
+        }
+        // Untracked meanwhile: the units taken from memory are not recorded anywhere
+        ledger.awaitClosed();
+        return productRepository.decrementStock(productId, quantity);
+    }
+
+    @Override
+    public void release(Long productId, int quantity) {
+        SkuLedger ledger = trackedSkus.get(productId);
+        if (ledger == null) {
+            productRepository.incrementStock(productId, quantity);
+            return;
+        }
+        if (ledger.addPending(-quantity)) {
+            ledger.giveBack(quantity);
+            return;
+        }
+        ledger.awaitClosed();
+        productRepository.incrementStock(productId, quantity);
+    }
+
+    /**
+     * Untracks the product for the duration of the write and tracks it again afterwards
+     * with the stock the write left, unless the product is gone
+     */
+    @Override
+    public int overwriteStock(Long productId, IntSupplier write) {
+        if (!trackedSkus.containsKey(productId)) {
+            return write.getAsInt();
+        }
+        untrack(productId);
+        try {
+            return write.getAsInt();
+        } finally {
+            if (productRepository.findById(productId).isPresent()) {
+                track(productId);
+            }
+        }
+    }
+
+    /**
+     * Starts serving reservations for the product from memory, seeded with its current stock
+     */
+    public void track(Long productId) {
+        trackedSkus.computeIfAbsent(productId, id -> {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
+            int stock = product.getStock() != null ? product.getStock() : 0;
+            return new SkuLedger(id, stripes, stock);
+        });
+    }
+
+    /**
+     * Tracks each product, skipping (and logging) the ones that do not exist
+     */
+    public void trackAll(Collection<Long> productIds) {
+        for (Long productId : productIds) {
+            try {
+                track(productId);
+            } catch (RuntimeException e) {
+                log.warn("Not tracking stock of product {} in memory: {}", productId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes what the product's counters hold and closes them before the product is
+     * dropped, so that nothing reaches the database ahead of that write
+     */
+    public void untrack(Long productId) {
+        SkuLedger ledger = trackedSkus.get(productId);
+        if (ledger == null) {
+            return;
+        }
+        synchronized (ledger.writeLock) {
+            long delta = ledger.close();
+            if (!write(ledger, delta)) {
+                log.warn("Stock reservations of product {} were not written when it was untracked; {} units pending",
+                        productId, delta);
+            }
+        }
+        trackedSkus.remove(productId, ledger);
+    }
+
+    public Map<Long, Integer> trackedAvailability() {
+        Map<Long, Integer> availability = new LinkedHashMap<>();
+        trackedSkus.forEach((id, ledger) -> availability.put(id, ledger.available()));
+        return availability;
+    }
+
+    public void flush() {
+        trackedSkus.values().forEach(this::flush);
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Holds the ledger's write lock, which buyers only ever wait on once the product is untracked
+     */
+    private void flush(SkuLedger ledger) {
+        synchronized (ledger.writeLock) {
+            long delta = ledger.drainPending();
+            if (!write(ledger, delta) && !ledger.addPending(delta)) {
+                log.warn("Stock reservations of product {} were not written; {} units pending", ledger.productId, delta);
+            }
+        }
+    }
+
+    /**
+     * Applies the net reservations to the database; false when the write failed and has to be retried
+     */
+    private boolean write(SkuLedger ledger, long delta) {
+        try {
+            if (delta > 0 && !productRepository.decrementStock(ledger.productId, Math.toIntExact(delta))) {
+                log.warn("Stock of product {} changed outside the reservation ledger; {} units oversold",
+                        ledger.productId, delta);
+            } else if (delta < 0) {
+                productRepository.incrementStock(ledger.productId, Math.toIntExact(-delta));
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not flush stock reservations of product {}, retrying on next flush", ledger.productId, e);
+            return false;
+        }
+    }
+
+    /**
+     * Available stock of one product split over several counters, so parallel buyers
+     * rarely CAS the same memory location
+     * Reservations not yet written are striped the same way; closing swaps a marker into
+     * every pending counter, so each reservation is either in what the closing thread
+     * writes or sees the marker and goes to the database.
+     */
+    private static final class SkuLedger {
+        private static final long CLOSED = Long.MIN_VALUE;
+
+        private final Long productId;
+        private final Object writeLock = new Object();
+        private final AtomicIntegerArray available;
+        private final AtomicLongArray pending;
+
+        private SkuLedger(Long productId, int stripes, int stock) {
+            this.productId = productId;
+            this.available = new AtomicIntegerArray(stripes);
+            this.pending = new AtomicLongArray(stripes);
+            for (int i = 0; i < stripes; i++) {
+                available.set(i, stock / stripes + (i < stock % stripes ? 1 : 0));
+            }
+        }
+
+        boolean tryReserve(int quantity) {
+            int stripes = available.length();
+            int start = ThreadLocalRandom.current().nextInt(stripes);
+            for (int i = 0; i < stripes; i++) {
+                if (tryTake((start + i) % stripes, quantity)) {
+                    return true;
+                }
+            }
+            return reserveAcrossStripes(quantity);
+        }
+
+        boolean addPending(long quantity) {
+            int stripe = ThreadLocalRandom.current().nextInt(pending.length());
+            while (true) {
+                long current = pending.get(stripe);
+                if (current == CLOSED) {
+                    return false;
+                }
+                if (pending.compareAndSet(stripe, current, current + quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        long drainPending() {
+            long delta = 0;
+            for (int i = 0; i < pending.length(); i++) {
+                long drained = pending.getAndUpdate(i, current -> current == CLOSED ? CLOSED : 0);
+                if (drained != CLOSED) {
+                    delta += drained;
+                }
+            }
+            return delta;
+        }
+
+        /**
+         * Closes the pending counters, first to last, and returns what they held
+         */
+        long close() {
+            long delta = 0;
+            for (int i = 0; i < pending.length(); i++) {
+                long drained = pending.getAndSet(i, CLOSED);
+                if (drained != CLOSED) {
+                    delta += drained;
+                }
+            }
+            return delta;
+        }
+
+        boolean isClosed() {
+            return pending.get(0) == CLOSED;
+        }
+
+        /**
+         * The closing thread holds the write lock until its write is done
+         */
+        void awaitClosed() {
+            synchronized (writeLock) {
+                // nothing to do: acquiring the lock is the wait
+            }
+        }
+
+        void giveBack(int quantity) {
+            available.addAndGet(ThreadLocalRandom.current().nextInt(available.length()), quantity);
+        }
+
+        int available() {
+            int total = 0;
+            for (int i = 0; i < available.length(); i++) {
+                total += available.get(i);
+            }
+            return total;
+        }
+
+        private boolean tryTake(int stripe, int quantity) {
+            while (true) {
+                int current = available.get(stripe);
+                if (current < quantity) {
+                    return false;
+                }
+                if (available.compareAndSet(stripe, current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Slow path when no single stripe holds enough: gathers units from all of them
+         * and hands them back if the total still falls short
+         */
+        private synchronized boolean reserveAcrossStripes(int quantity) {
+            int taken = 0;
+            for (int i = 0; i < available.length() && taken < quantity; i++) {
+                taken += takeUpTo(i, quantity - taken);
+            }
+            if (taken < quantity) {
+                if (taken > 0) {
+                    giveBack(taken);
+                }
+                return false;
+            }
+            return true;
+        }
+
+        private int takeUpTo(int stripe, int wanted) {
+            while (true) {
+                int current = available.get(stripe);
+                int take = Math.min(current, wanted);
+                if (take <= 0) {
+                    return 0;
+                }
+                if (available.compareAndSet(stripe, current, current - take)) {
+                    return take;
+                }
+            }
+        }
+    }
+}
@@ -3,8 +3,20 @@ package com.arka.arkavalenzuela.infrastructure.config;
 import com.arka.arkavalenzuela.domain.port.in.*;
 import com.arka.arkavalenzuela.domain.port.out.*;
 import com.arka.arkavalenzuela.application.usecase.*;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.CachingProductRepositoryAdapter;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.CategoryPersistenceAdapter;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.ProductPersistenceAdapter;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.stock.StockReservationLedger;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Bean Configuration for Hexagonal Architecture
@@ -14,29 +26,141 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class BeanConfiguration {
 
+    /**
+     * Catalog cache decorating the JPA adapter; as the primary
+     * ProductRepositoryPort it is what the use cases receive.
+     * Category writes drop the cached products of that category.
+     */
+    @Bean
+    @Primary
+    public CachingProductRepositoryAdapter cachingProductRepository(
+            ProductPersistenceAdapter productPersistenceAdapter,
+            CategoryPersistenceAdapter categoryPersistenceAdapter,
+            @Value("${arka.cache.productos.maximum-size:10000}") long maximumSize,
+            @Value("${arka.cache.productos.categorias.maximum-size:500}") long categoryMaximumSize,
+            @Value("${arka.cache.productos.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        CachingProductRepositoryAdapter cache = new CachingProductRepositoryAdapter(productPersistenceAdapter,
+                maximumSize, categoryMaximumSize, expireAfterWrite);
+        categoryPersistenceAdapter.addChangeListener(cache::categoryChanged);
+        return cache;
+    }
+
+    /**
+     * Stock reservations; the flash-sale SKUs are served from memory and
+     * flushed to the database every flush interval.
+     */
+    @Bean(destroyMethod = "close")
+    public StockReservationLedger stockReservationLedger(
+            ProductRepositoryPort productRepository,
+            @Value("${arka.stock.stripes:8}") int stripes,
+            @Value("${arka.stock.flush-interval:PT1S}") Duration flushInterval,
+            @Value("${arka.stock.flash-sale-skus:}") List<Long> flashSaleSkus) {
+        StockReservationLedger ledger = new StockReservationLedger(productRepository, stripes, flushInterval);
+        ledger.trackAll(flashSaleSkus);
+        return ledger;
+    }
+
+    /**
+     * Product use cases; with coalescing on, concurrent identical catalog reads
+     * share one call and the arka.coalescing counters show how many were saved.
+     * No retry policy: stock and price changes are single UPDATEs computed in SQL, so
+     * they cannot lose a version race, and a version only ever comes from the client.
+     */
     @Bean
     public ProductUseCase productUseCase(ProductRepositoryPort productRepository, 
-                                       CategoryRepositoryPort categoryRepository) {
-        return new ProductApplicationService(productRepository, categoryRepository);
+                                       CategoryRepositoryPort categoryRepository,
+                                       ProductSearchPort productSearch,
+                                       StockReservationPort stockReservation,
+                                       @Value("${arka.bulk.chunk-size:1000}") int bulkChunkSize,
+                                       @Value("${arka.coalescing.enabled:true}") boolean coalescing,
+                                       MeterRegistry meterRegistry) {
+        ProductUseCase productUseCase = new ProductApplicationService(productRepository, categoryRepository,
+                productSearch, stockReservation, bulkChunkSize);
+        if (!coalescing) {
+            return productUseCase;
+        }
+        CoalescingProductUseCase coalescingUseCase = new CoalescingProductUseCase(productUseCase);
+        registerCoalescingMetrics(meterRegistry, "ProductUseCase", coalescingUseCase.flights());
+        return coalescingUseCase;
+    }
+
+    @Bean
+    public CategoryUseCase categoryUseCase(CategoryRepositoryPort categoryRepository,
+                                           @Value("${arka.coalescing.enabled:true}") boolean coalescing,
+                                           MeterRegistry meterRegistry) {
+        CategoryUseCase categoryUseCase = new CategoryApplicationService(categoryRepository);
+        if (!coalescing) {
+            return categoryUseCase;
+        }
+        CoalescingCategoryUseCase coalescingUseCase = new CoalescingCategoryUseCase(categoryUseCase);
+        registerCoalescingMetrics(meterRegistry, "CategoryUseCase", coalescingUseCase.flights());
+        return coalescingUseCase;
+    }
+
+    @Bean
+    public CatalogVersionUseCase catalogVersionUseCase(CatalogVersionPort catalogVersion) {
+        return new CatalogVersionApplicationService(catalogVersion);
     }
 
     @Bean
-    public CategoryUseCase categoryUseCase(CategoryRepositoryPort categoryRepository) {
-        return new CategoryApplicationService(categoryRepository);
+    public CustomerUseCase customerUseCase(CustomerRepositoryPort customerRepository,
+                                         @Value("${arka.bulk.chunk-size:1000}") int bulkChunkSize) {
+        return new CustomerApplicationService(customerRepository, bulkChunkSize);
     }
 
+    /**
+     * Order use cases; updates that lose a version race are retried with
+     * jittered backoff, counted by arka.reintentos.
+     */
     @Bean
-    public CustomerUseCase customerUseCase(CustomerRepositoryPort customerRepository) {
-        return new CustomerApplicationService(customerRepository);
+    public OrderUseCase orderUseCase(OrderRepositoryPort orderRepository,
+                                   ProductRepositoryPort productRepository,
+                                   CustomerRepositoryPort customerRepository,
+                                   SalesAnalyticsPort salesAnalytics,
+                                   TransactionPort transactions,
+                                   @Value("${arka.retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${arka.retry.initial-backoff:PT0.005S}") Duration initialBackoff,
+                                   @Value("${arka.retry.max-backoff:PT0.2S}") Duration maxBackoff,
+                                   MeterRegistry meterRegistry) {
+        RetryPolicy retryPolicy = new RetryPolicy(maxAttempts, initialBackoff, maxBackoff);
+        registerRetryMetrics(meterRegistry, "OrderUseCase", retryPolicy);
+        return new OrderApplicationService(orderRepository, productRepository, customerRepository,
+                salesAnalytics, transactions, retryPolicy);
     }
 
     @Bean
-    public OrderUseCase orderUseCase(OrderRepositoryPort orderRepository) {
-        return new OrderApplicationService(orderRepository);
+    public SalesAnalyticsUseCase salesAnalyticsUseCase(SalesAnalyticsPort salesAnalytics) {
+        return new SalesAnalyticsApplicationService(salesAnalytics);
     }
 
     @Bean
-    public CartUseCase cartUseCase(CartRepositoryPort cartRepository) {
-        return new CartApplicationService(cartRepository);
+    public CartUseCase cartUseCase(CartRepositoryPort cartRepository,
+                                   @Value("${arka.carritos.abandono.batch-size:1000}") int sweepBatchSize) {
+        return new CartApplicationService(cartRepository, sweepBatchSize);
+    }
+
+    private static void registerRetryMetrics(MeterRegistry meterRegistry, String useCase, RetryPolicy retryPolicy) {
+        FunctionCounter.builder("arka.reintentos", retryPolicy, RetryPolicy::getRetries)
+                .description("Version conflicts, by whether the operation was retried or gave up")
+                .tags("caso", useCase, "resultado", "reintento")
+                .register(meterRegistry);
+        FunctionCounter.builder("arka.reintentos", retryPolicy, RetryPolicy::getExhausted)
+                .description("Version conflicts, by whether the operation was retried or gave up")
+                .tags("caso", useCase, "resultado", "agotado")
+                .register(meterRegistry);
+    }
+
+    private static void registerCoalescingMetrics(MeterRegistry meterRegistry, String useCase,
+                                                  Map<String, SingleFlight<?, ?>> flights) {
+        flights.forEach((method, flight) -> {
+            FunctionCounter.builder("arka.coalescing.llamadas", flight, SingleFlight::getExecuted)
+                    .description("Coalesced reads, by whether they ran the query or joined one already running")
+                    .tags("caso", useCase, "metodo", method, "resultado", "ejecutada")
+                    .register(meterRegistry);
+            FunctionCounter.builder("arka.coalescing.llamadas", flight, SingleFlight::getDeduplicated)
+                    .description("Coalesced reads, by whether they ran the query or joined one already running")
+                    .tags("caso", useCase, "metodo", method, "resultado", "deduplicada")
+                    .register(meterRegistry);
+        });
     }
 }
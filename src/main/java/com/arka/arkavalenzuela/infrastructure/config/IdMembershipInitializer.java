@@ -0,0 +1,41 @@
+package com.arka.arkavalenzuela.infrastructure.config;
+
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMemberships;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the existing ids of each aggregate once the application is up, and reloads them
+ * periodically to pick up rows this instance did not write; existence checks made
+ * before the first load go to the database
+ */
+@Component
+public class IdMembershipInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(IdMembershipInitializer.class);
+
+    private final IdMemberships idMemberships;
+
+    public IdMembershipInitializer(IdMemberships idMemberships) {
+        this.idMemberships = idMemberships;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIds() {
+        long start = System.nanoTime();
+        idMemberships.loadAll();
+        log.info("Id memberships loaded in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${arka.ids.reload-interval:PT5M}",
+            initialDelayString = "${arka.ids.reload-interval:PT5M}")
+    public void reloadIds() {
+        long start = System.nanoTime();
+        idMemberships.reloadAll();
+        log.debug("Id memberships reloaded in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,47 @@
+package com.arka.arkavalenzuela.infrastructure.config;
+
+import com.arka.arkavalenzuela.infrastructure.observability.ProfilingDataSource;
+import com.arka.arkavalenzuela.infrastructure.observability.ProfilingStatistics;
+import com.arka.arkavalenzuela.infrastructure.observability.QueryProfiler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Query profiling (GET/PUT/DELETE /admin/consultas), replacing spring.jpa.show-sql
+ * The data source and the Hibernate statistics are always wrapped; whether they record
+ * anything is decided by the profiler switch, which can be flipped without a restart.
+ */
+@Configuration
+public class QueryProfilingConfiguration {
+
+    @Bean
+    public QueryProfiler queryProfiler(@Value("${arka.profiling.enabled:false}") boolean enabled,
+                                       @Value("${arka.profiling.slowest:50}") int slowest) {
+        return new QueryProfiler(enabled, slowest);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer profilingStatisticsCustomizer(QueryProfiler profiler) {
+        return properties -> properties.put("hibernate.stats.factory", ProfilingStatistics.factory(profiler));
+    }
+
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ObjectProvider<QueryProfiler> profiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource)
+                        && "dataSource".equals(beanName)) {
+                    return new ProfilingDataSource(dataSource, profiler.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.arka.arkavalenzuela.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Read/write splitting, enabled by setting arka.datasource.replica.url
+ * The replica gets its own read-only pool; the application data source becomes a router
+ * in front of the primary, innermost so profiling and connection limiting see both databases.
+ */
+@Configuration
+@ConditionalOnProperty(name = "arka.datasource.replica.url")
+public class ReadReplicaConfiguration {
+
+    private static final String PREFIX = "arka.datasource.replica.";
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicaRouting readReplicaRouting(Environment environment) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(environment.getRequiredProperty(PREFIX + "url"))
+                .username(environment.getProperty(PREFIX + "username",
+                        environment.getProperty("spring.datasource.username")))
+                .password(environment.getProperty(PREFIX + "password",
+                        environment.getProperty("spring.datasource.password")))
+                .driverClassName(environment.getProperty(PREFIX + "driver-class-name",
+                        environment.getProperty("spring.datasource.driver-class-name")))
+                .build();
+        replica.setPoolName("arka-replica");
+        replica.setReadOnly(true);
+        replica.setMaximumPoolSize(environment.getProperty(PREFIX + "maximum-pool-size", Integer.class, 10));
+        Set<String> useCases = Set.of(environment.getProperty(PREFIX + "use-cases", String[].class,
+                new String[]{"OrderUseCase", "CustomerUseCase", "CartUseCase", "SalesAnalyticsUseCase"}));
+        List<String> readPrefixes = List.of(environment.getProperty(PREFIX + "read-methods", String[].class,
+                new String[]{"get", "search", "stream"}));
+        Duration stickyWindow = environment.getProperty(PREFIX + "sticky-window", Duration.class,
+                Duration.ofSeconds(5));
+        return new ReadReplicaRouting(replica, useCases, readPrefixes, stickyWindow);
+    }
+
+    @Bean
+    public ReadReplicaRoutingAspect readReplicaRoutingAspect(ReadReplicaRouting readReplicaRouting) {
+        return new ReadReplicaRoutingAspect(readReplicaRouting);
+    }
+
+    @Bean
+    public static BeanPostProcessor readReplicaRoutingPostProcessor(ObjectProvider<ReadReplicaRouting> routing) {
+        return new RoutingPostProcessor(routing);
+    }
+
+    /**
+     * Ordered, so it wraps the pool before the (unordered) profiling and limiting post-processors
+     */
+    private static final class RoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ReadReplicaRouting> routing;
+
+        private RoutingPostProcessor(ObjectProvider<ReadReplicaRouting> routing) {
+            this.routing = routing;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof ReadReplicaRoutingDataSource)
+                    && "dataSource".equals(beanName)) {
+                return new ReadReplicaRoutingDataSource(dataSource, routing.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.arka.arkavalenzuela.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides whether the use case running on the current thread reads from the replica
+ * Only read methods (by name prefix: get, search, stream...) of the configured use cases go
+ * there; every other method, and any read by a client that wrote within the sticky window,
+ * stays on the primary so the client always sees its own writes.
+ * Catalog use cases are left out by default: their results feed the product, second-level
+ * and JSON caches, which would keep a lagging replica's answer well past the window.
+ */
+public class ReadReplicaRouting implements AutoCloseable {
+
+    static final String CLIENT_HEADER = "X-Cliente";
+
+    public enum Route { PRIMARY, REPLICA }
+
+    /**
+     * What a use case method does with the database, decided once per method
+     */
+    public enum Access { REPLICA_READ, PRIMARY_READ, WRITE }
+
+    private final DataSource replica;
+    private final Set<String> useCases;
+    private final List<String> readPrefixes;
+    private final Cache<String, Boolean> recentWriters;
+    private final ThreadLocal<Route> route = new ThreadLocal<>();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder stickyReads = new LongAdder();
+
+    public ReadReplicaRouting(DataSource replica, Set<String> useCases, List<String> readPrefixes,
+                              Duration stickyWindow) {
+        this.replica = replica;
+        this.useCases = Set.copyOf(useCases);
+        this.readPrefixes = List.copyOf(readPrefixes);
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    /**
+     * The client of the HTTP request on the current thread (null outside one): the
+     * authenticated user, else the X-Cliente header, else the session, else the remote
+     * address. That address is the load balancer's unless forwarded headers are honored
+     * (server.forward-headers-strategy), in which case trusted proxies are skipped.
+     */
+    public static String currentClient() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        if (request.getUserPrincipal() != null) {
+            return "usuario:" + request.getUserPrincipal().getName();
+        }
+        String client = request.getHeader(CLIENT_HEADER);
+        if (client != null && !client.isBlank()) {
+            return client;
+        }
+        HttpSession session = request.getSession(false);
+        return session != null ? "sesion:" + session.getId() : request.getRemoteAddr();
+    }
+
+    public Access access(Class<?> useCaseType, String methodName) {
+        if (readPrefixes.stream().noneMatch(methodName::startsWith)) {
+            return Access.WRITE;
+        }
+        boolean routed = ClassUtils.getAllInterfacesForClassAsSet(useCaseType).stream()
+                .anyMatch(type -> useCases.contains(type.getSimpleName()));
+        return routed ? Access.REPLICA_READ : Access.PRIMARY_READ;
+    }
+
+    /**
+     * Route for a read by the given client (null outside an HTTP request)
+     */
+    public Route routeRead(String client) {
+        if (client != null && recentWriters.getIfPresent(client) != null) {
+            stickyReads.increment();
+            return Route.PRIMARY;
+        }
+        replicaReads.increment();
+        return Route.REPLICA;
+    }
+
+    /**
+     * Pins the client's reads to the primary for the sticky window
+     */
+    public void wrote(String client) {
+        if (client != null) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+
+    public Route current() {
+        return route.get();
+    }
+
+    public void enter(Route chosen) {
+        route.set(chosen);
+    }
+
+    public void exit() {
+        route.remove();
+    }
+
+    public DataSource replica() {
+        return replica;
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    public long getStickyReads() {
+        return stickyReads.sum();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.arka.arkavalenzuela.infrastructure.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routes each use case call to the replica or the primary before it touches the database
+ * The outermost use case decides; anything it calls keeps that route. Clients are told apart
+ * as {@link ReadReplicaRouting#currentClient()} describes.
+ */
+@Aspect
+public class ReadReplicaRoutingAspect {
+
+    private final ReadReplicaRouting routing;
+    private final Map<Method, ReadReplicaRouting.Access> accesses = new ConcurrentHashMap<>();
+
+    public ReadReplicaRoutingAspect(ReadReplicaRouting routing) {
+        this.routing = routing;
+    }
+
+    @Around("execution(public * com.arka.arkavalenzuela.domain.port.in..*.*(..))")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (routing.current() != null) {
+            return joinPoint.proceed();
+        }
+        Class<?> type = AopUtils.getTargetClass(joinPoint.getTarget());
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        ReadReplicaRouting.Access access = accesses.computeIfAbsent(method,
+                key -> routing.access(type, key.getName()));
+        String client = ReadReplicaRouting.currentClient();
+        routing.enter(access == ReadReplicaRouting.Access.REPLICA_READ
+                ? routing.routeRead(client) : ReadReplicaRouting.Route.PRIMARY);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            routing.exit();
+            if (access == ReadReplicaRouting.Access.WRITE) {
+                routing.wrote(client);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.arka.arkavalenzuela.infrastructure.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out replica connections while the current use case is routed to the replica,
+ * and primary connections otherwise (including startup, Flyway and schedulers)
+ * The route is fixed before the use case opens its transaction, so every statement of
+ * that transaction runs against the same database.
+ */
+public class ReadReplicaRoutingDataSource extends DelegatingDataSource {
+
+    private final ReadReplicaRouting routing;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, ReadReplicaRouting routing) {
+        super(primary);
+        this.routing = routing;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return target().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return target().getConnection(username, password);
+    }
+
+    private DataSource target() {
+        return routing.current() == ReadReplicaRouting.Route.REPLICA ? routing.replica() : obtainTargetDataSource();
+    }
+}
@@ -0,0 +1,12 @@
+package com.arka.arkavalenzuela.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the {@code @Scheduled} inbound adapters (infrastructure.adapter.in.scheduler)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -0,0 +1,30 @@
+package com.arka.arkavalenzuela.infrastructure.config;
+
+import com.arka.arkavalenzuela.domain.port.in.ProductUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the product search index from the database once the application is up
+ */
+@Component
+public class SearchIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexInitializer.class);
+
+    private final ProductUseCase productUseCase;
+
+    public SearchIndexInitializer(ProductUseCase productUseCase) {
+        this.productUseCase = productUseCase;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildSearchIndex() {
+        long start = System.nanoTime();
+        productUseCase.rebuildSearchIndex();
+        log.info("Product search index built in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,69 @@
+package com.arka.arkavalenzuela.infrastructure.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for the reference data (categories and products)
+ * Regions live in a local Caffeine JCache manager built here, so each one gets its
+ * size and time-to-live from arka.cache.hibernate.* instead of a separate cache file.
+ * Entity regions are named in the @Cache annotation of each entity; a region Hibernate
+ * asks for and is not declared below fails startup.
+ */
+@Configuration
+@ConditionalOnProperty(name = "arka.cache.hibernate.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        // One manager per application context; test contexts may coexist in the same JVM
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("arka-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        createRegion(cacheManager, environment, "categorias", "categorias", 1_000, Duration.ofHours(1));
+        createRegion(cacheManager, environment, "productos", "productos", 10_000, Duration.ofMinutes(10));
+        createRegion(cacheManager, environment, "consultas", RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                1_000, Duration.ofMinutes(10));
+        // Update timestamps must outlive every cached query result, so this region is neither bounded nor expired
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>().setStatisticsEnabled(true));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, Environment environment, String key, String region,
+                                     long defaultMaximumSize, Duration defaultExpireAfterWrite) {
+        long maximumSize = environment.getProperty("arka.cache.hibernate." + key + ".maximum-size",
+                Long.class, defaultMaximumSize);
+        Duration expireAfterWrite = environment.getProperty("arka.cache.hibernate." + key + ".expire-after-write",
+                Duration.class, defaultExpireAfterWrite);
+        cacheManager.createCache(region, new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maximumSize))
+                .setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()))
+                .setStatisticsEnabled(true));
+    }
+}
@@ -0,0 +1,43 @@
+package com.arka.arkavalenzuela.infrastructure.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Settings for the virtual-thread execution mode (spring.threads.virtual.enabled=true)
+ * Requests then run on virtual threads instead of the fixed Tomcat worker pool, so the
+ * data source is wrapped to bound how many of them can hold a JDBC connection at once.
+ * The bound defaults to one below the pool size, which leaves a connection for the second
+ * one a table generator takes while its caller still holds the first.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)
+                        && "dataSource".equals(beanName)) {
+                    int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size",
+                            Integer.class, 10);
+                    int maxConnections = environment.getProperty("arka.datasource.max-concurrent-connections",
+                            Integer.class, Math.max(1, poolSize - 1));
+                    Duration acquireTimeout = environment.getProperty("arka.datasource.acquire-timeout",
+                            Duration.class, Duration.ofSeconds(5));
+                    return new ConnectionLimitingDataSource(dataSource, maxConnections, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,171 @@
+package com.arka.arkavalenzuela.infrastructure.observability;
+
+import com.arka.arkavalenzuela.domain.model.CursorPage;
+import com.arka.arkavalenzuela.domain.model.SlicePage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every method of the inbound (use case) and outbound (repository, search, stock...) ports
+ * Each call is recorded in the arka.casos.uso or arka.puertos timer, tagged with the
+ * implementing class, the method and the exception it threw ("none" when it returned),
+ * so call counts, error counts and latency histograms come from the same meter.
+ * Methods returning a collection or a page also record its size in the .elementos summary.
+ * A decorator and its delegate (e.g. the product cache and the JPA adapter) are timed separately.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "arka.metrics.ports.enabled", havingValue = "true", matchIfMissing = true)
+public class PortMetricsAspect {
+
+    static final String USE_CASE_METRIC = "arka.casos.uso";
+    static final String PORT_METRIC = "arka.puertos";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry registry;
+    private final boolean histogram;
+    private final Map<MeterKey, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public PortMetricsAspect(MeterRegistry registry,
+                             @Value("${arka.metrics.ports.histogram:true}") boolean histogram) {
+        this.registry = registry;
+        this.histogram = histogram;
+    }
+
+    @Pointcut("execution(public * com.arka.arkavalenzuela.domain.port.in..*.*(..))")
+    void useCaseMethod() {}
+
+    @Pointcut("execution(public * com.arka.arkavalenzuela.domain.port.out..*.*(..))")
+    void portMethod() {}
+
+    @Around("useCaseMethod()")
+    public Object timeUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, USE_CASE_METRIC);
+    }
+
+    @Around("portMethod()")
+    public Object timePort(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, PORT_METRIC);
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String metric) throws Throwable {
+        Class<?> type = AopUtils.getTargetClass(joinPoint.getTarget());
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodMeters methodMeters = meters.computeIfAbsent(new MeterKey(metric, type, method), this::register);
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            timer(metric, methodMeters.tags.and("excepcion", e.getClass().getSimpleName()))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        methodMeters.ok.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (methodMeters.size != null) {
+            methodMeters.size.record(sizeOf(result));
+        }
+        return result;
+    }
+
+    private MethodMeters register(MeterKey key) {
+        Tags tags = Tags.of("clase", key.type.getSimpleName(), "metodo", key.method.getName());
+        Timer ok = timer(key.metric, tags.and("excepcion", NO_EXCEPTION));
+        DistributionSummary size = isSized(key.method.getReturnType())
+                ? DistributionSummary.builder(key.metric + ".elementos")
+                        .description("Elements returned per call")
+                        .tags(tags)
+                        .publishPercentileHistogram(histogram)
+                        .register(registry)
+                : null;
+        return new MethodMeters(tags, ok, size);
+    }
+
+    /**
+     * Error timers are looked up on failure only, since the exception type is a tag
+     */
+    private Timer timer(String metric, Tags tags) {
+        return Timer.builder(metric)
+                .description(USE_CASE_METRIC.equals(metric) ? "Use case calls" : "Port calls")
+                .tags(tags)
+                .publishPercentileHistogram(histogram)
+                .register(registry);
+    }
+
+    private static boolean isSized(Class<?> returnType) {
+        return Collection.class.isAssignableFrom(returnType) || Map.class.isAssignableFrom(returnType)
+                || SlicePage.class.isAssignableFrom(returnType) || CursorPage.class.isAssignableFrom(returnType);
+    }
+
+    private static int sizeOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof SlicePage<?> page) {
+            return page.getElementos().size();
+        }
+        if (result instanceof CursorPage<?> page) {
+            return page.getElementos().size();
+        }
+        return 0;
+    }
+
+    private static final class MeterKey {
+        private final String metric;
+        private final Class<?> type;
+        private final Method method;
+
+        private MeterKey(String metric, Class<?> type, Method method) {
+            this.metric = metric;
+            this.type = type;
+            this.method = method;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof MeterKey key && metric.equals(key.metric)
+                    && type.equals(key.type) && method.equals(key.method);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metric, type, method);
+        }
+    }
+
+    /**
+     * Meters of one method, resolved on its first call
+     */
+    private static final class MethodMeters {
+        private final Tags tags;
+        private final Timer ok;
+        private final DistributionSummary size;
+
+        private MethodMeters(Tags tags, Timer ok, DistributionSummary size) {
+            this.tags = tags;
+            this.ok = ok;
+            this.size = size;
+        }
+    }
+}
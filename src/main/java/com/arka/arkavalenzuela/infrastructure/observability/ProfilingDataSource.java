@@ -0,0 +1,145 @@
+package com.arka.arkavalenzuela.infrastructure.observability;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Hands out connections whose statements report to the QueryProfiler
+ * Statements record their execution time and bind parameters, result sets count the rows read.
+ * The profiler switch is looked at when a connection is borrowed: with profiling off the
+ * pool's connection is returned as is, so there is no overhead in normal operation.
+ */
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> RESULT_SET_GETTERS = Set.of("getResultSet", "getGeneratedKeys");
+
+    private final QueryProfiler profiler;
+
+    public ProfilingDataSource(DataSource target, QueryProfiler profiler) {
+        super(target);
+        this.profiler = profiler;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = obtainTargetDataSource().getConnection();
+        return profiler.isEnabled() ? profiled(connection) : connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = obtainTargetDataSource().getConnection(username, password);
+        return profiler.isEnabled() ? profiled(connection) : connection;
+    }
+
+    private Connection profiled(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement && STATEMENT_FACTORIES.contains(method.getName())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return proxy(method.getReturnType(), new StatementHandler(statement, sql));
+            }
+            return result;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    /**
+     * Remembers the parameters bound to a statement until it is executed;
+     * for a batch, those of its first entry are kept
+     */
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+        private Map<Integer, Object> firstBatchParameters;
+        private int batchSize;
+
+        private StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch")) {
+                if (batchSize++ == 0) {
+                    firstBatchParameters = new TreeMap<>(parameters);
+                }
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            }
+            Object result = ProfilingDataSource.invoke(statement, method, args);
+            return RESULT_SET_GETTERS.contains(name) && result instanceof ResultSet resultSet
+                    ? countingRows(resultSet, profiler.current())
+                    : result;
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            boolean batch = method.getName().startsWith("executeBatch")
+                    || method.getName().startsWith("executeLargeBatch");
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            long start = System.nanoTime();
+            try {
+                Object result = ProfilingDataSource.invoke(statement, method, args);
+                QueryProfiler.OperationStats stats = record(executed, batch, System.nanoTime() - start);
+                return result instanceof ResultSet resultSet ? countingRows(resultSet, stats) : result;
+            } catch (Throwable e) {
+                record(executed, batch, System.nanoTime() - start);
+                throw e;
+            } finally {
+                if (batch) {
+                    batchSize = 0;
+                }
+            }
+        }
+
+        private QueryProfiler.OperationStats record(String executed, boolean batch, long nanos) {
+            Map<Integer, Object> bound = batch && firstBatchParameters != null ? firstBatchParameters : parameters;
+            return profiler.recordStatement(executed, bound, batch ? batchSize : 1, nanos);
+        }
+
+        private ResultSet countingRows(ResultSet resultSet, QueryProfiler.OperationStats stats) {
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                Object result = ProfilingDataSource.invoke(resultSet, method, args);
+                if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                    stats.rows.increment();
+                }
+                return result;
+            });
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.arka.arkavalenzuela.infrastructure.observability;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.model.domain.NavigableRole;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Hibernate statistics that also charge entity loads and second-level cache lookups
+ * to the port method running on the current thread
+ * Hibernate only reports these events while statistics are enabled, which the
+ * QueryProfiler switches together with its own profiling.
+ */
+public class ProfilingStatistics extends StatisticsImpl {
+
+    private final QueryProfiler profiler;
+
+    public ProfilingStatistics(SessionFactoryImplementor sessionFactory, QueryProfiler profiler) {
+        super(sessionFactory);
+        this.profiler = profiler;
+    }
+
+    /**
+     * Value for the hibernate.stats.factory setting
+     */
+    public static StatisticsFactory factory(QueryProfiler profiler) {
+        return sessionFactory -> {
+            StatisticsImplementor statistics = new ProfilingStatistics(sessionFactory, profiler);
+            profiler.attach(statistics);
+            return statistics;
+        };
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        profiler.current().entityLoads.increment();
+    }
+
+    @Override
+    public void fetchEntity(String entityName) {
+        super.fetchEntity(entityName);
+        profiler.current().entityFetches.increment();
+    }
+
+    @Override
+    public void entityCacheHit(NavigableRole entityName, String regionName) {
+        super.entityCacheHit(entityName, regionName);
+        profiler.current().cacheHits.increment();
+    }
+
+    @Override
+    public void entityCacheMiss(NavigableRole entityName, String regionName) {
+        super.entityCacheMiss(entityName, regionName);
+        profiler.current().cacheMisses.increment();
+    }
+
+    @Override
+    public void collectionCacheHit(NavigableRole role, String regionName) {
+        super.collectionCacheHit(role, regionName);
+        profiler.current().cacheHits.increment();
+    }
+
+    @Override
+    public void collectionCacheMiss(NavigableRole role, String regionName) {
+        super.collectionCacheMiss(role, regionName);
+        profiler.current().cacheMisses.increment();
+    }
+
+    @Override
+    public void queryCacheHit(String hql, String regionName) {
+        super.queryCacheHit(hql, regionName);
+        profiler.current().cacheHits.increment();
+    }
+
+    @Override
+    public void queryCacheMiss(String hql, String regionName) {
+        super.queryCacheMiss(hql, regionName);
+        profiler.current().cacheMisses.increment();
+    }
+}
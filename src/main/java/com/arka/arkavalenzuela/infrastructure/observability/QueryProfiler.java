@@ -0,0 +1,263 @@
+package com.arka.arkavalenzuela.infrastructure.observability;
+
+import org.hibernate.stat.Statistics;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Query profiling that can be switched on and off at runtime
+ * While enabled, every JDBC statement is attributed to the outbound port method running on
+ * the current thread (statements, time, rows fetched) together with the Hibernate events it
+ * caused (entity loads, second-level cache hits and misses), and the slowest statements are
+ * kept with their bind parameters. While disabled nothing is wrapped or counted.
+ */
+public class QueryProfiler {
+
+    static final String NO_OPERATION = "(sin operación)";
+    private static final int MAX_PARAMETER_LENGTH = 100;
+    private static final Comparator<SlowStatement> FASTEST_FIRST = Comparator.comparingLong(SlowStatement::getNanos);
+
+    private final int slowestSize;
+    private final ThreadLocal<String> currentOperation = new ThreadLocal<>();
+    private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private final PriorityQueue<SlowStatement> slowest;
+    private volatile long slowestAdmissionNanos;
+    private volatile boolean enabled;
+    private volatile Statistics hibernateStatistics;
+
+    public QueryProfiler(boolean enabled, int slowestSize) {
+        this.enabled = enabled;
+        this.slowestSize = slowestSize;
+        this.slowest = new PriorityQueue<>(Math.max(1, slowestSize), FASTEST_FIRST);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        Statistics statistics = hibernateStatistics;
+        if (statistics != null) {
+            statistics.setStatisticsEnabled(enabled);
+        }
+    }
+
+    /**
+     * Called once the session factory has built its statistics, which follow the profiler switch
+     */
+    void attach(Statistics statistics) {
+        statistics.setStatisticsEnabled(enabled);
+        this.hibernateStatistics = statistics;
+    }
+
+    public Optional<Statistics> hibernateStatistics() {
+        return Optional.ofNullable(hibernateStatistics);
+    }
+
+    /**
+     * Makes the given operation the one statements are attributed to, returning the previous one
+     * so nested ports (a cache in front of a JPA adapter) hand the label back when they finish
+     */
+    String enter(String operation) {
+        String previous = currentOperation.get();
+        currentOperation.set(operation);
+        return previous;
+    }
+
+    void exit(String previous) {
+        if (previous == null) {
+            currentOperation.remove();
+        } else {
+            currentOperation.set(previous);
+        }
+    }
+
+    OperationStats current() {
+        return operations.computeIfAbsent(currentOperationName(), key -> new OperationStats());
+    }
+
+    /**
+     * Counts an executed statement against the current operation and offers it to the slowest list,
+     * returning the operation's counters so the rows of its result can be added to them
+     */
+    OperationStats recordStatement(String sql, Map<Integer, Object> parameters, int batchSize, long nanos) {
+        String operation = currentOperationName();
+        OperationStats stats = operations.computeIfAbsent(operation, key -> new OperationStats());
+        stats.statements.increment();
+        stats.nanos.add(nanos);
+        stats.maxNanos.accumulate(nanos);
+        if (slowestSize <= 0 || nanos < slowestAdmissionNanos) {
+            return stats;
+        }
+        SlowStatement statement = new SlowStatement(operation, sql, format(parameters), batchSize, nanos, Instant.now());
+        synchronized (slowest) {
+            if (slowest.size() < slowestSize) {
+                slowest.add(statement);
+            } else if (nanos > slowest.peek().getNanos()) {
+                slowest.poll();
+                slowest.add(statement);
+            }
+            slowestAdmissionNanos = slowest.size() < slowestSize ? 0 : slowest.peek().getNanos();
+        }
+        return stats;
+    }
+
+    public Map<String, OperationStats> operations() {
+        return new LinkedHashMap<>(operations);
+    }
+
+    /**
+     * Slowest statements captured since the last reset, slowest first
+     */
+    public List<SlowStatement> slowest() {
+        List<SlowStatement> statements;
+        synchronized (slowest) {
+            statements = new ArrayList<>(slowest);
+        }
+        statements.sort(FASTEST_FIRST.reversed());
+        return statements;
+    }
+
+    public void reset() {
+        operations.clear();
+        synchronized (slowest) {
+            slowest.clear();
+            slowestAdmissionNanos = 0;
+        }
+        Statistics statistics = hibernateStatistics;
+        if (statistics != null) {
+            statistics.clear();
+        }
+    }
+
+    private String currentOperationName() {
+        String operation = currentOperation.get();
+        return operation != null ? operation : NO_OPERATION;
+    }
+
+    private static List<String> format(Map<Integer, Object> parameters) {
+        List<String> formatted = new ArrayList<>(parameters.size());
+        parameters.values().forEach(value -> formatted.add(format(value)));
+        return formatted;
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        String text = String.valueOf(value);
+        return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "…" : text;
+    }
+
+    /**
+     * Counters of one port method
+     */
+    public static final class OperationStats {
+        final LongAdder statements = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        final LongAdder rows = new LongAdder();
+        final LongAdder entityLoads = new LongAdder();
+        final LongAdder entityFetches = new LongAdder();
+        final LongAdder cacheHits = new LongAdder();
+        final LongAdder cacheMisses = new LongAdder();
+
+        public long getStatements() {
+            return statements.sum();
+        }
+
+        public double getTotalMillis() {
+            return toMillis(nanos.sum());
+        }
+
+        public double getMaxMillis() {
+            return toMillis(maxNanos.get());
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public long getEntityLoads() {
+            return entityLoads.sum();
+        }
+
+        public long getEntityFetches() {
+            return entityFetches.sum();
+        }
+
+        public long getCacheHits() {
+            return cacheHits.sum();
+        }
+
+        public long getCacheMisses() {
+            return cacheMisses.sum();
+        }
+    }
+
+    public static final class SlowStatement {
+        private final String operation;
+        private final String sql;
+        private final List<String> parameters;
+        private final int batchSize;
+        private final long nanos;
+        private final Instant executedAt;
+
+        SlowStatement(String operation, String sql, List<String> parameters, int batchSize, long nanos,
+                      Instant executedAt) {
+            this.operation = operation;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.batchSize = batchSize;
+            this.nanos = nanos;
+            this.executedAt = executedAt;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public List<String> getParameters() {
+            return parameters;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public double getMillis() {
+            return toMillis(nanos);
+        }
+
+        public Instant getExecutedAt() {
+            return executedAt;
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
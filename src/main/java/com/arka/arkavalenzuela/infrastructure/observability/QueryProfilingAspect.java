@@ -0,0 +1,37 @@
+package com.arka.arkavalenzuela.infrastructure.observability;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Names the outbound port method running on the current thread, so the QueryProfiler
+ * can charge the statements it issues to it (e.g. ProductPersistenceAdapter.findByPriceRange)
+ */
+@Aspect
+@Component
+public class QueryProfilingAspect {
+
+    private final QueryProfiler profiler;
+
+    public QueryProfilingAspect(QueryProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Around("execution(public * com.arka.arkavalenzuela.domain.port.out..*.*(..))")
+    public Object label(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!profiler.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        String operation = AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        String previous = profiler.enter(operation);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            profiler.exit(previous);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+-- Esquema inicial, equivalente al que generaba ddl-auto=update.
+-- En bases de datos existentes esta versión se marca como aplicada (baseline) sin ejecutarse.
+
+CREATE TABLE categorias (
+    categoria_id BIGINT NOT NULL AUTO_INCREMENT,
+    nombre VARCHAR(255),
+    PRIMARY KEY (categoria_id)
+);
+
+CREATE TABLE productos (
+    producto_id BIGINT NOT NULL AUTO_INCREMENT,
+    nombre VARCHAR(255) NOT NULL,
+    descripcion VARCHAR(255),
+    categoria_id BIGINT,
+    marca VARCHAR(255),
+    precio_unitario DECIMAL(12, 2),
+    stock INT,
+    PRIMARY KEY (producto_id),
+    CONSTRAINT fk_productos_categoria FOREIGN KEY (categoria_id) REFERENCES categorias (categoria_id)
+);
+
+CREATE TABLE clientes (
+    cliente_id BIGINT NOT NULL AUTO_INCREMENT,
+    nombre VARCHAR(255) NOT NULL,
+    email VARCHAR(255),
+    telefono VARCHAR(255),
+    pais VARCHAR(255),
+    ciudad VARCHAR(255),
+    PRIMARY KEY (cliente_id)
+);
+
+CREATE TABLE pedidos (
+    pedido_id BIGINT NOT NULL AUTO_INCREMENT,
+    cliente_id BIGINT,
+    fecha DATETIME(6),
+    total DECIMAL(38, 2),
+    PRIMARY KEY (pedido_id),
+    CONSTRAINT fk_pedidos_cliente FOREIGN KEY (cliente_id) REFERENCES clientes (cliente_id)
+);
+
+CREATE TABLE pedido_producto (
+    pedido_id BIGINT NOT NULL,
+    producto_id BIGINT NOT NULL,
+    PRIMARY KEY (pedido_id, producto_id),
+    CONSTRAINT fk_pedido_producto_pedido FOREIGN KEY (pedido_id) REFERENCES pedidos (pedido_id),
+    CONSTRAINT fk_pedido_producto_producto FOREIGN KEY (producto_id) REFERENCES productos (producto_id)
+);
+
+CREATE TABLE carritos (
+    carrito_id BIGINT NOT NULL AUTO_INCREMENT,
+    cliente_id BIGINT,
+    fecha_creacion DATETIME(6),
+    estado VARCHAR(255),
+    PRIMARY KEY (carrito_id),
+    CONSTRAINT uk_carritos_cliente UNIQUE (cliente_id),
+    CONSTRAINT fk_carritos_cliente FOREIGN KEY (cliente_id) REFERENCES clientes (cliente_id)
+);
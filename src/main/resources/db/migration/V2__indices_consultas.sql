@@ -0,0 +1,30 @@
+-- Índices para las consultas derivadas de los *JpaRepository.
+-- Las claves foráneas (categoria_id, cliente_id) ya tienen índice propio en InnoDB.
+-- InnoDB añade la clave primaria a cada índice secundario, así que los índices de una
+-- columna también sirven para el desempate por id de los listados ordenados.
+
+-- ProductJpaRepository.findByCategoriaNombre (join por nombre de categoría)
+CREATE INDEX idx_categorias_nombre ON categorias (nombre);
+
+-- ProductJpaRepository.findByPriceRange y listado ordenado por precio
+CREATE INDEX idx_productos_precio_unitario ON productos (precio_unitario);
+
+-- Listados ordenados de productos (/productos/ordenados)
+CREATE INDEX idx_productos_nombre ON productos (nombre);
+CREATE INDEX idx_productos_marca ON productos (marca);
+CREATE INDEX idx_productos_stock ON productos (stock);
+
+-- CustomerJpaRepository.findByNombreStartingWith y listados ordenados de clientes
+CREATE INDEX idx_clientes_nombre ON clientes (nombre);
+CREATE INDEX idx_clientes_email ON clientes (email);
+CREATE INDEX idx_clientes_pais ON clientes (pais);
+CREATE INDEX idx_clientes_ciudad ON clientes (ciudad);
+
+-- OrderJpaRepository.findByFechaBetween
+CREATE INDEX idx_pedidos_fecha ON pedidos (fecha);
+
+-- OrderJpaRepository.findByProductosContaining (la clave primaria empieza por pedido_id)
+CREATE INDEX idx_pedido_producto_producto ON pedido_producto (producto_id);
+
+-- CartJpaRepository.findByEstado
+CREATE INDEX idx_carritos_estado ON carritos (estado);
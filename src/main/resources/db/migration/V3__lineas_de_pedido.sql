@@ -0,0 +1,29 @@
+-- Líneas de pedido: cantidad y precio unitario en el momento de la compra.
+-- Sustituyen a la tabla de unión pedido_producto, que no podía guardar cantidades.
+
+CREATE TABLE pedido_lineas (
+    pedido_id BIGINT NOT NULL,
+    linea INT NOT NULL,
+    producto_id BIGINT NOT NULL,
+    cantidad INT NOT NULL,
+    precio_unitario DECIMAL(38, 2) NOT NULL,
+    PRIMARY KEY (pedido_id, linea),
+    CONSTRAINT fk_pedido_lineas_pedido FOREIGN KEY (pedido_id) REFERENCES pedidos (pedido_id),
+    CONSTRAINT fk_pedido_lineas_producto FOREIGN KEY (producto_id) REFERENCES productos (producto_id)
+);
+
+-- OrderJpaRepository.findByProductoId
+CREATE INDEX idx_pedido_lineas_producto ON pedido_lineas (producto_id);
+
+-- Los pedidos existentes pasan a una línea por producto con cantidad 1. El precio de
+-- entonces no se guardaba: se toma el precio actual del producto como mejor aproximación.
+INSERT INTO pedido_lineas (pedido_id, linea, producto_id, cantidad, precio_unitario)
+SELECT pp.pedido_id,
+       ROW_NUMBER() OVER (PARTITION BY pp.pedido_id ORDER BY pp.producto_id) - 1,
+       pp.producto_id,
+       1,
+       COALESCE(p.precio_unitario, 0)
+FROM pedido_producto pp
+JOIN productos p ON p.producto_id = pp.producto_id;
+
+DROP TABLE pedido_producto;
@@ -0,0 +1,36 @@
+-- Modelo de lectura para la analítica de ventas: unidades e importe por día, producto,
+-- ciudad del cliente y categoría del producto. Se actualiza con cada alta, cambio o baja
+-- de pedido, así que cualquier rango de fechas se responde sumando cubetas diarias sin
+-- leer pedidos.
+-- pais y ciudad guardan '' cuando el cliente no los tiene y categoria_id guarda 0 cuando el
+-- producto no tiene categoría, para que formen parte de la clave: las ventas de un mismo día
+-- y producto hechas bajo categorías distintas no se mezclan en una fila.
+
+CREATE TABLE ventas_diarias (
+    dia DATE NOT NULL,
+    producto_id BIGINT NOT NULL,
+    pais VARCHAR(255) NOT NULL,
+    ciudad VARCHAR(255) NOT NULL,
+    categoria_id BIGINT NOT NULL,
+    unidades BIGINT NOT NULL,
+    importe DECIMAL(38, 2) NOT NULL,
+    PRIMARY KEY (dia, producto_id, pais, ciudad, categoria_id)
+);
+
+-- Carga inicial con los pedidos existentes, en la ciudad actual del cliente y la categoría actual
+-- del producto
+INSERT INTO ventas_diarias (dia, producto_id, pais, ciudad, categoria_id, unidades, importe)
+SELECT CAST(p.fecha AS DATE),
+       l.producto_id,
+       COALESCE(c.pais, ''),
+       COALESCE(c.ciudad, ''),
+       COALESCE(pr.categoria_id, 0),
+       SUM(l.cantidad),
+       SUM(l.cantidad * l.precio_unitario)
+FROM pedidos p
+JOIN pedido_lineas l ON l.pedido_id = p.pedido_id
+JOIN productos pr ON pr.producto_id = l.producto_id
+LEFT JOIN clientes c ON c.cliente_id = p.cliente_id
+WHERE p.fecha IS NOT NULL
+GROUP BY CAST(p.fecha AS DATE), l.producto_id, COALESCE(c.pais, ''), COALESCE(c.ciudad, ''),
+         COALESCE(pr.categoria_id, 0);
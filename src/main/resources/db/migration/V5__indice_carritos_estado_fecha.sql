@@ -0,0 +1,6 @@
+-- El barrido de carritos abandonados (AbandonedCartSweeper) lee los carritos ACTIVE más
+-- antiguos que el TTL: un rango sobre (estado, fecha_creacion). El índice compuesto también
+-- sirve a CartJpaRepository.findByEstado, así que sustituye al índice de solo estado.
+CREATE INDEX idx_carritos_estado_fecha ON carritos (estado, fecha_creacion);
+
+DROP INDEX idx_carritos_estado ON carritos;
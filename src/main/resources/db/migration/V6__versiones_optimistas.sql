@@ -0,0 +1,5 @@
+-- Bloqueo optimista de productos y pedidos: cada escritura incrementa la versión y una
+-- escritura hecha sobre una versión ya superada no modifica ninguna fila (conflicto).
+-- Las filas existentes empiezan en la versión 0.
+ALTER TABLE productos ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE pedidos ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,16 @@
+-- Ids de productos y clientes asignados por Hibernate en bloques (generador de tabla con
+-- optimizador pooled), así las inserciones JPA se agrupan en lotes JDBC, cosa que
+-- AUTO_INCREMENT impide. Cada fila guarda el último id del siguiente bloque a repartir;
+-- se siembra por encima de los ids ya existentes. El tamaño del bloque (50) debe coincidir
+-- con allocationSize de las entidades.
+CREATE TABLE id_generadores (
+    entidad VARCHAR(255) NOT NULL,
+    siguiente_id BIGINT NOT NULL,
+    PRIMARY KEY (entidad)
+);
+
+INSERT INTO id_generadores (entidad, siguiente_id)
+SELECT 'productos', COALESCE(MAX(producto_id), 0) + 50 FROM productos;
+
+INSERT INTO id_generadores (entidad, siguiente_id)
+SELECT 'clientes', COALESCE(MAX(cliente_id), 0) + 50 FROM clientes;
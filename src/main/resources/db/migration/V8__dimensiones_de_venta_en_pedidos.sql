@@ -0,0 +1,16 @@
+-- Las ventas de un pedido se cuentan en el país y la ciudad del cliente y en la categoría de
+-- cada producto en el momento del pedido. Se guardan en el pedido y en sus líneas para que
+-- un cambio o una baja del pedido descuente de las mismas cubetas en las que sumó, aunque
+-- el cliente se haya mudado o el producto haya cambiado de categoría desde entonces.
+-- Los pedidos existentes toman los valores actuales, que son con los que V4 cargó sus cubetas.
+ALTER TABLE pedidos ADD COLUMN cliente_pais VARCHAR(255);
+ALTER TABLE pedidos ADD COLUMN cliente_ciudad VARCHAR(255);
+ALTER TABLE pedido_lineas ADD COLUMN categoria_id BIGINT;
+
+UPDATE pedidos
+SET cliente_pais = (SELECT c.pais FROM clientes c WHERE c.cliente_id = pedidos.cliente_id),
+    cliente_ciudad = (SELECT c.ciudad FROM clientes c WHERE c.cliente_id = pedidos.cliente_id);
+
+UPDATE pedido_lineas
+SET categoria_id = (SELECT pr.categoria_id FROM productos pr WHERE pr.producto_id = pedido_lineas.producto_id);
+
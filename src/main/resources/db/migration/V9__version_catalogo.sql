@@ -0,0 +1,11 @@
+-- Versión del catálogo compartida por todas las instancias: cada escritura de productos o
+-- categorías la incrementa en su misma transacción, y los GET condicionales del catálogo la
+-- usan como ETag y su fecha como Last-Modified. Los movimientos de stock no la cambian.
+CREATE TABLE catalogo_version (
+    id INT NOT NULL,
+    version BIGINT NOT NULL,
+    modificado_en TIMESTAMP(3) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO catalogo_version (id, version, modificado_en) VALUES (1, 1, CURRENT_TIMESTAMP(3));
@@ -0,0 +1,141 @@
+package com.arka.arkavalenzuela.application.usecase;
+
+import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.port.in.CategoryUseCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CoalescingCategoryUseCaseTest {
+
+    private static final int CALLERS = 8;
+
+    private final Category perifericos = new Category(3L, "Periféricos");
+
+    private CategoryUseCase delegate;
+    private CoalescingCategoryUseCase useCase;
+    private CountDownLatch release;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = mock(CategoryUseCase.class);
+        useCase = new CoalescingCategoryUseCase(delegate);
+        release = new CountDownLatch(1);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentListingsShareOneCall() throws Exception {
+        List<Category> categorias = List.of(perifericos);
+        when(delegate.getAllCategories()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return categorias;
+        });
+        SingleFlight<?, ?> flight = useCase.flights().get("getAllCategories");
+
+        List<Future<List<Category>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> useCase.getAllCategories()));
+        }
+        awaitUntil(() -> flight.getDeduplicated() == CALLERS - 1);
+        release.countDown();
+
+        for (Future<List<Category>> result : results) {
+            assertSame(categorias, result.get(5, TimeUnit.SECONDS));
+        }
+        verify(delegate, times(1)).getAllCategories();
+        assertEquals(1, flight.getExecuted());
+        assertEquals(0, flight.getInFlight());
+    }
+
+    @Test
+    public void testLookupsOfDifferentIdsAreNotShared() throws Exception {
+        Category audio = new Category(4L, "Audio");
+        when(delegate.getCategoryById(3L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return perifericos;
+        });
+        when(delegate.getCategoryById(4L)).thenReturn(audio);
+        SingleFlight<?, ?> flight = useCase.flights().get("getCategoryById");
+
+        Future<Category> first = executor.submit(() -> useCase.getCategoryById(3L));
+        awaitUntil(() -> flight.getInFlight() == 1);
+
+        assertSame(audio, useCase.getCategoryById(4L));
+        release.countDown();
+        assertSame(perifericos, first.get(5, TimeUnit.SECONDS));
+        assertEquals(0, flight.getDeduplicated());
+    }
+
+    @Test
+    public void testWaitingCallersGetTheSameFailure() throws Exception {
+        when(delegate.getCategoryById(99L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new RuntimeException("Category not found with id: 99");
+        });
+        SingleFlight<?, ?> flight = useCase.flights().get("getCategoryById");
+
+        Future<Category> first = executor.submit(() -> useCase.getCategoryById(99L));
+        awaitUntil(() -> flight.getInFlight() == 1);
+        Future<Category> second = executor.submit(() -> useCase.getCategoryById(99L));
+        awaitUntil(() -> flight.getDeduplicated() == 1);
+        release.countDown();
+
+        for (Future<Category> result : List.of(first, second)) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertEquals("Category not found with id: 99", failure.getCause().getMessage());
+        }
+        verify(delegate, times(1)).getCategoryById(99L);
+    }
+
+    @Test
+    public void testCallersAfterAWriteDoNotJoinAnOlderRead() throws Exception {
+        Category renombrada = new Category(3L, "Accesorios");
+        CountDownLatch reading = new CountDownLatch(1);
+        when(delegate.getCategoryById(3L))
+                .thenAnswer(invocation -> {
+                    reading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return perifericos;
+                })
+                .thenReturn(renombrada);
+        SingleFlight<?, ?> flight = useCase.flights().get("getCategoryById");
+
+        Future<Category> before = executor.submit(() -> useCase.getCategoryById(3L));
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        useCase.updateCategory(3L, renombrada);
+
+        assertSame(renombrada, useCase.getCategoryById(3L));
+        release.countDown();
+        assertSame(perifericos, before.get(5, TimeUnit.SECONDS));
+        assertEquals(0, flight.getDeduplicated());
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the callers");
+            Thread.sleep(1);
+        }
+    }
+}
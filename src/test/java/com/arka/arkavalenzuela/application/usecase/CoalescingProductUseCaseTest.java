@@ -0,0 +1,125 @@
+package com.arka.arkavalenzuela.application.usecase;
+
+import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.port.in.ProductUseCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CoalescingProductUseCaseTest {
+
+    private static final int CALLERS = 8;
+
+    private final Product teclado = new Product(1L, "Teclado", null, new Category(3L, "Periféricos"), "Arka",
+            new BigDecimal("25.00"), 10);
+
+    private ProductUseCase delegate;
+    private CoalescingProductUseCase useCase;
+    private CountDownLatch release;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = mock(ProductUseCase.class);
+        useCase = new CoalescingProductUseCase(delegate);
+        release = new CountDownLatch(1);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentLookupsShareOneCall() throws Exception {
+        when(delegate.getProductById(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return teclado;
+        });
+        SingleFlight<?, ?> flight = useCase.flights().get("getProductById");
+
+        List<Future<Product>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> useCase.getProductById(1L)));
+        }
+        awaitUntil(() -> flight.getDeduplicated() == CALLERS - 1);
+        release.countDown();
+
+        for (Future<Product> result : results) {
+            assertSame(teclado, result.get(5, TimeUnit.SECONDS));
+        }
+        verify(delegate, times(1)).getProductById(1L);
+        assertEquals(1, flight.getExecuted());
+        assertEquals(0, flight.getInFlight());
+    }
+
+    @Test
+    public void testWaitingCallersGetTheSameFailure() throws Exception {
+        when(delegate.getProductsByCategory("Audio")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("base de datos no disponible");
+        });
+        SingleFlight<?, ?> flight = useCase.flights().get("getProductsByCategory");
+
+        Future<List<Product>> first = executor.submit(() -> useCase.getProductsByCategory("Audio"));
+        awaitUntil(() -> flight.getInFlight() == 1);
+        Future<List<Product>> second = executor.submit(() -> useCase.getProductsByCategory("Audio"));
+        awaitUntil(() -> flight.getDeduplicated() == 1);
+        release.countDown();
+
+        for (Future<List<Product>> result : List.of(first, second)) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+        }
+        verify(delegate, times(1)).getProductsByCategory("Audio");
+    }
+
+    @Test
+    public void testCallersAfterAWriteDoNotJoinAnOlderRead() throws Exception {
+        Product actualizado = new Product(1L, "Teclado mecánico", null, teclado.getCategoria(), "Arka",
+                new BigDecimal("30.00"), 10);
+        CountDownLatch reading = new CountDownLatch(1);
+        when(delegate.getProductById(1L))
+                .thenAnswer(invocation -> {
+                    reading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return teclado;
+                })
+                .thenReturn(actualizado);
+        SingleFlight<?, ?> flight = useCase.flights().get("getProductById");
+
+        Future<Product> before = executor.submit(() -> useCase.getProductById(1L));
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        useCase.updateProduct(1L, actualizado);
+
+        assertSame(actualizado, useCase.getProductById(1L));
+        release.countDown();
+        assertSame(teclado, before.get(5, TimeUnit.SECONDS));
+        assertEquals(0, flight.getDeduplicated());
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the callers");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.arka.arkavalenzuela.application.usecase;
+
+import com.arka.arkavalenzuela.domain.exception.VersionConflictException;
+import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.model.Customer;
+import com.arka.arkavalenzuela.domain.model.Order;
+import com.arka.arkavalenzuela.domain.model.OrderLine;
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.model.SalesBucket;
+import com.arka.arkavalenzuela.domain.port.out.CustomerRepositoryPort;
+import com.arka.arkavalenzuela.domain.port.out.OrderRepositoryPort;
+import com.arka.arkavalenzuela.domain.port.out.ProductRepositoryPort;
+import com.arka.arkavalenzuela.domain.port.out.SalesAnalyticsPort;
+import com.arka.arkavalenzuela.domain.port.out.TransactionPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class OrderApplicationServiceTest {
+
+    private final Customer cliente = new Customer(7L, "Cliente", "cliente@arka.com", null, "Colombia", "Bogotá");
+    private final Product teclado = new Product(1L, "Teclado", null, new Category(3L, "Periféricos"), "Arka",
+            new BigDecimal("25.00"), 10);
+
+    private OrderRepositoryPort orderRepository;
+    private SalesAnalyticsPort salesAnalytics;
+    private final AtomicInteger openTransactions = new AtomicInteger();
+    private OrderApplicationService service;
+
+    @BeforeEach
+    public void setUp() {
+        orderRepository = mock(OrderRepositoryPort.class);
+        ProductRepositoryPort productRepository = mock(ProductRepositoryPort.class);
+        CustomerRepositoryPort customerRepository = mock(CustomerRepositoryPort.class);
+        salesAnalytics = mock(SalesAnalyticsPort.class);
+        when(productRepository.findAllById(any())).thenReturn(List.of(teclado));
+        when(customerRepository.findById(7L)).thenReturn(Optional.of(cliente));
+        when(orderRepository.save(any())).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(100L);
+            return order;
+        });
+        TransactionPort transactions = mock(TransactionPort.class);
+        when(transactions.inTransaction(any())).thenAnswer(invocation -> {
+            openTransactions.incrementAndGet();
+            try {
+                return invocation.<Supplier<?>>getArgument(0).get();
+            } finally {
+                openTransactions.decrementAndGet();
+            }
+        });
+        service = new OrderApplicationService(orderRepository, productRepository, customerRepository, salesAnalytics,
+                transactions, new RetryPolicy(3, Duration.ZERO, Duration.ZERO));
+    }
+
+    @Test
+    public void testCreateOrderPricesLinesAndRecordsSales() {
+        Order created = service.createOrder(requestedOrder(3));
+
+        assertEquals(new BigDecimal("75.00"), created.getTotal());
+        SalesBucket bucket = recordedBuckets().get(0);
+        assertEquals(created.getFecha().toLocalDate(), bucket.getDia());
+        assertEquals(3L, bucket.getCategoriaId());
+        assertEquals("Bogotá", bucket.getCiudad());
+        assertEquals(3, bucket.getUnidades());
+        assertEquals(new BigDecimal("75.00"), bucket.getImporte());
+    }
+
+    @Test
+    public void testDeleteOrderRecordsNegativeSales() {
+        Order stored = new Order(100L, cliente, LocalDateTime.of(2024, 3, 1, 10, 0), new BigDecimal("50.00"),
+                new ArrayList<>(List.of(new OrderLine(1L, 2, new BigDecimal("25.00")))));
+        when(orderRepository.findById(100L)).thenReturn(Optional.of(stored));
+
+        service.deleteOrder(100L);
+
+        verify(orderRepository).delete(stored);
+        SalesBucket bucket = recordedBuckets().get(0);
+        assertEquals(-2, bucket.getUnidades());
+        assertEquals(new BigDecimal("-50.00"), bucket.getImporte());
+    }
+
+    @Test
+    public void testDeleteNegatesTheCityTheOrderWasPlacedIn() {
+        Order created = service.createOrder(requestedOrder(2));
+        Order stored = new Order(created.getId(), new Customer(7L, "Cliente", "cliente@arka.com", null, "Colombia",
+                "Medellín"), created.getFecha(), created.getTotal(), new ArrayList<>(created.getLineas()));
+        stored.setClientePais(created.getClientePais());
+        stored.setClienteCiudad(created.getClienteCiudad());
+        when(orderRepository.findById(100L)).thenReturn(Optional.of(stored));
+        clearInvocations(salesAnalytics);
+
+        service.deleteOrder(100L);
+
+        SalesBucket bucket = recordedBuckets().get(0);
+        assertEquals("Bogotá", bucket.getCiudad());
+        assertEquals(3L, bucket.getCategoriaId());
+        assertEquals(-2, bucket.getUnidades());
+    }
+
+    @Test
+    public void testOrderAndSalesAreWrittenInOneTransaction() {
+        List<Integer> openAtWrite = new ArrayList<>();
+        doAnswer(invocation -> {
+            openAtWrite.add(openTransactions.get());
+            return invocation.getArgument(0);
+        }).when(orderRepository).save(any());
+        doAnswer(invocation -> {
+            openAtWrite.add(openTransactions.get());
+            throw new RuntimeException("ventas_diarias locked");
+        }).when(salesAnalytics).record(any());
+
+        RuntimeException failure = assertThrows(RuntimeException.class, () -> service.createOrder(requestedOrder(1)));
+
+        assertEquals("ventas_diarias locked", failure.getMessage());
+        assertEquals(List.of(1, 1), openAtWrite);
+    }
+
+    @Test
+    public void testUnknownProductIsRejected() {
+        Order order = requestedOrder(1);
+        order.getLineas().add(new OrderLine(99L, 1, null));
+
+        assertThrows(IllegalArgumentException.class, () -> service.createOrder(order));
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    public void testUpdateRereadsAndRetriesAfterAVersionConflict() {
+        when(orderRepository.findById(100L))
+                .thenReturn(Optional.of(storedOrder(4L)))
+                .thenReturn(Optional.of(storedOrder(5L)));
+        List<Long> savedVersions = new ArrayList<>();
+        doAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            savedVersions.add(order.getVersion());
+            if (savedVersions.size() == 1) {
+                throw new VersionConflictException("Order", 100L);
+            }
+            return order;
+        }).when(orderRepository).save(any());
+
+        Order updated = service.updateOrder(100L, requestedOrder(3));
+
+        assertEquals(List.of(4L, 5L), savedVersions);
+        assertEquals(new BigDecimal("75.00"), updated.getTotal());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 10, 0), updated.getFecha());
+    }
+
+    @Test
+    public void testUpdateGivesUpAfterTheLastAttempt() {
+        when(orderRepository.findById(100L)).thenReturn(Optional.of(storedOrder(4L)));
+        doThrow(new VersionConflictException("Order", 100L)).when(orderRepository).save(any());
+
+        assertThrows(VersionConflictException.class, () -> service.updateOrder(100L, requestedOrder(3)));
+        verify(orderRepository, times(3)).save(any());
+        verify(salesAnalytics, never()).record(any());
+    }
+
+    @Test
+    public void testStaleClientVersionIsAConflictWithoutRetrying() {
+        when(orderRepository.findById(100L)).thenReturn(Optional.of(storedOrder(5L)));
+        Order order = requestedOrder(3);
+        order.setVersion(4L);
+
+        assertThrows(VersionConflictException.class, () -> service.updateOrder(100L, order));
+        verify(orderRepository, times(1)).findById(100L);
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    public void testDeleteRereadsAndTakesBackTheSalesOfTheVersionItRemoved() {
+        Order updatedMeanwhile = storedOrder(5L);
+        updatedMeanwhile.setLineas(new ArrayList<>(List.of(new OrderLine(1L, 3, new BigDecimal("25.00")))));
+        when(orderRepository.findById(100L))
+                .thenReturn(Optional.of(storedOrder(4L)))
+                .thenReturn(Optional.of(updatedMeanwhile));
+        List<Long> deletedVersions = new ArrayList<>();
+        doAnswer(invocation -> {
+            deletedVersions.add(invocation.<Order>getArgument(0).getVersion());
+            if (deletedVersions.size() == 1) {
+                throw new VersionConflictException("Order", 100L);
+            }
+            return null;
+        }).when(orderRepository).delete(any());
+
+        service.deleteOrder(100L);
+
+        assertEquals(List.of(4L, 5L), deletedVersions);
+        verify(salesAnalytics, times(1)).record(any());
+        assertEquals(-3, recordedBuckets().get(0).getUnidades());
+    }
+
+    @Test
+    public void testDeleteGivesUpAfterTheLastAttempt() {
+        when(orderRepository.findById(100L)).thenReturn(Optional.of(storedOrder(4L)));
+        doThrow(new VersionConflictException("Order", 100L)).when(orderRepository).delete(any());
+
+        assertThrows(VersionConflictException.class, () -> service.deleteOrder(100L));
+        verify(orderRepository, times(3)).delete(any());
+        verify(salesAnalytics, never()).record(any());
+    }
+
+    private Order storedOrder(Long version) {
+        Order stored = new Order(100L, cliente, LocalDateTime.of(2024, 3, 1, 10, 0), new BigDecimal("50.00"),
+                new ArrayList<>(List.of(new OrderLine(1L, 2, new BigDecimal("25.00")))));
+        stored.setVersion(version);
+        return stored;
+    }
+
+    private Order requestedOrder(int cantidad) {
+        Customer customer = new Customer();
+        customer.setId(7L);
+        Order order = new Order();
+        order.setCliente(customer);
+        order.setLineas(new ArrayList<>(List.of(new OrderLine(1L, cantidad, null))));
+        return order;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SalesBucket> recordedBuckets() {
+        ArgumentCaptor<List<SalesBucket>> captor = ArgumentCaptor.forClass(List.class);
+        verify(salesAnalytics).record(captor.capture());
+        return captor.getValue();
+    }
+}
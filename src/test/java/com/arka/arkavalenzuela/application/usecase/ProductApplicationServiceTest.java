@@ -0,0 +1,67 @@
+package com.arka.arkavalenzuela.application.usecase;
+
+import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.port.out.CategoryRepositoryPort;
+import com.arka.arkavalenzuela.domain.port.out.ProductRepositoryPort;
+import com.arka.arkavalenzuela.domain.port.out.ProductSearchPort;
+import com.arka.arkavalenzuela.domain.port.out.StockReservationPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ProductApplicationServiceTest {
+
+    private ProductRepositoryPort productRepository;
+    private ProductSearchPort productSearch;
+    private ProductApplicationService service;
+
+    @BeforeEach
+    public void setUp() {
+        productRepository = mock(ProductRepositoryPort.class);
+        productSearch = mock(ProductSearchPort.class);
+        StockReservationPort stockReservation = mock(StockReservationPort.class);
+        when(stockReservation.overwriteStock(anyLong(), any()))
+                .thenAnswer(invocation -> invocation.<IntSupplier>getArgument(1).getAsInt());
+        service = new ProductApplicationService(productRepository, mock(CategoryRepositoryPort.class), productSearch,
+                stockReservation, 100);
+    }
+
+    @Test
+    public void testUpdateReturnsAndIndexesTheStoredProduct() {
+        Product stored = new Product(1L, "Teclado mecánico", null, new Category(3L, "Periféricos"), "Arka",
+                new BigDecimal("30.00"), 10);
+        stored.setVersion(5L);
+        when(productRepository.updateIfExists(any())).thenReturn(1);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(stored));
+
+        Product updated = service.updateProduct(1L, requestedProduct());
+
+        assertSame(stored, updated);
+        assertEquals(5L, updated.getVersion());
+        assertEquals("Periféricos", updated.getCategoria().getNombre());
+        verify(productSearch).index(stored);
+    }
+
+    @Test
+    public void testUpdateOfAnUnknownProductIsNotFound() {
+        when(productRepository.updateIfExists(any())).thenReturn(0);
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> service.updateProduct(99L, requestedProduct()));
+
+        assertEquals("Product not found with id: 99", error.getMessage());
+        verify(productSearch, never()).index(any());
+    }
+
+    private Product requestedProduct() {
+        Category categoria = new Category();
+        categoria.setId(3L);
+        return new Product(null, "Teclado mecánico", null, categoria, "Arka", new BigDecimal("30.00"), 10);
+    }
+}
@@ -0,0 +1,77 @@
+package com.arka.arkavalenzuela.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CursorPageTest {
+
+    private final List<Long> requestedAfter = new ArrayList<>();
+
+    @Test
+    public void testNextCursorIsTheLastReturnedId() {
+        CursorPage<Long> first = CursorPage.read(null, 3, table(10), Function.identity());
+
+        assertEquals(List.of(1L, 2L, 3L), first.getElementos());
+        assertEquals(3L, first.getSiguienteCursor());
+        assertTrue(first.hasNext());
+
+        CursorPage<Long> second = CursorPage.read(first.getSiguienteCursor(), 3, table(10), Function.identity());
+        assertEquals(List.of(4L, 5L, 6L), second.getElementos());
+        assertEquals(List.of(0L, 3L), requestedAfter);
+    }
+
+    @Test
+    public void testPageThatReachesTheEndHasNoNextCursor() {
+        CursorPage<Long> exact = CursorPage.read(7L, 3, table(10), Function.identity());
+        CursorPage<Long> partial = CursorPage.read(8L, 3, table(10), Function.identity());
+        CursorPage<Long> empty = CursorPage.read(10L, 3, table(10), Function.identity());
+
+        assertEquals(List.of(8L, 9L, 10L), exact.getElementos());
+        assertNull(exact.getSiguienteCursor());
+        assertEquals(List.of(9L, 10L), partial.getElementos());
+        assertFalse(partial.hasNext());
+        assertTrue(empty.getElementos().isEmpty());
+        assertFalse(empty.hasNext());
+    }
+
+    @Test
+    public void testLimitMustBeBetweenOneAndTheMaximum() {
+        assertThrows(IllegalArgumentException.class, () -> CursorPage.read(null, 0, table(10), Function.identity()));
+        assertThrows(IllegalArgumentException.class,
+                () -> CursorPage.read(null, CursorPage.MAX_LIMIT + 1, table(10), Function.identity()));
+        assertEquals(1, CursorPage.read(null, 1, table(10), Function.identity()).getElementos().size());
+        assertEquals(10, CursorPage.read(null, CursorPage.MAX_LIMIT, table(10), Function.identity())
+                .getElementos().size());
+    }
+
+    @Test
+    public void testForEachWalksEveryRowOnePageAtATime() {
+        int rows = 2 * CursorPage.MAX_LIMIT + 5;
+        List<Long> seen = new ArrayList<>();
+
+        CursorPage.forEach(table(rows), Function.identity(), seen::add);
+
+        assertEquals(LongStream.rangeClosed(1, rows).boxed().collect(Collectors.toList()), seen);
+        assertEquals(List.of(0L, (long) CursorPage.MAX_LIMIT, 2L * CursorPage.MAX_LIMIT), requestedAfter);
+    }
+
+    /**
+     * Ids 1 to rows, answering like a keyset query and recording where each page started
+     */
+    private CursorPage.Reader<Long> table(int rows) {
+        return (afterId, limit) -> {
+            requestedAfter.add(afterId);
+            return LongStream.rangeClosed(afterId + 1, rows)
+                    .limit(limit)
+                    .boxed()
+                    .collect(Collectors.toList());
+        };
+    }
+}
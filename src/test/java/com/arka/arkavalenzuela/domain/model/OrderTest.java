@@ -0,0 +1,59 @@
+package com.arka.arkavalenzuela.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderTest {
+
+    private final Product teclado = new Product(1L, "Teclado", null, null, "Arka", new BigDecimal("25.50"), 10);
+    private final Product monitor = new Product(2L, "Monitor", null, null, "Arka", new BigDecimal("199.99"), 3);
+
+    @Test
+    public void testAddProductKeepsTotalAndMergesLines() {
+        Order order = new Order();
+
+        order.addProduct(teclado, 2);
+        order.addProduct(monitor);
+        order.addProduct(teclado);
+
+        assertEquals(2, order.getLineas().size());
+        assertEquals(3, order.getLineas().get(0).getCantidad());
+        assertEquals(new BigDecimal("276.49"), order.getTotal());
+        assertEquals(order.calculateTotal(), order.getTotal());
+    }
+
+    @Test
+    public void testRemoveProductSubtractsItsLine() {
+        Order order = new Order();
+        order.addProduct(teclado, 2);
+        order.addProduct(monitor);
+
+        order.removeProduct(teclado);
+
+        assertEquals(1, order.getLineas().size());
+        assertEquals(new BigDecimal("199.99"), order.getTotal());
+    }
+
+    @Test
+    public void testLinesKeepThePriceTheyWereOrderedAt() {
+        Order order = new Order();
+        order.addProduct(teclado, 2);
+
+        teclado.setPrecioUnitario(new BigDecimal("30.00"));
+
+        assertEquals(new BigDecimal("51.00"), order.calculateTotal());
+    }
+
+    @Test
+    public void testAddProductRejectsInvalidQuantityOrUnavailableProduct() {
+        Order order = new Order();
+        Product agotado = new Product(3L, "Ratón", null, null, "Arka", BigDecimal.TEN, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> order.addProduct(teclado, 0));
+        assertThrows(IllegalArgumentException.class, () -> order.addProduct(agotado));
+        assertTrue(order.getLineas().isEmpty());
+    }
+}
@@ -0,0 +1,165 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.async;
+
+import com.arka.arkavalenzuela.domain.model.Customer;
+import com.arka.arkavalenzuela.domain.model.Order;
+import com.arka.arkavalenzuela.domain.port.in.OrderUseCase;
+import com.arka.arkavalenzuela.infrastructure.config.ReadReplicaRouting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class OrderSubmissionQueueTest {
+
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final CountDownLatch firstOrderStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstOrder = new CountDownLatch(1);
+
+    private OrderUseCase orderUseCase;
+    private OrderSubmissionQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        orderUseCase = mock(OrderUseCase.class);
+        when(orderUseCase.createOrder(any())).thenAnswer(invocation -> {
+            firstOrderStarted.countDown();
+            releaseFirstOrder.await(5, TimeUnit.SECONDS);
+            return created(invocation.getArgument(0));
+        });
+        when(orderUseCase.createOrders(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            List<Order> result = new ArrayList<>();
+            orders.forEach(order -> result.add(created(order)));
+            return result;
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        releaseFirstOrder.countDown();
+        queue.close();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testOrdersQueuedWhileDrainerIsBusyAreCreatedAsOneGroup() throws Exception {
+        queue = new OrderSubmissionQueue(orderUseCase, (ReadReplicaRouting) null, 1000, 100, 1, Duration.ofMinutes(1));
+        String first = queue.submit(order(1L));
+        assertTrue(firstOrderStarted.await(5, TimeUnit.SECONDS));
+
+        List<String> tickets = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tickets.add(queue.submit(order(1L)));
+        }
+        assertTrue(queue.status(tickets.get(0)).orElseThrow().isPending());
+        releaseFirstOrder.countDown();
+
+        awaitCompletion(first);
+        tickets.forEach(this::awaitCompletion);
+        for (String ticket : tickets) {
+            OrderSubmissionStatus status = queue.status(ticket).orElseThrow();
+            assertEquals(OrderSubmissionStatus.CREADO, status.getEstado());
+            assertNotNull(status.getPedidoId());
+        }
+        verify(orderUseCase, times(1)).createOrder(any());
+        verify(orderUseCase, times(1)).createOrders(argThat(orders -> orders.size() == 50));
+    }
+
+    @Test
+    public void testRefusedGroupIsRetriedOrderByOrder() throws Exception {
+        Order invalid = order(null);
+        when(orderUseCase.createOrders(anyList())).thenThrow(new IllegalArgumentException("Order must have a customer"));
+        when(orderUseCase.createOrder(invalid)).thenThrow(new IllegalArgumentException("Order must have a customer"));
+        queue = new OrderSubmissionQueue(orderUseCase, (ReadReplicaRouting) null, 1000, 100, 1, Duration.ofMinutes(1));
+        String first = queue.submit(order(1L));
+        assertTrue(firstOrderStarted.await(5, TimeUnit.SECONDS));
+
+        String valid = queue.submit(order(1L));
+        String rejected = queue.submit(invalid);
+        releaseFirstOrder.countDown();
+
+        awaitCompletion(first);
+        awaitCompletion(valid);
+        awaitCompletion(rejected);
+        assertEquals(OrderSubmissionStatus.CREADO, queue.status(valid).orElseThrow().getEstado());
+        OrderSubmissionStatus status = queue.status(rejected).orElseThrow();
+        assertEquals(OrderSubmissionStatus.RECHAZADO, status.getEstado());
+        assertEquals("Order must have a customer", status.getError());
+    }
+
+    @Test
+    public void testFullQueueRefusesSubmissions() throws Exception {
+        queue = new OrderSubmissionQueue(orderUseCase, (ReadReplicaRouting) null, 1, 100, 1, Duration.ofMinutes(1));
+        queue.submit(order(1L));
+        assertTrue(firstOrderStarted.await(5, TimeUnit.SECONDS));
+        queue.submit(order(1L));
+
+        assertThrows(RejectedExecutionException.class, () -> queue.submit(order(1L)));
+        assertEquals(1, queue.pending());
+    }
+
+    @Test
+    public void testSubmittingClientReadsFromThePrimaryOnceItsOrderIsCreated() {
+        ReadReplicaRouting routing = new ReadReplicaRouting(mock(DataSource.class), Set.of("OrderUseCase"),
+                List.of("get"), Duration.ofMinutes(1));
+        queue = new OrderSubmissionQueue(orderUseCase, routing, 10, 10, 1, Duration.ofMinutes(1));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Cliente", "tienda-1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        releaseFirstOrder.countDown();
+
+        awaitCompletion(queue.submit(order(1L)));
+
+        assertEquals(ReadReplicaRouting.Route.PRIMARY, routing.routeRead("tienda-1"));
+        assertEquals(ReadReplicaRouting.Route.REPLICA, routing.routeRead("tienda-2"));
+    }
+
+    @Test
+    public void testUnknownTicketHasNoStatus() {
+        queue = new OrderSubmissionQueue(orderUseCase, (ReadReplicaRouting) null, 10, 10, 1, Duration.ofMinutes(1));
+
+        assertTrue(queue.status("desconocido").isEmpty());
+    }
+
+    private void awaitCompletion(String ticket) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.status(ticket).orElseThrow().isPending()) {
+            if (System.nanoTime() > deadline) {
+                fail("Order " + ticket + " was not processed");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private Order order(Long clienteId) {
+        Order order = new Order();
+        if (clienteId != null) {
+            Customer customer = new Customer();
+            customer.setId(clienteId);
+            order.setCliente(customer);
+        }
+        order.setLineas(new ArrayList<>());
+        return order;
+    }
+
+    private Order created(Order order) {
+        order.setId(nextId.getAndIncrement());
+        return order;
+    }
+}
@@ -0,0 +1,36 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.scheduler;
+
+import com.arka.arkavalenzuela.domain.port.in.CartUseCase;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AbandonedCartSweeperTest {
+
+    @Test
+    public void testSweepAbandonsCartsOlderThanTtlAndRecordsMetrics() {
+        CartUseCase cartUseCase = mock(CartUseCase.class);
+        when(cartUseCase.abandonCartsCreatedBefore(any())).thenReturn(42, 0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(Instant.parse("2024-05-10T12:00:00Z"), ZoneOffset.UTC);
+        AbandonedCartSweeper sweeper = new AbandonedCartSweeper(cartUseCase, registry, Duration.ofHours(24), clock);
+
+        assertEquals(42, sweeper.sweep());
+        sweeper.sweep();
+
+        verify(cartUseCase, times(2)).abandonCartsCreatedBefore(LocalDateTime.of(2024, 5, 9, 12, 0));
+        assertEquals(2, registry.get("arka.carritos.barrido").timer().count());
+        DistributionSummary abandoned = registry.get("arka.carritos.abandonados").summary();
+        assertEquals(2, abandoned.count());
+        assertEquals(42, abandoned.totalAmount());
+    }
+}
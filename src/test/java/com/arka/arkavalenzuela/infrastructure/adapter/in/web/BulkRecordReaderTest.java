@@ -0,0 +1,87 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
+
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.ProductDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkRecordReaderTest {
+
+    private final BulkRecordReader reader = new BulkRecordReader(new ObjectMapper());
+
+    @Test
+    public void testReadsCsvByHeader() {
+        String csv = """
+                nombre,categoriaId,precioUnitario,stock,descripcion
+                Teclado,1,25.50,10,"Mecánico, retroiluminado"
+                "Monitor \"\"4K\"\"",2,300,,
+                """;
+
+        List<ProductDto> products = readAll(csv, MediaType.parseMediaType(BulkRecordReader.TEXT_CSV_VALUE));
+
+        assertEquals(2, products.size());
+        assertEquals("Teclado", products.get(0).getNombre());
+        assertEquals(1L, products.get(0).getCategoriaId());
+        assertEquals(new BigDecimal("25.50"), products.get(0).getPrecioUnitario());
+        assertEquals("Mecánico, retroiluminado", products.get(0).getDescripcion());
+        assertEquals("Monitor \"4K\"", products.get(1).getNombre());
+        assertNull(products.get(1).getStock());
+    }
+
+    @Test
+    public void testReadsNdjson() {
+        String ndjson = """
+                {"nombre":"Teclado","categoriaId":1,"precioUnitario":25.50}
+
+                {"nombre":"Monitor","categoriaId":2,"precioUnitario":300}
+                """;
+
+        List<ProductDto> products = readAll(ndjson, MediaType.APPLICATION_NDJSON);
+
+        assertEquals(2, products.size());
+        assertEquals("Monitor", products.get(1).getNombre());
+    }
+
+    @Test
+    public void testMalformedRecordDoesNotStopTheStream() {
+        String ndjson = """
+                {"nombre":"Teclado","categoriaId":1}
+                {"nombre":"Roto",
+                {"nombre":"Monitor","categoriaId":2}
+                """;
+
+        try (Stream<ProductDto> records = read(ndjson, MediaType.APPLICATION_NDJSON)) {
+            Iterator<ProductDto> iterator = records.iterator();
+            assertEquals("Teclado", iterator.next().getNombre());
+            assertThrows(IllegalArgumentException.class, iterator::hasNext);
+            assertTrue(iterator.hasNext());
+            assertEquals("Monitor", iterator.next().getNombre());
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test
+    public void testRejectsUnsupportedContentType() {
+        assertThrows(IllegalArgumentException.class, () -> read("{}", MediaType.APPLICATION_XML));
+    }
+
+    private List<ProductDto> readAll(String body, MediaType contentType) {
+        try (Stream<ProductDto> records = read(body, contentType)) {
+            return new ArrayList<>(records.toList());
+        }
+    }
+
+    private Stream<ProductDto> read(String body, MediaType contentType) {
+        return reader.read(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), contentType, ProductDto.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
+
+import com.arka.arkavalenzuela.application.usecase.CatalogVersionApplicationService;
+import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.port.in.CategoryUseCase;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.mapper.CategoryWebMapper;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.InMemoryCatalogVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class CatalogConditionalRequestsTest {
+
+    private CategoryUseCase categoryUseCase;
+    private InMemoryCatalogVersion catalogVersion;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        categoryUseCase = mock(CategoryUseCase.class);
+        when(categoryUseCase.getAllCategories()).thenReturn(List.of(new Category(1L, "Audio")));
+        catalogVersion = new InMemoryCatalogVersion();
+        CatalogVersionApplicationService catalogVersionUseCase = new CatalogVersionApplicationService(catalogVersion);
+        CategoryController controller = new CategoryController(categoryUseCase, new CategoryWebMapper(),
+                new NdjsonResponseWriter(new ObjectMapper()), new CatalogConditionalRequests(catalogVersionUseCase),
+                new CatalogJsonCache(catalogVersionUseCase, new ObjectMapper(), 1 << 20, 1024));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    public void testAnswersNotModifiedWithoutReadingTheCatalog() throws Exception {
+        MvcResult first = mockMvc.perform(get("/categorias"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/categorias").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(categoryUseCase, times(1)).getAllCategories();
+    }
+
+    @Test
+    public void testCatalogWriteInvalidatesTheETag() throws Exception {
+        String etag = mockMvc.perform(get("/categorias"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        catalogVersion.changed();
+
+        MvcResult second = mockMvc.perform(get("/categorias").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nombre").value("Audio"))
+                .andReturn();
+        assertNotEquals(etag, second.getResponse().getHeader(HttpHeaders.ETAG));
+        verify(categoryUseCase, times(2)).getAllCategories();
+    }
+
+    @Test
+    public void testGzipAndIdentityBodiesShareAWeakETag() throws Exception {
+        CatalogVersionApplicationService catalogVersionUseCase = new CatalogVersionApplicationService(catalogVersion);
+        CategoryController controller = new CategoryController(categoryUseCase, new CategoryWebMapper(),
+                new NdjsonResponseWriter(new ObjectMapper()), new CatalogConditionalRequests(catalogVersionUseCase),
+                new CatalogJsonCache(catalogVersionUseCase, new ObjectMapper(), 1 << 20, 0));
+        MockMvc compressing = MockMvcBuilders.standaloneSetup(controller).build();
+
+        MvcResult gzip = compressing.perform(get("/categorias").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        MvcResult identity = compressing.perform(get("/categorias"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+        String etag = gzip.getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue(etag.startsWith("W/\""), etag);
+        assertEquals(etag, identity.getResponse().getHeader(HttpHeaders.ETAG));
+
+        compressing.perform(get("/categorias").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -0,0 +1,102 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
+
+import com.arka.arkavalenzuela.application.usecase.CatalogVersionApplicationService;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.InMemoryCatalogVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogJsonCacheTest {
+
+    private InMemoryCatalogVersion catalogVersion;
+    private CatalogJsonCache cache;
+    private AtomicInteger builds;
+
+    @BeforeEach
+    public void setUp() {
+        catalogVersion = new InMemoryCatalogVersion();
+        cache = new CatalogJsonCache(new CatalogVersionApplicationService(catalogVersion), new ObjectMapper(),
+                1 << 20, 64);
+        builds = new AtomicInteger();
+    }
+
+    @Test
+    public void testServesTheSameBytesUntilTheCatalogChanges() {
+        ResponseEntity<byte[]> first = cache.respond("categorias", request(null), body("Audio"));
+        ResponseEntity<byte[]> second = cache.respond("categorias", request(null), body("Audio"));
+
+        assertEquals("[{\"nombre\":\"Audio\"}]", new String(first.getBody(), StandardCharsets.UTF_8));
+        assertSame(first.getBody(), second.getBody());
+        assertEquals(1, builds.get());
+
+        catalogVersion.changed();
+        ResponseEntity<byte[]> third = cache.respond("categorias", request(null), body("Vídeo"));
+
+        assertEquals("[{\"nombre\":\"Vídeo\"}]", new String(third.getBody(), StandardCharsets.UTF_8));
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    public void testSendsPrecompressedBodyToClientsAcceptingGzip() throws IOException {
+        Supplier<Object> large = body("Altavoces inalámbricos de estantería con Bluetooth");
+
+        ResponseEntity<byte[]> plain = cache.respond("grande", request(null), large);
+        ResponseEntity<byte[]> compressed = cache.respond("grande", request("br, gzip;q=0.8"), large);
+
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", compressed.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(compressed.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.getBody()))) {
+            assertArrayEquals(plain.getBody(), in.readAllBytes());
+        }
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    public void testSmallBodiesAreNotCompressed() {
+        ResponseEntity<byte[]> response = cache.respond("pequeno", request("gzip"), body("A"));
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getHeaders().getVary().isEmpty());
+    }
+
+    @Test
+    public void testAcceptsGzip() {
+        assertTrue(CatalogJsonCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(CatalogJsonCache.acceptsGzip("*"));
+        assertFalse(CatalogJsonCache.acceptsGzip("gzip;q=0, br"));
+        assertFalse(CatalogJsonCache.acceptsGzip("identity"));
+        assertFalse(CatalogJsonCache.acceptsGzip(null));
+    }
+
+    private Supplier<Object> body(String nombre) {
+        return () -> {
+            builds.incrementAndGet();
+            return List.of(Map.of("nombre", nombre));
+        };
+    }
+
+    private static WebRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/categorias");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return new ServletWebRequest(request);
+    }
+}
@@ -0,0 +1,87 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
+
+import com.arka.arkavalenzuela.application.usecase.CustomerApplicationService;
+import com.arka.arkavalenzuela.domain.model.Customer;
+import com.arka.arkavalenzuela.domain.model.FieldMask;
+import com.arka.arkavalenzuela.domain.port.out.CustomerRepositoryPort;
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.mapper.CustomerWebMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class CustomerPatchRequestsTest {
+
+    private CustomerRepositoryPort customerRepository;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        customerRepository = mock(CustomerRepositoryPort.class);
+        ObjectMapper objectMapper = new ObjectMapper();
+        CustomerController controller = new CustomerController(new CustomerApplicationService(customerRepository, 100),
+                new CustomerWebMapper(), new NdjsonResponseWriter(objectMapper), new BulkRecordReader(objectMapper),
+                objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    public void testWritesOnlyTheFieldsInTheBody() throws Exception {
+        when(customerRepository.updateFields(eq(7L), any(), any())).thenReturn(1);
+        when(customerRepository.findById(7L)).thenReturn(Optional.of(
+                new Customer(7L, "Cliente", "cliente@arka.com", null, "Colombia", "Medellín")));
+
+        mockMvc.perform(patch("/usuarios/7").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ciudad\": \"Medellín\", \"telefono\": null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre").value("Cliente"))
+                .andExpect(jsonPath("$.ciudad").value("Medellín"));
+
+        ArgumentCaptor<Customer> changes = ArgumentCaptor.forClass(Customer.class);
+        ArgumentCaptor<FieldMask> mask = ArgumentCaptor.forClass(FieldMask.class);
+        verify(customerRepository).updateFields(eq(7L), changes.capture(), mask.capture());
+        assertEquals(Set.of("ciudad", "telefono"), mask.getValue().getCampos());
+        assertEquals("Medellín", changes.getValue().getCiudad());
+        assertNull(changes.getValue().getTelefono());
+    }
+
+    @Test
+    public void testFieldsThatCannotBePatchedAreRejected() throws Exception {
+        mockMvc.perform(patch("/usuarios/7").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 9, \"ciudad\": \"Cali\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/usuarios/7").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"sin-arroba\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/usuarios/7").contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(customerRepository, never()).updateFields(anyLong(), any(), any());
+    }
+
+    @Test
+    public void testUnknownCustomerIsNotFound() throws Exception {
+        when(customerRepository.updateFields(eq(99L), any(), any())).thenReturn(0);
+
+        mockMvc.perform(patch("/usuarios/99").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ciudad\": \"Cali\"}"))
+                .andExpect(status().isNotFound());
+
+        verify(customerRepository, never()).findById(anyLong());
+    }
+}
@@ -0,0 +1,50 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.in.web;
+
+import com.arka.arkavalenzuela.infrastructure.adapter.in.web.dto.CategoryDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NdjsonResponseWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final NdjsonResponseWriter writer = new NdjsonResponseWriter(objectMapper);
+
+    @Test
+    public void testWritesOneJsonObjectPerLineInSourceOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.<CategoryDto>stream(consumer -> List.of(category(1L, "Audio"), category(2L, "Vídeo\nHD"))
+                .forEach(consumer)).writeTo(out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Audio", objectMapper.readValue(lines[0], CategoryDto.class).getNombre());
+        assertEquals("Vídeo\nHD", objectMapper.readValue(lines[1], CategoryDto.class).getNombre());
+    }
+
+    @Test
+    public void testEmptySourceWritesNothing() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Consumer<Consumer<CategoryDto>> empty = consumer -> { };
+
+        writer.stream(empty).writeTo(out);
+
+        assertEquals(0, out.size());
+    }
+
+    private static CategoryDto category(Long id, String nombre) {
+        CategoryDto category = new CategoryDto();
+        category.setId(id);
+        category.setNombre(nombre);
+        return category;
+    }
+}
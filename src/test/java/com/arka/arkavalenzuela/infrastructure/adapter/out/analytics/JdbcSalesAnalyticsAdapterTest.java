@@ -0,0 +1,140 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.analytics;
+
+import com.arka.arkavalenzuela.domain.model.SalesBucket;
+import com.arka.arkavalenzuela.domain.model.SalesSummary;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CategoryEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CustomerEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.OrderEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.OrderLineEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JdbcSalesAnalyticsAdapter.class)
+public class JdbcSalesAnalyticsAdapterTest {
+
+    private static final LocalDate DIA = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private JdbcSalesAnalyticsAdapter adapter;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    public void testRecordAddsBucketsWithTheSameKey() {
+        adapter.record(List.of(
+                new SalesBucket(DIA, 1L, 10L, "Colombia", "Bogotá", 2, new BigDecimal("20.00")),
+                new SalesBucket(DIA, 1L, 10L, "Colombia", "Bogotá", 1, new BigDecimal("10.00"))));
+        adapter.record(List.of(
+                new SalesBucket(DIA, 1L, 10L, "Colombia", "Bogotá", 3, new BigDecimal("30.00")),
+                new SalesBucket(DIA.plusDays(1), 2L, 11L, "Chile", null, 1, new BigDecimal("5.50"))));
+
+        List<SalesSummary> byDay = adapter.summarize(DIA, DIA.plusDays(1), "dia");
+
+        assertEquals(2, byDay.size());
+        assertEquals(6, byDay.get(0).getUnidades());
+        assertEquals(0, new BigDecimal("60.00").compareTo(byDay.get(0).getImporte()));
+        assertEquals(1, byDay.get(1).getUnidades());
+    }
+
+    @Test
+    public void testNegativeBucketsCancelDeletedOrders() {
+        SalesBucket sale = new SalesBucket(DIA, 1L, 10L, "Colombia", "Medellín", 2, new BigDecimal("20.00"));
+        adapter.record(List.of(sale));
+
+        adapter.record(List.of(sale.negate()));
+
+        assertTrue(adapter.summarize(DIA, DIA, "ciudad").isEmpty());
+    }
+
+    @Test
+    public void testSummarizeGroupsByDimensionWithinTheRange() {
+        adapter.record(List.of(
+                new SalesBucket(DIA, 1L, 10L, "Colombia", "Bogotá", 1, new BigDecimal("10.00")),
+                new SalesBucket(DIA, 1L, 11L, "Chile", "Santiago", 1, new BigDecimal("15.00")),
+                new SalesBucket(DIA, 2L, 12L, "Colombia", "Cali", 4, new BigDecimal("8.00")),
+                new SalesBucket(DIA.plusDays(10), 1L, 10L, "Colombia", "Bogotá", 9, new BigDecimal("90.00"))));
+
+        List<SalesSummary> byCategory = adapter.summarize(DIA, DIA.plusDays(5), "categoria");
+        List<SalesSummary> byCountry = adapter.summarize(DIA, DIA.plusDays(5), "pais");
+
+        assertEquals(2, byCategory.size());
+        assertEquals("1", byCategory.get(0).getClave());
+        assertEquals(2, byCategory.get(0).getUnidades());
+        assertEquals(0, new BigDecimal("25.00").compareTo(byCategory.get(0).getImporte()));
+        assertEquals("Colombia", byCountry.get(1).getClave());
+        assertEquals(5, byCountry.get(1).getUnidades());
+        assertThrows(IllegalArgumentException.class, () -> adapter.summarize(DIA, DIA, "total; DROP TABLE pedidos"));
+    }
+
+    @Test
+    public void testRebuildRecomputesBucketsFromOrders() {
+        CategoryEntity categoria = new CategoryEntity();
+        categoria.setNombre("Periféricos");
+        entityManager.persist(categoria);
+        ProductEntity producto = new ProductEntity();
+        producto.setNombre("Teclado");
+        producto.setCategoria(categoria);
+        producto.setPrecioUnitario(new BigDecimal("25.00"));
+        producto.setStock(10);
+        entityManager.persist(producto);
+        CustomerEntity cliente = new CustomerEntity();
+        cliente.setNombre("Cliente");
+        cliente.setPais("Colombia");
+        entityManager.persist(cliente);
+        for (int i = 0; i < 3; i++) {
+            OrderEntity pedido = new OrderEntity();
+            pedido.setCliente(cliente);
+            pedido.setFecha(DIA.atTime(9 + i, 0));
+            pedido.setTotal(new BigDecimal("50.00"));
+            pedido.setClientePais("Colombia");
+            pedido.getLineas().add(new OrderLineEntity(producto.getProductoId(), 2, new BigDecimal("25.00"),
+                    categoria.getCategoriaId()));
+            entityManager.persist(pedido);
+        }
+        entityManager.flush();
+        adapter.record(List.of(new SalesBucket(DIA, null, producto.getProductoId(), "Colombia", null, 99,
+                new BigDecimal("999.00"))));
+
+        adapter.rebuild();
+
+        List<SalesSummary> byCategory = adapter.summarize(DIA, DIA, "categoria");
+        assertEquals(1, byCategory.size());
+        assertEquals(String.valueOf(categoria.getCategoriaId()), byCategory.get(0).getClave());
+        assertEquals(6, byCategory.get(0).getUnidades());
+        assertEquals(0, new BigDecimal("150.00").compareTo(byCategory.get(0).getImporte()));
+        assertEquals("Colombia", adapter.summarize(DIA, DIA, "pais").get(0).getClave());
+    }
+
+    @Test
+    public void testSalesUnderDifferentCategoriesAreKeptApart() {
+        SalesBucket before = new SalesBucket(DIA, 1L, 10L, "Colombia", "Bogotá", 2, new BigDecimal("20.00"));
+        SalesBucket after = new SalesBucket(DIA, 2L, 10L, "Colombia", "Bogotá", 1, new BigDecimal("10.00"));
+        SalesBucket uncategorized = new SalesBucket(DIA, null, 10L, "Colombia", "Bogotá", 4, new BigDecimal("40.00"));
+        adapter.record(List.of(before, after, uncategorized));
+
+        adapter.record(List.of(before.negate()));
+
+        List<SalesSummary> byCategory = adapter.summarize(DIA, DIA, "categoria");
+        assertEquals(2, byCategory.size());
+        assertNull(byCategory.get(0).getClave());
+        assertEquals(4, byCategory.get(0).getUnidades());
+        assertEquals("2", byCategory.get(1).getClave());
+        assertEquals(1, byCategory.get(1).getUnidades());
+    }
+}
@@ -0,0 +1,187 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.cache;
+
+import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.model.FieldMask;
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.port.out.ProductRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class CachingProductRepositoryAdapterTest {
+
+    private static final String PERIFERICOS = "Periféricos";
+
+    private ProductRepositoryPort delegate;
+    private CachingProductRepositoryAdapter cache;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = mock(ProductRepositoryPort.class);
+        cache = new CachingProductRepositoryAdapter(delegate, 100, 10, Duration.ofMinutes(10));
+        when(delegate.findById(1L)).thenAnswer(invocation -> Optional.of(teclado()));
+        when(delegate.findByCategoriaNombre(PERIFERICOS)).thenAnswer(invocation -> List.of(teclado()));
+        when(delegate.updateIfExists(any())).thenReturn(1);
+        when(delegate.deleteIfExists(anyLong())).thenReturn(1);
+        when(delegate.updateFields(anyLong(), any(), any())).thenReturn(1);
+        when(delegate.decrementStock(anyLong(), anyInt())).thenReturn(true);
+        when(delegate.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    public void testRepeatedReadsAreServedFromTheCache() {
+        assertEquals("Teclado", cache.findById(1L).orElseThrow().getNombre());
+        assertEquals("Teclado", cache.findById(1L).orElseThrow().getNombre());
+        assertEquals(1, cache.findByCategoriaNombre(PERIFERICOS).size());
+        assertEquals(1, cache.findByCategoriaNombre(PERIFERICOS).size());
+
+        verify(delegate, times(1)).findById(1L);
+        verify(delegate, times(1)).findByCategoriaNombre(PERIFERICOS);
+        assertEquals(1, cache.stats().get("productos").hitCount());
+        assertEquals(1, cache.stats().get("productosPorCategoria").hitCount());
+    }
+
+    @Test
+    public void testCallersGetCopiesTheyCannotCorruptTheCacheThrough() {
+        Product first = cache.findById(1L).orElseThrow();
+        first.setStock(0);
+        first.getCategoria().setNombre("Otra");
+        cache.findByCategoriaNombre(PERIFERICOS).get(0).setNombre("Cambiado");
+
+        Product second = cache.findById(1L).orElseThrow();
+        assertNotSame(first, second);
+        assertEquals(10, second.getStock());
+        assertEquals(PERIFERICOS, second.getCategoria().getNombre());
+        assertEquals("Teclado", cache.findByCategoriaNombre(PERIFERICOS).get(0).getNombre());
+    }
+
+    @Test
+    public void testUnknownIdsAreNotCached() {
+        when(delegate.findById(2L)).thenReturn(Optional.empty());
+
+        assertTrue(cache.findById(2L).isEmpty());
+        assertTrue(cache.findById(2L).isEmpty());
+
+        verify(delegate, times(2)).findById(2L);
+    }
+
+    @Test
+    public void testEveryWriteInvalidatesTheProductAndTheListings() {
+        assertInvalidates(adapter -> adapter.save(teclado()));
+        assertInvalidates(adapter -> adapter.deleteById(1L));
+        assertInvalidates(adapter -> adapter.updateIfExists(teclado()));
+        assertInvalidates(adapter -> adapter.deleteIfExists(1L));
+        assertInvalidates(adapter -> adapter.updateFields(1L, teclado(), FieldMask.of("stock")));
+        assertInvalidates(adapter -> adapter.updatePrices(Map.of(1L, new BigDecimal("30.00"))));
+        assertInvalidates(adapter -> adapter.decrementStock(1L, 1));
+        assertInvalidates(adapter -> adapter.incrementStock(1L, 1));
+        assertInvalidates(adapter -> adapter.categoryChanged(3L));
+    }
+
+    @Test
+    public void testWritesEvictAgainWhenTheirTransactionEnds() {
+        assertEvictsAgainWhenTheTransactionEnds(adapter -> adapter.save(teclado()));
+        assertEvictsAgainWhenTheTransactionEnds(adapter -> adapter.updateIfExists(teclado()));
+        assertEvictsAgainWhenTheTransactionEnds(adapter -> adapter.updateFields(1L, teclado(), FieldMask.of("stock")));
+        assertEvictsAgainWhenTheTransactionEnds(adapter -> adapter.updatePrices(Map.of(1L, new BigDecimal("30.00"))));
+        assertEvictsAgainWhenTheTransactionEnds(adapter -> adapter.decrementStock(1L, 1));
+    }
+
+    @Test
+    public void testImportsDropTheListingsButKeepCachedProducts() {
+        warmUp();
+
+        cache.saveAll(List.of(teclado()));
+        warmUp();
+
+        verify(delegate, times(1)).findById(1L);
+        verify(delegate, times(2)).findByCategoriaNombre(PERIFERICOS);
+    }
+
+    @Test
+    public void testWritesThatMatchedNothingKeepTheCache() {
+        when(delegate.updateIfExists(any())).thenReturn(0);
+        when(delegate.deleteIfExists(anyLong())).thenReturn(0);
+        when(delegate.decrementStock(anyLong(), anyInt())).thenReturn(false);
+        warmUp();
+
+        cache.updateIfExists(teclado());
+        cache.deleteIfExists(1L);
+        cache.decrementStock(1L, 1);
+        warmUp();
+
+        verify(delegate, times(1)).findById(1L);
+        verify(delegate, times(1)).findByCategoriaNombre(PERIFERICOS);
+    }
+
+    @Test
+    public void testCategoryChangeDropsOnlyProductsOfThatCategory() {
+        Product raton = new Product(2L, "Ratón", null, new Category(4L, "Accesorios"), "Arka",
+                new BigDecimal("15.00"), 5);
+        when(delegate.findById(2L)).thenAnswer(invocation -> Optional.of(raton));
+        warmUp();
+        cache.findById(2L);
+
+        cache.categoryChanged(3L);
+        warmUp();
+        cache.findById(2L);
+
+        verify(delegate, times(2)).findById(1L);
+        verify(delegate, times(1)).findById(2L);
+        verify(delegate, times(2)).findByCategoriaNombre(PERIFERICOS);
+    }
+
+    private void assertInvalidates(Consumer<CachingProductRepositoryAdapter> write) {
+        warmUp();
+        clearInvocations(delegate);
+
+        write.accept(cache);
+        warmUp();
+
+        verify(delegate, times(1)).findById(1L);
+        verify(delegate, times(1)).findByCategoriaNombre(PERIFERICOS);
+    }
+
+    private void assertEvictsAgainWhenTheTransactionEnds(Consumer<CachingProductRepositoryAdapter> write) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            write.accept(cache);
+            // A read before the commit still sees the old row and caches it
+            warmUp();
+            clearInvocations(delegate);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        warmUp();
+
+        verify(delegate, times(1)).findById(1L);
+        verify(delegate, times(1)).findByCategoriaNombre(PERIFERICOS);
+    }
+
+    private void warmUp() {
+        cache.findById(1L);
+        cache.findByCategoriaNombre(PERIFERICOS);
+    }
+
+    private Product teclado() {
+        return new Product(1L, "Teclado", null, new Category(3L, PERIFERICOS), "Arka",
+                new BigDecimal("25.00"), 10);
+    }
+}
@@ -0,0 +1,141 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdMembershipTest {
+
+    private static final long DENSE_LIMIT = 1 << 20;
+    private static final Duration ABSENT_TTL = Duration.ofMinutes(1);
+
+    @Test
+    public void testEveryIdMayExistUntilLoaded() {
+        IdMembership ids = new IdMembership(DENSE_LIMIT, 1 << 12, ABSENT_TTL);
+        ids.confirm(42L, false);
+
+        assertTrue(ids.mightContain(42L));
+
+        ids.markLoaded();
+        assertFalse(ids.mightContain(42L));
+        assertEquals(1, ids.getAbsent());
+    }
+
+    @Test
+    public void testUnknownIdIsAskedToTheDatabaseBeforeItIsAnsweredAbsent() {
+        IdMembership ids = loaded();
+
+        assertTrue(ids.mightContain(2L), "a first miss must reach the database");
+        assertFalse(ids.confirm(2L, false));
+        assertFalse(ids.mightContain(2L));
+        assertFalse(ids.mightContain(2L));
+        assertEquals(2, ids.getAbsent());
+
+        assertTrue(ids.mightContain(3L));
+        assertTrue(ids.confirm(3L, true), "a row inserted elsewhere is found on its first lookup");
+        assertTrue(ids.mightContain(3L));
+    }
+
+    @Test
+    public void testWriteForgetsAConfirmedAbsence() {
+        IdMembership ids = loaded();
+        ids.confirm(7L, false);
+
+        ids.add(7L);
+
+        assertTrue(ids.mightContain(7L));
+    }
+
+    @Test
+    public void testMissingRowDoesNotHideAKnownId() {
+        IdMembership ids = loaded();
+        ids.add(8L);
+
+        ids.confirm(8L, false);
+
+        assertTrue(ids.mightContain(8L));
+    }
+
+    @Test
+    public void testDenseIdsAreAddedAndRemoved() {
+        IdMembership ids = loaded();
+        ids.add(1L);
+        ids.add(70_000L);
+        ids.confirm(2L, false);
+        ids.confirm(69_999L, false);
+
+        assertTrue(ids.mightContain(1L));
+        assertTrue(ids.mightContain(70_000L));
+        assertFalse(ids.mightContain(2L));
+        assertFalse(ids.mightContain(69_999L));
+
+        ids.remove(70_000L);
+        assertFalse(ids.mightContain(70_000L));
+        assertTrue(ids.mightContain(1L));
+    }
+
+    @Test
+    public void testSparseIdsGoToTheBloomFilter() {
+        IdMembership ids = loaded();
+        long sparse = DENSE_LIMIT * 1000 + 7;
+        long never = DENSE_LIMIT * 2000 + 7;
+        ids.add(sparse);
+        ids.confirm(never, false);
+
+        assertTrue(ids.mightContain(sparse));
+        assertFalse(ids.mightContain(never));
+
+        ids.remove(sparse);
+        assertTrue(ids.mightContain(sparse), "a Bloom filter cannot forget an id");
+    }
+
+    @Test
+    public void testReloadPicksUpIdsWrittenElsewhereAndKeepsLocalWrites() {
+        List<Long> rows = new ArrayList<>(List.of(1L, 2L));
+        IdMemberships memberships = new IdMemberships(DENSE_LIMIT, 1 << 12, ABSENT_TTL);
+        IdMembership ids = memberships.register("productos", existing -> rows.forEach(existing::accept));
+        memberships.loadAll();
+        ids.confirm(3L, false);
+        rows.add(3L);
+        ids.add(4L);
+
+        assertFalse(ids.mightContain(3L));
+        memberships.reloadAll();
+
+        for (long id = 1; id <= 4; id++) {
+            assertTrue(ids.mightContain(id));
+        }
+        ids.confirm(5L, false);
+        assertFalse(ids.mightContain(5L));
+    }
+
+    @Test
+    public void testRemovalWaitsForTheCommit() {
+        IdMembership ids = loaded();
+        ids.add(5L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ids.remove(5L);
+            assertTrue(ids.mightContain(5L));
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertFalse(ids.mightContain(5L));
+    }
+
+    private static IdMembership loaded() {
+        IdMembership ids = new IdMembership(DENSE_LIMIT, 1 << 12, ABSENT_TTL);
+        ids.markLoaded();
+        return ids;
+    }
+}
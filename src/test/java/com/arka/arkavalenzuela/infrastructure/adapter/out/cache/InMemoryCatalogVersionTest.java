@@ -0,0 +1,46 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryCatalogVersionTest {
+
+    @Test
+    public void testStartsAtStartupTimeAndIncrementsOnChange() {
+        Instant startup = Instant.parse("2026-01-15T10:00:00Z");
+        InMemoryCatalogVersion version = new InMemoryCatalogVersion(Clock.fixed(startup, ZoneOffset.UTC));
+
+        assertEquals(startup.toEpochMilli(), version.current().getVersion());
+
+        version.changed();
+
+        assertEquals(startup.toEpochMilli() + 1, version.current().getVersion());
+        assertEquals(startup, version.current().getModificadoEn());
+    }
+
+    @Test
+    public void testChangesAgainWhenTheTransactionEnds() {
+        InMemoryCatalogVersion version = new InMemoryCatalogVersion();
+        long initial = version.current().getVersion();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            version.changed();
+            assertEquals(initial + 1, version.current().getVersion());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(initial + 2, version.current().getVersion());
+    }
+}
@@ -0,0 +1,102 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence;
+
+import com.arka.arkavalenzuela.domain.model.Cart;
+import com.arka.arkavalenzuela.domain.model.Customer;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMemberships;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CartEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CustomerEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.CartMapper;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.CustomerMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CartPersistenceAdapter.class, CartMapper.class, CustomerMapper.class, IdMemberships.class})
+public class CartPersistenceAdapterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 10, 12, 0);
+
+    @Autowired
+    private CartPersistenceAdapter adapter;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 0; i < 10; i++) {
+            persistCart("ACTIVE", NOW.minusDays(i + 2));
+        }
+        persistCart("ACTIVE", NOW.minusHours(1));
+        persistCart("ABANDONED", NOW.minusDays(30));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testUpdateEstadoMovesOnlyExpiredCartsInBatches() {
+        LocalDateTime before = NOW.minusDays(1);
+
+        assertEquals(4, adapter.updateEstadoCreatedBefore("ACTIVE", "ABANDONED", before, 4));
+        assertEquals(4, adapter.updateEstadoCreatedBefore("ACTIVE", "ABANDONED", before, 4));
+        assertEquals(2, adapter.updateEstadoCreatedBefore("ACTIVE", "ABANDONED", before, 4));
+        assertEquals(0, adapter.updateEstadoCreatedBefore("ACTIVE", "ABANDONED", before, 4));
+
+        assertEquals(11, adapter.findByEstado("ABANDONED").size());
+        assertEquals(1, adapter.findByEstado("ACTIVE").size());
+    }
+
+    @Test
+    public void testUpdateEstadoTakesTheOldestCartsFirst() {
+        adapter.updateEstadoCreatedBefore("ACTIVE", "ABANDONED", NOW, 3);
+
+        assertTrue(adapter.findByEstado("ACTIVE").stream()
+                .allMatch(cart -> cart.getFechaCreacion().isAfter(NOW.minusDays(9))));
+    }
+
+    @Test
+    public void testConditionalWritesReportWhetherTheCartExisted() {
+        CartEntity carrito = persistCart("ACTIVE", NOW);
+        Long carritoId = carrito.getCarritoId();
+        Long clienteId = carrito.getCliente().getClienteId();
+        entityManager.flush();
+        entityManager.clear();
+
+        Cart cambios = new Cart(carritoId, new Customer(clienteId, null, null, null, null, null),
+                NOW.plusHours(2), "ABANDONED");
+        assertEquals(1, adapter.updateIfExists(cambios));
+        assertEquals(0, adapter.updateIfExists(new Cart(-1L, null, NOW, "ACTIVE")));
+
+        Cart stored = adapter.findById(carritoId).orElseThrow();
+        assertEquals("ABANDONED", stored.getEstado());
+        assertEquals(NOW.plusHours(2), stored.getFechaCreacion());
+        assertEquals(clienteId, stored.getCliente().getId());
+
+        assertEquals(1, adapter.deleteIfExists(carritoId));
+        assertEquals(0, adapter.deleteIfExists(carritoId));
+        assertTrue(adapter.findById(carritoId).isEmpty());
+    }
+
+    private CartEntity persistCart(String estado, LocalDateTime fechaCreacion) {
+        CustomerEntity cliente = new CustomerEntity();
+        cliente.setNombre("Cliente " + fechaCreacion);
+        entityManager.persist(cliente);
+        CartEntity carrito = new CartEntity();
+        carrito.setCliente(cliente);
+        carrito.setEstado(estado);
+        carrito.setFechaCreacion(fechaCreacion);
+        return entityManager.persist(carrito);
+    }
+}
@@ -0,0 +1,48 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence;
+
+import com.arka.arkavalenzuela.domain.model.CatalogVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class CatalogVersionPersistenceAdapterTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testEveryInstanceSeesAWriteMadeOnAnother() {
+        CatalogVersionPersistenceAdapter instanceA = new CatalogVersionPersistenceAdapter(jdbcTemplate, Duration.ZERO);
+        CatalogVersionPersistenceAdapter instanceB = new CatalogVersionPersistenceAdapter(jdbcTemplate, Duration.ZERO);
+        CatalogVersion before = instanceB.current();
+        assertEquals(before.getVersion(), instanceA.current().getVersion());
+
+        instanceA.changed();
+
+        assertEquals(before.getVersion() + 1, instanceB.current().getVersion());
+        assertFalse(instanceB.current().getModificadoEn().isBefore(before.getModificadoEn()));
+    }
+
+    @Test
+    public void testReadsAreReusedForMaxAgeExceptAfterALocalWrite() {
+        CatalogVersionPersistenceAdapter other = new CatalogVersionPersistenceAdapter(jdbcTemplate, Duration.ZERO);
+        CatalogVersionPersistenceAdapter cached = new CatalogVersionPersistenceAdapter(jdbcTemplate, Duration.ofHours(1));
+        long before = cached.current().getVersion();
+
+        other.changed();
+        assertEquals(before, cached.current().getVersion());
+
+        cached.changed();
+        assertEquals(before + 2, cached.current().getVersion());
+    }
+}
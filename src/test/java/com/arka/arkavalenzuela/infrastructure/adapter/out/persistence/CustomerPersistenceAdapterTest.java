@@ -0,0 +1,68 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence;
+
+import com.arka.arkavalenzuela.domain.model.Customer;
+import com.arka.arkavalenzuela.domain.model.FieldMask;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMemberships;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CustomerEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.CustomerMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CustomerPersistenceAdapter.class, CustomerMapper.class, IdMemberships.class})
+public class CustomerPersistenceAdapterTest {
+
+    @Autowired
+    private CustomerPersistenceAdapter adapter;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long customerId;
+
+    @BeforeEach
+    public void setUp() {
+        CustomerEntity cliente = new CustomerEntity();
+        cliente.setNombre("Cliente");
+        cliente.setEmail("cliente@arka.com");
+        cliente.setTelefono("3001234567");
+        cliente.setPais("Colombia");
+        cliente.setCiudad("Bogotá");
+        customerId = entityManager.persistAndFlush(cliente).getClienteId();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testUpdateFieldsWritesOnlyTheMaskedColumns() {
+        Customer changes = new Customer(null, "Ignorado", "otro@arka.com", null, null, "Medellín");
+
+        assertEquals(1, adapter.updateFields(customerId, changes, FieldMask.of("ciudad", "telefono")));
+        assertEquals(0, adapter.updateFields(customerId + 1000, changes, FieldMask.of("ciudad")));
+
+        entityManager.clear();
+        CustomerEntity stored = entityManager.find(CustomerEntity.class, customerId);
+        assertEquals("Cliente", stored.getNombre());
+        assertEquals("cliente@arka.com", stored.getEmail());
+        assertNull(stored.getTelefono());
+        assertEquals("Colombia", stored.getPais());
+        assertEquals("Medellín", stored.getCiudad());
+    }
+
+    @Test
+    public void testUpdateFieldsRejectsAMaskWithoutColumns() {
+        Customer changes = new Customer(null, "Cliente", "cliente@arka.com", null, null, null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> adapter.updateFields(customerId, changes, FieldMask.of("id")));
+    }
+}
@@ -0,0 +1,179 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence;
+
+import com.arka.arkavalenzuela.domain.exception.VersionConflictException;
+import com.arka.arkavalenzuela.domain.model.Customer;
+import com.arka.arkavalenzuela.domain.model.Order;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CategoryEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CustomerEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.OrderEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.OrderLineEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.CustomerMapper;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.OrderMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OrderPersistenceAdapter.class, OrderMapper.class, CustomerMapper.class})
+public class OrderPersistenceAdapterTest {
+
+    private static final int ORDERS = 20;
+    private static final int PRODUCTS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderPersistenceAdapter adapter;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private CustomerEntity cliente;
+    private LocalDateTime fecha;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        fecha = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+        cliente = new CustomerEntity();
+        cliente.setNombre("Cliente");
+        cliente.setEmail("cliente@arka.com");
+        entityManager.persist(cliente);
+
+        for (int i = 0; i < ORDERS; i++) {
+            OrderEntity pedido = new OrderEntity();
+            for (int j = 0; j < PRODUCTS_PER_ORDER; j++) {
+                CategoryEntity categoria = new CategoryEntity();
+                categoria.setNombre("Categoria " + i + "-" + j);
+                entityManager.persist(categoria);
+
+                ProductEntity producto = new ProductEntity();
+                producto.setNombre("Producto " + i + "-" + j);
+                producto.setCategoria(categoria);
+                producto.setPrecioUnitario(new BigDecimal("10.00"));
+                producto.setStock(5);
+                entityManager.persist(producto);
+                pedido.getLineas().add(new OrderLineEntity(producto.getProductoId(), 1, producto.getPrecioUnitario()));
+            }
+            pedido.setCliente(cliente);
+            pedido.setFecha(fecha.plusHours(i));
+            pedido.setTotal(new BigDecimal("30.00"));
+            entityManager.persist(pedido);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    public void testFindAllLoadsWholeGraphInOneStatement() {
+        List<Order> orders = adapter.findAll();
+
+        assertEquals(ORDERS, orders.size());
+        assertGraphFullyMapped(orders);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testFindByFechaBetweenLoadsWholeGraphInOneStatement() {
+        List<Order> orders = adapter.findByFechaBetween(fecha, fecha.plusHours(ORDERS));
+
+        assertEquals(ORDERS, orders.size());
+        assertGraphFullyMapped(orders);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testFindByClienteLoadsWholeGraphInOneStatement() {
+        Customer customer = new Customer();
+        customer.setId(cliente.getClienteId());
+
+        List<Order> orders = adapter.findByCliente(customer);
+
+        assertEquals(ORDERS, orders.size());
+        assertGraphFullyMapped(orders);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testSavingAStaleVersionIsAConflict() {
+        Order first = adapter.findAll().get(0);
+        entityManager.clear();
+        Order second = adapter.findById(first.getId()).orElseThrow();
+        entityManager.clear();
+
+        first.setTotal(new BigDecimal("31.00"));
+        Order saved = adapter.save(first);
+        entityManager.clear();
+
+        assertEquals(second.getVersion() + 1, saved.getVersion());
+        second.setTotal(new BigDecimal("32.00"));
+        assertThrows(VersionConflictException.class, () -> adapter.save(second));
+    }
+
+    @Test
+    public void testDeletingAStaleVersionIsAConflict() {
+        Order stale = adapter.findAll().get(0);
+        entityManager.clear();
+        Order current = adapter.findById(stale.getId()).orElseThrow();
+        current.setTotal(new BigDecimal("31.00"));
+        adapter.save(current);
+        entityManager.clear();
+
+        assertThrows(VersionConflictException.class, () -> adapter.delete(stale));
+        entityManager.clear();
+        assertTrue(adapter.existsById(stale.getId()));
+
+        adapter.delete(adapter.findById(stale.getId()).orElseThrow());
+        entityManager.clear();
+        assertFalse(adapter.existsById(stale.getId()));
+        assertThrows(VersionConflictException.class, () -> adapter.delete(stale));
+    }
+
+    @Test
+    public void testSaveAllWritesEveryOrderOfTheGroup() {
+        Customer customer = new Customer();
+        customer.setId(cliente.getClienteId());
+        List<Order> orders = new ArrayList<>();
+        for (Order existing : adapter.findAll().subList(0, 5)) {
+            orders.add(new Order(null, customer, fecha.plusDays(1), existing.getTotal(),
+                    new ArrayList<>(existing.getLineas())));
+        }
+        entityManager.clear();
+
+        List<Order> saved = adapter.saveAll(orders);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(5, saved.size());
+        saved.forEach(order -> assertNotNull(order.getId()));
+        assertEquals(ORDERS + 5, adapter.findAll().size());
+        assertEquals(PRODUCTS_PER_ORDER, adapter.findById(saved.get(0).getId()).orElseThrow().getLineas().size());
+    }
+
+    private void assertGraphFullyMapped(List<Order> orders) {
+        for (Order order : orders) {
+            assertNotNull(order.getCliente().getNombre());
+            assertEquals(PRODUCTS_PER_ORDER, order.getLineas().size());
+            order.getLineas().forEach(linea -> assertEquals(new BigDecimal("10.00"), linea.getPrecioUnitario()));
+        }
+    }
+}
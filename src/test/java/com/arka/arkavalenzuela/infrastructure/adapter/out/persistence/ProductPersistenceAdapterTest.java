@@ -0,0 +1,308 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence;
+
+import com.arka.arkavalenzuela.domain.exception.VersionConflictException;
+import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.model.FieldMask;
+import com.arka.arkavalenzuela.domain.model.PageQuery;
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.model.SlicePage;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMemberships;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.InMemoryCatalogVersion;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CategoryEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.CategoryMapper;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.ProductMapper;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.CategoryJpaRepository;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.ProductJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs outside the test transaction so every buyer commits its own UPDATE,
+ * like concurrent requests do
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProductPersistenceAdapter.class, ProductMapper.class, CategoryMapper.class, InMemoryCatalogVersion.class, IdMemberships.class})
+public class ProductPersistenceAdapterTest {
+
+    private static final int STOCK = 100;
+    private static final int BUYERS = 300;
+
+    @Autowired
+    private ProductPersistenceAdapter adapter;
+
+    @Autowired
+    private ProductJpaRepository productRepository;
+
+    @Autowired
+    private CategoryJpaRepository categoryRepository;
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InMemoryCatalogVersion catalogVersion;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long productId;
+    private Long categoryId;
+
+    @BeforeEach
+    public void setUp() {
+        CategoryEntity categoria = new CategoryEntity();
+        categoria.setNombre("Consolas");
+        categoria = categoryRepository.save(categoria);
+        categoryId = categoria.getCategoriaId();
+
+        ProductEntity producto = new ProductEntity();
+        producto.setNombre("Consola");
+        producto.setCategoria(categoria);
+        producto.setPrecioUnitario(new BigDecimal("499.00"));
+        producto.setStock(STOCK);
+        productId = productRepository.save(producto).getProductoId();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    public void testParallelBuyersNeverOversell() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        int sold = 0;
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < BUYERS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return adapter.decrementStock(productId, 1);
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    sold++;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(STOCK, sold);
+        assertEquals(0, currentStock());
+    }
+
+    @Test
+    public void testDecrementRejectsQuantityAboveStock() {
+        assertFalse(adapter.decrementStock(productId, STOCK + 1));
+        assertTrue(adapter.decrementStock(productId, STOCK));
+        assertEquals(0, currentStock());
+
+        adapter.incrementStock(productId, 5);
+        assertEquals(5, currentStock());
+    }
+
+    @Test
+    public void testStockMovementsLeaveTheCatalogVersionAlone() {
+        long before = catalogVersion.current().getVersion();
+
+        assertTrue(adapter.decrementStock(productId, 1));
+        adapter.incrementStock(productId, 1);
+        assertEquals(before, catalogVersion.current().getVersion());
+
+        assertEquals(1, adapter.updatePrices(Map.of(productId, new BigDecimal("10.00"))));
+        assertTrue(catalogVersion.current().getVersion() > before);
+    }
+
+    @Test
+    public void testSaveAllInsertsEveryProductInOneBatch() {
+        Category categoria = new Category(categoryId, "Consolas");
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            products.add(new Product(null, "Mando " + i, null, categoria, "Arka", new BigDecimal("29.90"), i));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Product> saved = adapter.saveAll(products);
+
+        // One batched INSERT plus the id block lookups, instead of one statement per row
+        assertTrue(statistics.getPrepareStatementCount() < 10, "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(50, saved.stream().map(Product::getId).filter(id -> id != null && id > productId).distinct().count());
+        assertEquals(List.of(0L), saved.stream().map(Product::getVersion).distinct().toList());
+        assertEquals(51, productRepository.count());
+        assertEquals(50, productRepository.findAll().stream()
+                .filter(product -> product.getNombre().startsWith("Mando"))
+                .count());
+    }
+
+    @Test
+    public void testFindSortedPagesInDatabaseOrder() {
+        Category categoria = new Category(categoryId, "Consolas");
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            products.add(new Product(null, "Mando " + i, null, categoria, "Arka", new BigDecimal(10 + i % 2), i));
+        }
+        adapter.saveAll(products);
+
+        SlicePage<Product> first = adapter.findSorted(new PageQuery(0, 4, "precioUnitario", false));
+        SlicePage<Product> second = adapter.findSorted(new PageQuery(1, 4, "precioUnitario", false));
+
+        assertTrue(first.hasNext());
+        assertFalse(second.hasNext());
+        assertEquals(List.of("Consola", "Mando 3", "Mando 1", "Mando 4"), names(first));
+        assertEquals(List.of("Mando 2", "Mando 0"), names(second));
+    }
+
+    @Test
+    public void testRepeatedLookupsOfAMissingIdAreAnsweredWithoutAQuery() {
+        IdMemberships idMemberships = new IdMemberships(1 << 20, 1 << 12, Duration.ofMinutes(1));
+        ProductPersistenceAdapter checked = new ProductPersistenceAdapter(productRepository, productMapper,
+                entityManager, jdbcTemplate, new InMemoryCatalogVersion(), idMemberships);
+        idMemberships.loadAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertFalse(checked.existsById(productId + 1000));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        statistics.clear();
+        assertFalse(checked.existsById(productId + 1000));
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(checked.existsById(productId));
+
+        // Built by hand, so not proxied: the transaction saveAll needs is opened here
+        Long mandoId = new TransactionTemplate(transactionManager).execute(status -> checked.saveAll(List.of(
+                new Product(null, "Mando", null, new Category(categoryId, "Consolas"), "Arka",
+                        new BigDecimal("29.90"), 1)))).get(0).getId();
+        assertTrue(checked.existsById(mandoId));
+
+        checked.deleteById(mandoId);
+        statistics.clear();
+        assertFalse(checked.existsById(mandoId));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testUpdateFieldsWritesOnlyTheMaskedColumns() {
+        Product changes = new Product(null, "Ignorado", null, null, "Ignorada", new BigDecimal("449.00"), null);
+
+        assertEquals(1, adapter.updateFields(productId, changes, FieldMask.of("precioUnitario", "descripcion")));
+        assertEquals(0, adapter.updateFields(productId + 1000, changes, FieldMask.of("precioUnitario")));
+
+        ProductEntity stored = productRepository.findById(productId).orElseThrow();
+        assertEquals("Consola", stored.getNombre());
+        assertNull(stored.getMarca());
+        assertNull(stored.getDescripcion());
+        assertEquals(0, new BigDecimal("449.00").compareTo(stored.getPrecioUnitario()));
+        assertEquals(STOCK, stored.getStock());
+        assertEquals(categoryId, stored.getCategoria().getCategoriaId());
+    }
+
+    @Test
+    public void testWritesOnAStaleVersionAreConflicts() {
+        Long read = currentVersion();
+        Product replacement = new Product(productId, "Consola Pro", null, new Category(categoryId, null), "Arka",
+                new BigDecimal("549.00"), STOCK);
+        replacement.setVersion(read);
+
+        assertEquals(1, adapter.updateIfExists(replacement));
+        assertEquals(read + 1, replacement.getVersion());
+        assertThrows(VersionConflictException.class, () -> adapter.updateFields(productId,
+                changesAt(read), FieldMask.of("precioUnitario")));
+
+        assertTrue(adapter.decrementStock(productId, 1));
+        assertThrows(VersionConflictException.class, () -> adapter.updateFields(productId,
+                changesAt(replacement.getVersion()), FieldMask.of("precioUnitario")));
+
+        Long current = currentVersion();
+        assertEquals(1, adapter.updateFields(productId, changesAt(current), FieldMask.of("precioUnitario")));
+        assertEquals(0, adapter.updateFields(productId + 1000, changesAt(current), FieldMask.of("precioUnitario")));
+        assertEquals(current + 1, currentVersion());
+    }
+
+    @Test
+    public void testUpdatePricesSetsEveryPriceAcrossChunks() {
+        Category categoria = new Category(categoryId, "Consolas");
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            products.add(new Product(null, "Mando " + i, null, categoria, "Arka", new BigDecimal("29.90"), i));
+        }
+        adapter.saveAll(products);
+        Map<Long, BigDecimal> prices = new LinkedHashMap<>();
+        for (ProductEntity producto : productRepository.findAll()) {
+            prices.put(producto.getProductoId(), new BigDecimal(producto.getStock() + 1));
+        }
+        prices.put(-1L, BigDecimal.TEN);
+
+        assertEquals(1501, adapter.updatePrices(prices));
+
+        for (ProductEntity producto : productRepository.findAll()) {
+            assertEquals(0, new BigDecimal(producto.getStock() + 1).compareTo(producto.getPrecioUnitario()),
+                    producto.getNombre());
+        }
+    }
+
+    private Product changesAt(Long version) {
+        Product changes = new Product(null, null, null, null, null, new BigDecimal("399.00"), null);
+        changes.setVersion(version);
+        return changes;
+    }
+
+    private List<String> names(SlicePage<Product> page) {
+        return page.getElementos().stream().map(Product::getNombre).toList();
+    }
+
+    private Long currentVersion() {
+        return productRepository.findById(productId).orElseThrow().getVersion();
+    }
+
+    private int currentStock() {
+        return productRepository.findById(productId).orElseThrow().getStock();
+    }
+}
@@ -0,0 +1,162 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence;
+
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CartEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CategoryEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CustomerEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.OrderEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.OrderLineEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.CartJpaRepository;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.CustomerJpaRepository;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.OrderJpaRepository;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.ProductJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN on the SQL generated for each filtering repository method and fails
+ * when the plan reads a whole table instead of going through an index.
+ * The schema comes from the Flyway migrations, so a missing index shows up here.
+ * Methods that read whole tables on purpose (findAll, streamAll, sorted listings) are not checked.
+ */
+@DataJpaTest(showSql = false,
+        properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.SqlRecorder")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class QueryPlanTest {
+
+    private static final String FULL_SCAN = ".tableScan";
+
+    @Autowired
+    private ProductJpaRepository productRepository;
+
+    @Autowired
+    private CustomerJpaRepository customerRepository;
+
+    @Autowired
+    private OrderJpaRepository orderRepository;
+
+    @Autowired
+    private CartJpaRepository cartRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ProductEntity producto;
+    private CustomerEntity cliente;
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 0; i < 50; i++) {
+            CategoryEntity categoria = new CategoryEntity();
+            categoria.setNombre("Categoria " + i);
+            entityManager.persist(categoria);
+
+            producto = new ProductEntity();
+            producto.setNombre("Producto " + i);
+            producto.setCategoria(categoria);
+            producto.setPrecioUnitario(new BigDecimal(i));
+            producto.setStock(i);
+            entityManager.persist(producto);
+
+            cliente = new CustomerEntity();
+            cliente.setNombre("Cliente " + i);
+            entityManager.persist(cliente);
+
+            OrderEntity pedido = new OrderEntity();
+            pedido.setCliente(cliente);
+            pedido.setFecha(LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(i));
+            pedido.getLineas().add(new OrderLineEntity(producto.getProductoId(), 1, producto.getPrecioUnitario()));
+            entityManager.persist(pedido);
+
+            CartEntity carrito = new CartEntity();
+            carrito.setCliente(cliente);
+            carrito.setEstado(i % 2 == 0 ? "ACTIVO" : "ABANDONADO");
+            carrito.setFechaCreacion(LocalDateTime.of(2023, 6, 1, 0, 0).plusDays(i));
+            entityManager.persist(carrito);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testProductQueriesUseIndexes() {
+        assertNoFullScan(() -> productRepository.findByCategoriaNombre("Categoria 7"), "Categoria 7");
+        assertNoFullScan(() -> productRepository.findByPriceRange(BigDecimal.ONE, BigDecimal.TEN),
+                BigDecimal.ONE, BigDecimal.TEN);
+        assertNoFullScan(() -> productRepository.findByProductoIdIn(List.of(producto.getProductoId())),
+                producto.getProductoId());
+    }
+
+    @Test
+    public void testCustomerQueriesUseIndexes() {
+        assertNoFullScan(() -> customerRepository.findByNombreStartingWith("Cliente 1"), "Cliente 1%");
+    }
+
+    @Test
+    public void testOrderQueriesUseIndexes() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 10, 0, 0);
+        assertNoFullScan(() -> orderRepository.findByFechaBetween(start, start.plusDays(3)),
+                start, start.plusDays(3));
+        assertNoFullScan(() -> orderRepository.findByCliente(cliente), cliente.getClienteId());
+        assertNoFullScan(() -> orderRepository.findByProductoId(producto.getProductoId()), producto.getProductoId());
+    }
+
+    @Test
+    public void testCartQueriesUseIndexes() {
+        assertNoFullScan(() -> cartRepository.findByEstado("ACTIVO"), "ACTIVO");
+        LocalDateTime before = LocalDateTime.of(2024, 1, 1, 0, 0);
+        assertNoFullScan(() -> cartRepository.findIdsByEstadoCreatedBefore("ACTIVO", before, Limit.of(100)),
+                "ACTIVO", before, 100);
+    }
+
+    /**
+     * The plan depends on the bind values (a null turns most predicates into FALSE),
+     * so the test passes the same values the query was run with
+     */
+    private void assertNoFullScan(Runnable query, Object... parameters) {
+        List<String> statements = SqlRecorder.record(query);
+        assertEquals(1, statements.size(), () -> "Expected a single statement: " + statements);
+        for (String sql : statements) {
+            String plan = explain(sql, parameters);
+            assertFalse(plan.contains(FULL_SCAN), () -> "Full table scan in:\n" + sql + "\nPlan:\n" + plan);
+        }
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet result = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (result.next()) {
+                        plan.append(result.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+}
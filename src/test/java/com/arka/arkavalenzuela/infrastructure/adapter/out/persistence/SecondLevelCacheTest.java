@@ -0,0 +1,190 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence;
+
+import com.arka.arkavalenzuela.domain.model.Category;
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMemberships;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.InMemoryCatalogVersion;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CategoryEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.CategoryMapper;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.ProductMapper;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.CategoryJpaRepository;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.ProductJpaRepository;
+import com.arka.arkavalenzuela.infrastructure.config.SecondLevelCacheConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs outside the test transaction so every call uses its own session
+ * and can only share entities through the second-level cache
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SecondLevelCacheConfiguration.class, CategoryPersistenceAdapter.class, ProductPersistenceAdapter.class,
+        CategoryMapper.class, ProductMapper.class, InMemoryCatalogVersion.class, IdMemberships.class})
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private CategoryPersistenceAdapter categoryAdapter;
+
+    @Autowired
+    private ProductPersistenceAdapter productAdapter;
+
+    @Autowired
+    private CategoryJpaRepository categoryRepository;
+
+    @Autowired
+    private ProductJpaRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private Long categoryId;
+    private Long firstProductId;
+    private Long secondProductId;
+
+    @BeforeEach
+    public void setUp() {
+        CategoryEntity categoria = new CategoryEntity();
+        categoria.setNombre("Teclados");
+        categoria = categoryRepository.save(categoria);
+        categoryId = categoria.getCategoriaId();
+        firstProductId = saveProduct(categoria, "Teclado mecánico");
+        secondProductId = saveProduct(categoria, "Teclado compacto");
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    public void testCategoryLookupsAreServedFromTheCache() {
+        assertTrue(categoryAdapter.existsById(categoryId));
+        long statements = statistics.getPrepareStatementCount();
+
+        assertTrue(categoryAdapter.existsById(categoryId));
+        assertEquals("Teclados", categoryAdapter.findById(categoryId).orElseThrow().getNombre());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    public void testCategoryWritesInvalidateEntityAndQueryCaches() {
+        assertEquals(1, categoryAdapter.findAll().size());
+        categoryAdapter.findById(categoryId);
+
+        categoryAdapter.save(new Category(categoryId, "Teclados y ratones"));
+        categoryAdapter.save(new Category(null, "Monitores"));
+
+        assertEquals("Teclados y ratones", categoryAdapter.findById(categoryId).orElseThrow().getNombre());
+        assertEquals(2, categoryAdapter.findAll().size());
+        assertEquals(2, categoryAdapter.findAllIds().size());
+    }
+
+    @Test
+    public void testProductsReachTheirCategoryThroughTheCache() {
+        inTransaction(() -> productAdapter.findById(firstProductId));
+        long statements = statistics.getPrepareStatementCount();
+
+        Product product = inTransaction(() -> productAdapter.findById(firstProductId)).orElseThrow();
+
+        assertEquals("Teclados", product.getCategoria().getNombre());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testStockChangeEvictsOnlyThatProduct() {
+        inTransaction(() -> productAdapter.findById(firstProductId));
+        inTransaction(() -> productAdapter.findById(secondProductId));
+
+        assertTrue(productAdapter.decrementStock(firstProductId, 3));
+
+        assertFalse(entityManagerFactory.getCache().contains(ProductEntity.class, firstProductId));
+        assertTrue(entityManagerFactory.getCache().contains(ProductEntity.class, secondProductId));
+        assertEquals(7, inTransaction(() -> productAdapter.findById(firstProductId)).orElseThrow().getStock());
+    }
+
+    @Test
+    public void testConditionalWritesKeepTheCachesConsistent() {
+        inTransaction(() -> productAdapter.findById(firstProductId));
+        inTransaction(() -> productAdapter.findById(secondProductId));
+        assertEquals(1, categoryAdapter.findAll().size());
+
+        Product cambios = new Product(firstProductId, "Teclado mecánico RGB", null, new Category(categoryId, null),
+                "Arka", new BigDecimal("69.90"), 4);
+        assertEquals(1, productAdapter.updateIfExists(cambios));
+        assertEquals(1, categoryAdapter.updateIfExists(new Category(categoryId, "Teclados y ratones")));
+        assertEquals(0, categoryAdapter.deleteIfExists(categoryId + 1000));
+
+        assertFalse(entityManagerFactory.getCache().contains(ProductEntity.class, firstProductId));
+        assertTrue(entityManagerFactory.getCache().contains(ProductEntity.class, secondProductId));
+        Product updated = inTransaction(() -> productAdapter.findById(firstProductId)).orElseThrow();
+        assertEquals("Teclado mecánico RGB", updated.getNombre());
+        assertEquals(4, updated.getStock());
+        assertEquals("Teclados y ratones", categoryAdapter.findAll().get(0).getNombre());
+
+        assertEquals(1, productAdapter.deleteIfExists(secondProductId));
+        assertEquals(0, productAdapter.deleteIfExists(secondProductId));
+        assertTrue(inTransaction(() -> productAdapter.findById(secondProductId)).isEmpty());
+    }
+
+    @Test
+    public void testCategoryWritesNotifyTheChangeListeners() {
+        List<Long> changed = new CopyOnWriteArrayList<>();
+        categoryAdapter.addChangeListener(changed::add);
+
+        categoryAdapter.updateIfExists(new Category(categoryId, "Teclados y ratones"));
+        categoryAdapter.updateIfExists(new Category(categoryId + 1000, "Sin categoría"));
+        Long monitores = categoryAdapter.save(new Category(null, "Monitores")).getId();
+        categoryAdapter.deleteIfExists(monitores);
+
+        // Transactional writes notify again once the transaction ends
+        assertEquals(List.of(categoryId, categoryId, monitores, monitores, monitores), changed);
+    }
+
+    private Long saveProduct(CategoryEntity categoria, String nombre) {
+        ProductEntity producto = new ProductEntity();
+        producto.setNombre(nombre);
+        producto.setCategoria(categoria);
+        producto.setPrecioUnitario(new BigDecimal("59.90"));
+        producto.setStock(10);
+        return productRepository.save(producto).getProductoId();
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+}
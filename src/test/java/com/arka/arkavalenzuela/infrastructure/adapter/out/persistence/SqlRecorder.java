@@ -0,0 +1,35 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate statement inspector that keeps the SQL of every statement prepared
+ * while recording, so tests can look at what the repositories actually run
+ */
+public class SqlRecorder implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+    private static boolean recording;
+
+    @Override
+    public synchronized String inspect(String sql) {
+        if (recording) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    public static synchronized List<String> record(Runnable action) {
+        STATEMENTS.clear();
+        recording = true;
+        try {
+            action.run();
+        } finally {
+            recording = false;
+        }
+        return List.copyOf(STATEMENTS);
+    }
+}
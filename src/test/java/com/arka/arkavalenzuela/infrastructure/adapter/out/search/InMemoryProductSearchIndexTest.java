@@ -0,0 +1,70 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.search;
+
+import com.arka.arkavalenzuela.domain.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryProductSearchIndexTest {
+
+    private InMemoryProductSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new InMemoryProductSearchIndex(50);
+        index.rebuild(source -> {
+            source.accept(product(1L, "Camión de juguete", "Arka", "Vehículo a escala"));
+            source.accept(product(2L, "Teclado mecánico", "Logitech", "Switches marrones"));
+            source.accept(product(3L, "Funda para teclado", "Genérica", "Protege tu teclado del polvo"));
+            source.accept(product(4L, "Mouse inalámbrico", "Logitech", "Incluye receptor USB"));
+        });
+    }
+
+    @Test
+    public void testSearchIgnoresAccentsAndCase() {
+        assertEquals(List.of(1L), index.search("CAMION"));
+        assertEquals(List.of(2L), index.search("mecanico"));
+    }
+
+    @Test
+    public void testSearchMatchesSubstringsOfName() {
+        assertEquals(List.of(4L), index.search("lambri"));
+    }
+
+    @Test
+    public void testNameMatchesRankAboveBrandAndDescription() {
+        assertEquals(List.of(2L, 3L), index.search("teclado"));
+        assertEquals(List.of(2L, 4L), index.search("logi"));
+        assertEquals(List.of(4L), index.search("usb"));
+    }
+
+    @Test
+    public void testEveryTermMustMatch() {
+        assertEquals(List.of(4L), index.search("logitech mouse"));
+        assertTrue(index.search("logitech camion").isEmpty());
+    }
+
+    @Test
+    public void testShortTermsMatchWordPrefixes() {
+        assertEquals(List.of(4L), index.search("mo"));
+    }
+
+    @Test
+    public void testWritesKeepIndexUpToDate() {
+        index.index(product(1L, "Avión de juguete", "Arka", null));
+        index.remove(4L);
+        index.index(product(5L, "Teclado numérico", "Arka", null));
+
+        assertTrue(index.search("camion").isEmpty());
+        assertEquals(List.of(1L), index.search("avion"));
+        assertTrue(index.search("mouse").isEmpty());
+        assertEquals(List.of(2L, 5L, 3L), index.search("teclado"));
+    }
+
+    private Product product(Long id, String nombre, String marca, String descripcion) {
+        return new Product(id, nombre, descripcion, null, marca, null, null);
+    }
+}
@@ -0,0 +1,221 @@
+package com.arka.arkavalenzuela.infrastructure.adapter.out.stock;
+
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.port.out.ProductRepositoryPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class StockReservationLedgerTest {
+
+    private static final Long FLASH_SKU = 1L;
+    private static final int STOCK = 100;
+    private static final int BUYERS = 500;
+
+    private ProductRepositoryPort productRepository;
+    private AtomicInteger databaseStock;
+    private StockReservationLedger ledger;
+
+    @BeforeEach
+    public void setUp() {
+        databaseStock = new AtomicInteger(STOCK);
+        productRepository = mock(ProductRepositoryPort.class);
+        when(productRepository.findById(FLASH_SKU)).thenAnswer(invocation -> Optional.of(new Product(FLASH_SKU,
+                "Consola", "Edición limitada", null, "Arka", new BigDecimal("499.00"), databaseStock.get())));
+        when(productRepository.decrementStock(eq(FLASH_SKU), anyInt())).thenAnswer(invocation -> {
+            int quantity = invocation.getArgument(1);
+            return databaseStock.getAndUpdate(stock -> stock >= quantity ? stock - quantity : stock) >= quantity;
+        });
+        ledger = new StockReservationLedger(productRepository, 8, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ledger.close();
+    }
+
+    @Test
+    public void testParallelBuyersNeverOversellTrackedSku() throws Exception {
+        ledger.track(FLASH_SKU);
+
+        int sold = runBuyers(BUYERS, 1);
+
+        assertEquals(STOCK, sold);
+        assertEquals(0, ledger.trackedAvailability().get(FLASH_SKU));
+        verify(productRepository, never()).decrementStock(any(), anyInt());
+
+        ledger.flush();
+
+        assertEquals(0, databaseStock.get());
+        verify(productRepository, times(1)).decrementStock(FLASH_SKU, STOCK);
+    }
+
+    @Test
+    public void testReservationsLargerThanAStripeAreServed() throws Exception {
+        ledger.track(FLASH_SKU);
+
+        int sold = runBuyers(BUYERS, 3);
+
+        assertEquals(STOCK / 3, sold);
+        assertEquals(STOCK % 3, ledger.trackedAvailability().get(FLASH_SKU));
+        assertTrue(ledger.reserve(FLASH_SKU, STOCK % 3));
+        assertFalse(ledger.reserve(FLASH_SKU, 1));
+    }
+
+    @Test
+    public void testReleaseReturnsStockAndFlushesNetDelta() {
+        ledger.track(FLASH_SKU);
+
+        assertTrue(ledger.reserve(FLASH_SKU, 10));
+        ledger.release(FLASH_SKU, 4);
+        ledger.flush();
+
+        assertEquals(STOCK - 6, ledger.trackedAvailability().get(FLASH_SKU));
+        assertEquals(STOCK - 6, databaseStock.get());
+    }
+
+    @Test
+    public void testUntrackedSkuGoesStraightToDatabase() {
+        assertTrue(ledger.reserve(FLASH_SKU, 5));
+        ledger.release(FLASH_SKU, 2);
+
+        verify(productRepository).decrementStock(FLASH_SKU, 5);
+        verify(productRepository).incrementStock(FLASH_SKU, 2);
+        assertTrue(ledger.trackedAvailability().isEmpty());
+    }
+
+    @Test
+    public void testUntrackingDuringReservationsLosesNoReservation() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            databaseStock.set(STOCK);
+            ledger.track(FLASH_SKU);
+
+            int sold = runBuyers(BUYERS, 1, () -> ledger.untrack(FLASH_SKU));
+
+            assertEquals(STOCK, sold, "round " + round);
+            assertEquals(0, databaseStock.get(), "round " + round);
+            assertTrue(ledger.trackedAvailability().isEmpty());
+        }
+    }
+
+    @Test
+    public void testOverwritingStockWritesPendingReservationsFirstAndReseeds() {
+        ledger.track(FLASH_SKU);
+        assertTrue(ledger.reserve(FLASH_SKU, 10));
+
+        int rows = ledger.overwriteStock(FLASH_SKU, () -> {
+            assertEquals(STOCK - 10, databaseStock.get());
+            assertTrue(ledger.trackedAvailability().isEmpty());
+            databaseStock.set(50);
+            return 1;
+        });
+
+        assertEquals(1, rows);
+        assertEquals(50, ledger.trackedAvailability().get(FLASH_SKU));
+        ledger.flush();
+        assertEquals(50, databaseStock.get());
+    }
+
+    @Test
+    public void testDeletedSkuIsNotTrackedAgain() {
+        ledger.track(FLASH_SKU);
+
+        ledger.overwriteStock(FLASH_SKU, () -> {
+            when(productRepository.findById(FLASH_SKU)).thenReturn(Optional.empty());
+            return 1;
+        });
+
+        assertTrue(ledger.trackedAvailability().isEmpty());
+    }
+
+    @Test
+    public void testSlowPathBuyersDoNotWaitForAFlush() throws Exception {
+        ledger.track(FLASH_SKU);
+        assertTrue(ledger.reserve(FLASH_SKU, 1));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productRepository.decrementStock(eq(FLASH_SKU), anyInt())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return true;
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> flush = pool.submit(() -> ledger.flush());
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            Future<Boolean> buyer = pool.submit(() -> ledger.reserve(FLASH_SKU, STOCK / 2));
+            assertTrue(buyer.get(5, TimeUnit.SECONDS));
+
+            release.countDown();
+            flush.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUnknownSkusAreSkippedWhenTrackingSeveral() {
+        when(productRepository.findById(2L)).thenReturn(Optional.empty());
+
+        ledger.trackAll(List.of(2L, FLASH_SKU));
+
+        assertEquals(List.of(FLASH_SKU), List.copyOf(ledger.trackedAvailability().keySet()));
+    }
+
+    private int runBuyers(int buyers, int quantity) throws Exception {
+        return runBuyers(buyers, quantity, () -> {});
+    }
+
+    /**
+     * Runs the buyers in parallel with the given action, started once a quarter of them are queued
+     */
+    private int runBuyers(int buyers, int quantity, Runnable meanwhile) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            Future<?> action = null;
+            for (int i = 0; i < buyers; i++) {
+                if (i == buyers / 4) {
+                    action = pool.submit(() -> {
+                        start.await();
+                        meanwhile.run();
+                        return null;
+                    });
+                }
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return ledger.reserve(FLASH_SKU, quantity);
+                }));
+            }
+            start.countDown();
+            action.get();
+            int sold = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    sold++;
+                }
+            }
+            return sold;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
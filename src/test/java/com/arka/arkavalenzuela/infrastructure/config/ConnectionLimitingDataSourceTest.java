@@ -0,0 +1,72 @@
+package com.arka.arkavalenzuela.infrastructure.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ConnectionLimitingDataSourceTest {
+
+    @Test
+    public void testLimitsConcurrentConnectionsUntilClosed() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 2, Duration.ofMillis(50));
+
+        Connection first = onAnotherThread(dataSource);
+        Connection second = onAnotherThread(dataSource);
+
+        assertEquals(0, dataSource.availablePermits());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        first.close();
+        first.close();
+
+        assertEquals(1, dataSource.availablePermits());
+        assertNotNull(onAnotherThread(dataSource));
+        second.close();
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    public void testThreadHoldingAConnectionGetsAnotherWithoutAPermit() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+        Connection outer = dataSource.getConnection();
+        Connection nested = dataSource.getConnection();
+        nested.close();
+
+        assertEquals(0, dataSource.availablePermits());
+        outer.close();
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    public void testReleasesPermitWhenPoolFails() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    private static Connection onAnotherThread(DataSource dataSource) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(() -> dataSource.getConnection()).get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.arka.arkavalenzuela.infrastructure.config;
+
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.ProductJpaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every permit is held by an open transaction when the products' table generator needs
+ * a new id block, which it takes on a second connection
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "arka.datasource.acquire-timeout=PT5S"
+})
+@Import(VirtualThreadConfiguration.class)
+public class ConnectionLimitingIdGenerationTest {
+
+    private static final int PRODUCTS_PER_IMPORT = 120;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ProductJpaRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    public void testConcurrentImportsAtTheLimitDoNotWaitForTheirOwnIdBlocks() throws Exception {
+        ConnectionLimitingDataSource limiter = assertInstanceOf(ConnectionLimitingDataSource.class, dataSource);
+        int imports = limiter.availablePermits();
+        assertEquals(3, imports);
+        CyclicBarrier everyoneHoldsAConnection = new CyclicBarrier(imports);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        ExecutorService executor = Executors.newFixedThreadPool(imports);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < imports; i++) {
+                int lote = i;
+                results.add(executor.submit(() -> transaction.execute(status -> {
+                    productRepository.count();
+                    await(everyoneHoldsAConnection);
+                    return productRepository.saveAll(products(lote)).size();
+                })));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(PRODUCTS_PER_IMPORT, result.get(20, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals((long) imports * PRODUCTS_PER_IMPORT, productRepository.count());
+        assertEquals(imports, limiter.availablePermits());
+    }
+
+    private static List<ProductEntity> products(int lote) {
+        List<ProductEntity> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS_PER_IMPORT; i++) {
+            ProductEntity product = new ProductEntity();
+            product.setNombre("Importado " + lote + "-" + i);
+            product.setPrecioUnitario(new BigDecimal("10.00"));
+            product.setStock(1);
+            products.add(product);
+        }
+        return products;
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
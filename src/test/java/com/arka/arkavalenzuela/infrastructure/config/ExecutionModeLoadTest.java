@@ -0,0 +1,199 @@
+package com.arka.arkavalenzuela.infrastructure.config;
+
+import com.arka.arkavalenzuela.ArkajvalenzuelaApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the platform-thread and virtual-thread execution modes under a slow database
+ * Half of the clients call an endpoint that goes to the database (every statement is
+ * delayed DB_LATENCY), the other half one served from the product cache. With platform
+ * threads the Tomcat workers end up parked on the connection pool and the cached
+ * requests queue behind them; with virtual threads they keep flowing.
+ * Not part of "test": run with ./gradlew loadTest
+ */
+@Tag("load")
+public class ExecutionModeLoadTest {
+
+    private static final int CLIENTS = 400;
+    private static final int PRODUCTS = 100;
+    private static final Duration DURATION = Duration.ofSeconds(10);
+    private static final Duration DB_LATENCY = Duration.ofMillis(50);
+
+    @Test
+    public void testCompareExecutionModes() throws Exception {
+        ModeResult platform = run(false);
+        ModeResult virtual = run(true);
+
+        System.out.println();
+        System.out.printf("%-10s %-8s %10s %10s %10s %8s%n", "modo", "endpoint", "req/s", "p50 ms", "p99 ms", "errores");
+        platform.print("platform");
+        virtual.print("virtual");
+
+        assertEquals(0, platform.errors.get() + virtual.errors.get(), "Some requests failed");
+        assertFalse(virtual.cached.isEmpty());
+        assertFalse(virtual.database.isEmpty());
+    }
+
+    private ModeResult run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ArkajvalenzuelaApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles("h2")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=200",
+                        "spring.datasource.hikari.maximum-pool-size=10",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "spring.datasource.url=jdbc:h2:mem:carga-" + mode
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .addBeanPostProcessor(slowDatabase()))
+                .run();
+        try {
+            seed(context.getBean(JdbcTemplate.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            return drive("http://localhost:" + port);
+        } finally {
+            context.close();
+        }
+    }
+
+    private ModeResult drive(String baseUrl) throws InterruptedException {
+        ModeResult result = new ModeResult();
+        long deadline = System.nanoTime() + DURATION.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                boolean cachedClient = i % 2 == 0;
+                int productId = 1 + i % PRODUCTS;
+                clients.submit(() -> {
+                    URI uri = URI.create(cachedClient
+                            ? baseUrl + "/productos/" + productId
+                            : baseUrl + "/productos/pagina?limite=20&cursor=" + productId);
+                    HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                result.errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            result.errors.incrementAndGet();
+                        }
+                        (cachedClient ? result.cached : result.database).add(System.nanoTime() - start);
+                    }
+                    return null;
+                });
+            }
+            clients.shutdown();
+            assertTrue(clients.awaitTermination(DURATION.toSeconds() + 120, TimeUnit.SECONDS));
+        }
+        result.elapsedNanos = Math.max(System.nanoTime() - (deadline - DURATION.toNanos()), DURATION.toNanos());
+        return result;
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO categorias (nombre) VALUES ('Carga')");
+        Long categoriaId = jdbcTemplate.queryForObject("SELECT MAX(categoria_id) FROM categorias", Long.class);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            rows.add(new Object[]{"Producto " + i, categoriaId, 10 + i, 100});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO productos (nombre, categoria_id, precio_unitario, stock) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * Delays every statement the application prepares, standing in for a database under load
+     */
+    private static BeanPostProcessor slowDatabase() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return slow(super.getConnection());
+                        }
+                    };
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static Connection slow(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("prepare")) {
+                        Thread.sleep(DB_LATENCY.toMillis());
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static final class ModeResult {
+        private final ConcurrentLinkedQueue<Long> cached = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<Long> database = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+        private long elapsedNanos;
+
+        void print(String mode) {
+            print(mode, "cache", cached);
+            print(mode, "bd", database);
+        }
+
+        private void print(String mode, String endpoint, ConcurrentLinkedQueue<Long> latencies) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            double throughput = sorted.length / (elapsedNanos / 1e9);
+            System.out.printf("%-10s %-8s %10.1f %10.1f %10.1f %8d%n", mode, endpoint, throughput,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), errors.get());
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
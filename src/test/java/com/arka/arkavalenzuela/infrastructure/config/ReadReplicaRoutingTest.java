@@ -0,0 +1,136 @@
+package com.arka.arkavalenzuela.infrastructure.config;
+
+import com.arka.arkavalenzuela.domain.model.Order;
+import com.arka.arkavalenzuela.domain.port.in.OrderUseCase;
+import com.arka.arkavalenzuela.domain.port.in.ProductUseCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Two embedded databases stand in for the primary and the replica; each holds a single
+ * row naming itself, so a use case can tell which one its connection reached
+ */
+public class ReadReplicaRoutingTest {
+
+    private final List<String> reached = new ArrayList<>();
+    private ReadReplicaRouting routing;
+    private OrderUseCase orders;
+    private ProductUseCase products;
+
+    @BeforeEach
+    public void setUp() {
+        routing = new ReadReplicaRouting(database("replica"), Set.of("OrderUseCase"),
+                List.of("get", "search", "stream"), Duration.ofMinutes(1));
+        JdbcTemplate database = new JdbcTemplate(new ReadReplicaRoutingDataSource(database("primaria"), routing));
+
+        OrderUseCase orderTarget = mock(OrderUseCase.class);
+        when(orderTarget.getAllOrders()).thenAnswer(invocation -> {
+            reached.add(database.queryForObject("SELECT nombre FROM origen", String.class));
+            return List.of();
+        });
+        when(orderTarget.createOrder(any())).thenAnswer(invocation -> {
+            reached.add(database.queryForObject("SELECT nombre FROM origen", String.class));
+            return invocation.getArgument(0);
+        });
+        ProductUseCase productTarget = mock(ProductUseCase.class);
+        when(productTarget.getAllProducts()).thenAnswer(invocation -> {
+            reached.add(database.queryForObject("SELECT nombre FROM origen", String.class));
+            return List.of();
+        });
+        orders = proxy(orderTarget);
+        products = proxy(productTarget);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testReadsOfRoutedUseCasesGoToTheReplica() {
+        orders.getAllOrders();
+        orders.createOrder(new Order());
+        products.getAllProducts();
+
+        assertEquals(List.of("replica", "primaria", "primaria"), reached);
+        assertNull(routing.current());
+    }
+
+    @Test
+    public void testClientReadsItsOwnWritesFromThePrimary() {
+        asClient("tienda-1");
+        orders.createOrder(new Order());
+        orders.getAllOrders();
+
+        asClient("tienda-2");
+        orders.getAllOrders();
+
+        assertEquals(List.of("primaria", "primaria", "replica"), reached);
+        assertEquals(1, routing.getStickyReads());
+        assertEquals(1, routing.getReplicaReads());
+    }
+
+    @Test
+    public void testCatalogReadsDoNotPinTheClient() {
+        asClient("tienda-1");
+        products.getAllProducts();
+        orders.getAllOrders();
+
+        assertEquals(List.of("primaria", "replica"), reached);
+    }
+
+    @Test
+    public void testClientIsTheUserThenTheHeaderThenTheSessionThenTheAddress() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.5");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        assertEquals("10.0.0.5", ReadReplicaRouting.currentClient());
+
+        String session = request.getSession(true).getId();
+        assertEquals("sesion:" + session, ReadReplicaRouting.currentClient());
+
+        request.addHeader(ReadReplicaRouting.CLIENT_HEADER, "tienda-1");
+        assertEquals("tienda-1", ReadReplicaRouting.currentClient());
+
+        request.setUserPrincipal(() -> "ana");
+        assertEquals("usuario:ana", ReadReplicaRouting.currentClient());
+    }
+
+    private void asClient(String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ReadReplicaRouting.CLIENT_HEADER, client);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new ReadReplicaRoutingAspect(routing));
+        return factory.getProxy();
+    }
+
+    private static DataSource database(String nombre) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + nombre + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS origen (nombre VARCHAR(20))");
+        jdbcTemplate.update("DELETE FROM origen");
+        jdbcTemplate.update("INSERT INTO origen (nombre) VALUES (?)", nombre);
+        return dataSource;
+    }
+}
@@ -0,0 +1,79 @@
+package com.arka.arkavalenzuela.infrastructure.observability;
+
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.port.out.ProductSearchPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PortMetricsAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private ProductSearchPort search;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new FixedProductSearch());
+        factory.addAspect(new PortMetricsAspect(registry, false));
+        search = factory.getProxy();
+    }
+
+    @Test
+    public void testPortCallsAreTimedPerClassAndMethod() {
+        search.search("teclado");
+        search.search("monitor");
+
+        assertEquals(2, registry.get(PortMetricsAspect.PORT_METRIC)
+                .tags("clase", "FixedProductSearch", "metodo", "search", "excepcion", "none")
+                .timer().count());
+    }
+
+    @Test
+    public void testListResultsRecordTheirSize() {
+        search.search("teclado");
+
+        assertEquals(3, registry.get(PortMetricsAspect.PORT_METRIC + ".elementos")
+                .tags("metodo", "search")
+                .summary().totalAmount());
+    }
+
+    @Test
+    public void testFailuresAreTaggedWithTheException() {
+        assertThrows(IllegalStateException.class, () -> search.remove(1L));
+
+        assertEquals(1, registry.get(PortMetricsAspect.PORT_METRIC)
+                .tags("metodo", "remove", "excepcion", "IllegalStateException")
+                .timer().count());
+        assertEquals(0, registry.get(PortMetricsAspect.PORT_METRIC)
+                .tags("metodo", "remove", "excepcion", "none")
+                .timer().count());
+    }
+
+    private static final class FixedProductSearch implements ProductSearchPort {
+
+        @Override
+        public List<Long> search(String term) {
+            return List.of(1L, 2L, 3L);
+        }
+
+        @Override
+        public void index(Product product) {
+        }
+
+        @Override
+        public void remove(Long productId) {
+            throw new IllegalStateException("Index is being rebuilt");
+        }
+
+        @Override
+        public void rebuild(Consumer<Consumer<Product>> source) {
+        }
+    }
+}
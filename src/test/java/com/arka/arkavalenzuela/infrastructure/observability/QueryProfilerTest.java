@@ -0,0 +1,143 @@
+package com.arka.arkavalenzuela.infrastructure.observability;
+
+import com.arka.arkavalenzuela.domain.model.Product;
+import com.arka.arkavalenzuela.domain.port.out.ProductRepositoryPort;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.IdMemberships;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.cache.InMemoryCatalogVersion;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.ProductPersistenceAdapter;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.CategoryEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.CategoryMapper;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.mapper.ProductMapper;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.CategoryJpaRepository;
+import com.arka.arkavalenzuela.infrastructure.adapter.out.persistence.repository.ProductJpaRepository;
+import com.arka.arkavalenzuela.infrastructure.config.QueryProfilingConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs outside the test transaction: the profiler looks at its switch when a
+ * connection is borrowed, so each call opens its own transaction (which also
+ * keeps the lazy category readable while the adapter maps the products)
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import({QueryProfilingConfiguration.class, QueryProfilingAspect.class,
+        ProductPersistenceAdapter.class, ProductMapper.class, CategoryMapper.class, InMemoryCatalogVersion.class, IdMemberships.class})
+public class QueryProfilerTest {
+
+    private static final String OPERATION = "ProductPersistenceAdapter.findByPriceRange";
+
+    @Autowired
+    private ProductRepositoryPort adapter;
+
+    @Autowired
+    private QueryProfiler profiler;
+
+    @Autowired
+    private ProductJpaRepository productRepository;
+
+    @Autowired
+    private CategoryJpaRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() {
+        CategoryEntity categoria = new CategoryEntity();
+        categoria.setNombre("Audio");
+        categoria = categoryRepository.save(categoria);
+        for (String nombre : List.of("Auriculares", "Altavoz", "Micrófono")) {
+            ProductEntity producto = new ProductEntity();
+            producto.setNombre(nombre);
+            producto.setCategoria(categoria);
+            producto.setPrecioUnitario(new BigDecimal("25.00"));
+            producto.setStock(10);
+            productRepository.save(producto);
+        }
+        profiler.reset();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        profiler.setEnabled(false);
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    public void testChargesStatementsRowsAndEntityLoadsToThePortMethod() {
+        profiler.setEnabled(true);
+
+        List<Product> products = findByPriceRange();
+
+        assertEquals(3, products.size());
+        QueryProfiler.OperationStats stats = profiler.operations().get(OPERATION);
+        assertNotNull(stats);
+        assertTrue(stats.getStatements() >= 1);
+        assertTrue(stats.getRows() >= 3);
+        assertTrue(stats.getEntityLoads() >= 3);
+        assertTrue(profiler.hibernateStatistics().orElseThrow().isStatisticsEnabled());
+
+        // The lazy category load is charged to the same operation and may be the slower one
+        QueryProfiler.SlowStatement byPrice = profiler.slowest().stream()
+                .filter(statement -> statement.getOperation().equals(OPERATION))
+                .filter(statement -> statement.getSql().toLowerCase().contains("precio_unitario"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(List.of("20.00", "30.00"), byPrice.getParameters());
+    }
+
+    @Test
+    public void testRecordsNothingWhileDisabled() {
+        profiler.setEnabled(false);
+
+        findByPriceRange();
+
+        assertTrue(profiler.operations().isEmpty());
+        assertTrue(profiler.slowest().isEmpty());
+        assertFalse(profiler.hibernateStatistics().orElseThrow().isStatisticsEnabled());
+    }
+
+    @Test
+    public void testKeepsOnlyTheSlowestStatements() {
+        QueryProfiler small = new QueryProfiler(true, 2);
+
+        small.recordStatement("SELECT 1", Map.of(), 1, 5);
+        small.recordStatement("SELECT 2", Map.of(1, "a"), 1, 50);
+        small.recordStatement("SELECT 3", Map.of(), 1, 1);
+        small.recordStatement("SELECT 4", Map.of(), 1, 20);
+
+        List<QueryProfiler.SlowStatement> slowest = small.slowest();
+        assertEquals(List.of("SELECT 2", "SELECT 4"), slowest.stream().map(QueryProfiler.SlowStatement::getSql).toList());
+        assertEquals(List.of("a"), slowest.get(0).getParameters());
+        assertEquals(4, small.operations().get(QueryProfiler.NO_OPERATION).getStatements());
+    }
+
+    private List<Product> findByPriceRange() {
+        return new TransactionTemplate(transactionManager)
+                .execute(status -> adapter.findByPriceRange(new BigDecimal("20.00"), new BigDecimal("30.00")));
+    }
+}